@@ -0,0 +1,135 @@
+package ulartangga;
+
+import javax.swing.SwingUtilities;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// ===========================
+// PEMUAT ASET PARALEL
+// ===========================
+
+/**
+ * Memuat gambar dan audio di thread latar secara paralel, supaya jendela bisa
+ * tampil dulu. Hasilnya diserahkan ke UI lewat {@link #onEdt}. Setiap aset dicatat
+ * waktunya; {@link #report()} memberi rincian per aset dan total.
+ *
+ * Thread pool berisi thread daemon yang mati sendiri saat idle.
+ */
+final class AssetLoader {
+
+    private static final int MAX_THREADS = 4;
+
+    private final ThreadPoolExecutor pool;
+    private final long createdNanos = System.nanoTime();
+    private final List<Timing> timings = new ArrayList<>();
+    private final List<String> milestones = new ArrayList<>();
+    private final List<CompletableFuture<?>> pending = new ArrayList<>();
+
+    public AssetLoader() {
+        // Minimal 2: sebagian waktu muat adalah I/O, bukan CPU
+        int threads = Math.min(MAX_THREADS, Math.max(2, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger n = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 5, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, "asset-loader-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        pool.allowCoreThreadTimeOut(true);
+    }
+
+    /** Jalankan {@code task} di thread latar; waktu dan hasilnya dicatat atas nama {@code name}. */
+    public <T> CompletableFuture<T> load(String name, Callable<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        synchronized (this) {
+            pending.add(result);
+        }
+        pool.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                T value = task.call();
+                record(name, start, null);
+                result.complete(value);
+            } catch (Throwable e) {
+                record(name, start, e);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    /** Serahkan hasil ke EDT; {@code onError} boleh null (error cukup tercatat di laporan). */
+    public static <T> void onEdt(CompletableFuture<T> future, Consumer<T> onLoaded, Consumer<Throwable> onError) {
+        future.whenComplete((value, err) -> SwingUtilities.invokeLater(() -> {
+            if (err == null) onLoaded.accept(value);
+            else if (onError != null) onError.accept(err);
+        }));
+    }
+
+    public static <T> void onEdt(CompletableFuture<T> future, Consumer<T> onLoaded) {
+        onEdt(future, onLoaded, null);
+    }
+
+    /** Selesai (berhasil atau gagal) setelah semua aset yang sudah diminta selesai. */
+    public synchronized CompletableFuture<Void> whenAllLoaded() {
+        CompletableFuture<?>[] all = pending.toArray(new CompletableFuture<?>[0]);
+        return CompletableFuture.allOf(all).handle((v, e) -> null);
+    }
+
+    /** Catat momen penting (mis. jendela tampil), diukur dari JVM mulai. */
+    public synchronized void mark(String event) {
+        milestones.add(String.format(Locale.ROOT, "%-22s %7d ms sejak JVM mulai", event,
+                ManagementFactory.getRuntimeMXBean().getUptime()));
+    }
+
+    private synchronized void record(String name, long start, Throwable error) {
+        timings.add(new Timing(name, Thread.currentThread().getName(), start - createdNanos,
+                System.nanoTime() - start, error));
+    }
+
+    // ===========================
+    // LAPORAN
+    // ===========================
+
+    public synchronized String report() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Aset dimuat (").append(pool.getMaximumPoolSize()).append(" thread):\n");
+        long busy = 0;
+        long end = 0;
+        for (Timing t : timings) {
+            busy += t.duration;
+            end = Math.max(end, t.offset + t.duration);
+            sb.append(String.format(Locale.ROOT, "  %-26s %8.1f ms  (mulai +%.1f ms, %s)%s%n",
+                    t.name, t.duration / 1e6, t.offset / 1e6, t.thread,
+                    t.error == null ? "" : "  GAGAL: " + t.error));
+        }
+        sb.append(String.format(Locale.ROOT, "  Total: %.1f ms (waktu kerja %.1f ms, paralel %.1fx)%n",
+                end / 1e6, busy / 1e6, end == 0 ? 1.0 : (double) busy / end));
+        for (String m : milestones) sb.append("  ").append(m).append('\n');
+        return sb.toString();
+    }
+
+    private static final class Timing {
+        final String name;
+        final String thread;
+        final long offset;
+        final long duration;
+        final Throwable error;
+
+        Timing(String name, String thread, long offset, long duration, Throwable error) {
+            this.name = name;
+            this.thread = thread;
+            this.offset = offset;
+            this.duration = duration;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package ulartangga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ===========================
+// DEFINISI PAPAN DARI FILE
+// ===========================
+
+/**
+ * Papan yang dibaca dari file definisi teks (.board), divalidasi, lalu dikompilasi
+ * sekali menjadi {@link CompiledBoard}. Contoh:
+ *
+ * <pre>
+ * nama Klasik
+ * ukuran 10 10          # kolom baris (finish = kolom x baris)
+ * tangga 4 14
+ * ular 98 12
+ * skor acak 10 59       # tiap petak 1..N, satu angka acak per petak
+ * skor kelipatan 10 100 # aturan berikutnya menimpa yang sebelumnya
+ * skor petak 50 0
+ * skor semua 5
+ * </pre>
+ *
+ * Validasi: skor petak >= 0, awal lompatan di 2..finish-1, tangga naik dan ular turun, tanpa rantai
+ * (ujung lompatan menjadi awal lompatan lain) atau siklus, dan setiap petak bisa
+ * dicapai dari petak 1 dengan dadu maju/mundur.
+ *
+ * Hasil kompilasi di-cache menurut hash SHA-256 isi file, jadi memuat papan yang
+ * sama lagi tidak mem-parse, memvalidasi, atau membangun tabel jarak ulang.
+ * Hanya skor acak yang diundi per game di {@link #instantiate}.
+ */
+final class BoardDefinition {
+
+    // -Dgame.board=file.board memakai papan dari file, bukan papan standar
+    public static final String PROPERTY = "game.board";
+
+    private static final String STANDARD_RESOURCE = "/boards/klasik.board";
+    private static final int MAX_CELLS = 1 << 24;
+    private static final int MAX_REPORTED = 10;
+
+    private static final Map<String, BoardDefinition> CACHE = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final String hash;
+    private final List<int[]> scoreRules;
+    private final boolean randomScores;
+    // Tabel runtime; skornya sudah final jika tidak ada aturan acak
+    private final CompiledBoard template;
+
+    // Aturan skor: {jenis, a, b}
+    private static final int RULE_RANDOM = 0;
+    private static final int RULE_ALL = 1;
+    private static final int RULE_MULTIPLE = 2;
+    private static final int RULE_CELL = 3;
+
+    private BoardDefinition(String name, String hash, int size, int columns, Map<Integer, Integer> ladders,
+                            Map<Integer, Integer> snakes, List<int[]> scoreRules) {
+        this.name = name;
+        this.hash = hash;
+        this.scoreRules = scoreRules;
+        boolean random = false;
+        for (int[] rule : scoreRules) random |= rule[0] == RULE_RANDOM;
+        this.randomScores = random;
+
+        CompiledBoard base = CompiledBoard.compile(size, columns, ladders, snakes, new TreeMap<>());
+        base.distances(); // dibangun sekali di sini, dipakai bersama semua instance
+        this.template = random ? base : base.withScores(evaluateScores(size, null));
+    }
+
+    // ===========================
+    // MEMUAT (DENGAN CACHE)
+    // ===========================
+
+    /** Papan standar 10x10 (8 tangga, tanpa ular) dari resource aplikasi. */
+    public static BoardDefinition standard() {
+        return Standard.INSTANCE;
+    }
+
+    private static final class Standard {
+        static final BoardDefinition INSTANCE = loadStandard();
+
+        private static BoardDefinition loadStandard() {
+            try (InputStream in = BoardDefinition.class.getResourceAsStream(STANDARD_RESOURCE)) {
+                if (in == null) throw new IllegalStateException("Papan standar tidak ditemukan: " + STANDARD_RESOURCE);
+                return compile(in.readAllBytes());
+            } catch (IOException e) {
+                throw new IllegalStateException("Papan standar gagal dibaca", e);
+            }
+        }
+    }
+
+    public static BoardDefinition load(Path file) throws IOException {
+        return compile(Files.readAllBytes(file));
+    }
+
+    public static BoardDefinition compile(String text) {
+        return compile(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Kompilasi isi file definisi; isi yang sama persis diambil dari cache. */
+    public static BoardDefinition compile(byte[] content) {
+        String hash = sha256(content);
+        BoardDefinition cached = CACHE.get(hash);
+        if (cached != null) return cached;
+        BoardDefinition def = parse(new String(content, StandardCharsets.UTF_8), hash);
+        BoardDefinition raced = CACHE.putIfAbsent(hash, def);
+        return raced != null ? raced : def;
+    }
+
+    static int cacheSize() { return CACHE.size(); }
+
+    // ===========================
+    // INSTANCE PER GAME
+    // ===========================
+
+    /** Tabel runtime untuk satu game; skor acak diambil dari {@code rng}. */
+    public CompiledBoard instantiate(RandomSource rng) {
+        if (!randomScores) return template;
+        return template.withScores(evaluateScores(template.getSize(), rng));
+    }
+
+    // Aturan dijalankan berurutan; acak = satu nextInt per petak 1..N (sama dengan papan lama)
+    private int[] evaluateScores(int size, RandomSource rng) {
+        int[] scores = new int[size + 1];
+        for (int[] rule : scoreRules) {
+            switch (rule[0]) {
+                case RULE_RANDOM:
+                    for (int i = 1; i <= size; i++) scores[i] = rng.nextInt(rule[2] - rule[1] + 1) + rule[1];
+                    break;
+                case RULE_ALL:
+                    for (int i = 1; i <= size; i++) scores[i] = rule[1];
+                    break;
+                case RULE_MULTIPLE:
+                    for (int i = rule[1]; i <= size; i += rule[1]) scores[i] = rule[2];
+                    break;
+                default:
+                    scores[rule[1]] = rule[2];
+            }
+        }
+        return scores;
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public String getHash() { return hash; }
+    public int getSize() { return template.getSize(); }
+    public int getColumns() { return template.getColumns(); }
+    public int getRows() { return template.getRows(); }
+    public boolean hasRandomScores() { return randomScores; }
+
+    @Override
+    public String toString() {
+        return name + " (" + getColumns() + "x" + getRows() + ", " + template.getLadders().size() + " tangga, "
+                + template.getSnakes().size() + " ular)";
+    }
+
+    // ===========================
+    // PARSER
+    // ===========================
+
+    private static BoardDefinition parse(String text, String hash) {
+        List<String> errors = new ArrayList<>();
+        String name = "Tanpa nama";
+        int columns = -1, rows = -1;
+        Map<Integer, Integer> ladders = new TreeMap<>();
+        Map<Integer, Integer> snakes = new TreeMap<>();
+        Map<Integer, Integer> jumpLine = new HashMap<>();
+        List<int[]> scoreRules = new ArrayList<>();
+        List<Integer> scoreLines = new ArrayList<>();
+
+        String[] lines = text.split("\r?\n", -1);
+        for (int n = 1; n <= lines.length; n++) {
+            String line = lines[n - 1];
+            int comment = line.indexOf('#');
+            if (comment >= 0) line = line.substring(0, comment);
+            line = line.trim();
+            if (line.isEmpty()) continue;
+
+            String[] t = line.split("\\s+");
+            String key = t[0].toLowerCase();
+            try {
+                switch (key) {
+                    case "nama":
+                        name = line.substring(t[0].length()).trim();
+                        break;
+                    case "ukuran":
+                        expect(t, 3, "ukuran <kolom> <baris>");
+                        if (columns > 0) throw new IllegalArgumentException("ukuran ditulis dua kali");
+                        columns = number(t[1]);
+                        rows = number(t[2]);
+                        if (columns < 1 || rows < 1) throw new IllegalArgumentException("kolom dan baris harus >= 1");
+                        if ((long) columns * rows > MAX_CELLS) throw new IllegalArgumentException("papan terlalu besar");
+                        if ((long) columns * rows < 2) throw new IllegalArgumentException("papan minimal 2 petak");
+                        break;
+                    case "tangga":
+                    case "ular":
+                        expect(t, 3, key + " <dari> <ke>");
+                        int from = number(t[1]), to = number(t[2]);
+                        if (jumpLine.containsKey(from)) {
+                            throw new IllegalArgumentException("petak " + from + " sudah punya lompatan (baris " + jumpLine.get(from) + ")");
+                        }
+                        jumpLine.put(from, n);
+                        (key.equals("tangga") ? ladders : snakes).put(from, to);
+                        break;
+                    case "skor":
+                        scoreRules.add(parseScoreRule(t));
+                        scoreLines.add(n);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("kata kunci tidak dikenal '" + t[0] + "'");
+                }
+            } catch (IllegalArgumentException e) {
+                errors.add("Baris " + n + ": " + e.getMessage());
+            }
+        }
+
+        if (columns < 0) {
+            errors.add("ukuran papan belum ditulis (ukuran <kolom> <baris>)");
+            throw invalid(errors);
+        }
+        int size = columns * rows;
+        validateJumps(size, ladders, snakes, jumpLine, errors);
+        for (int i = 0; i < scoreRules.size(); i++) {
+            int[] rule = scoreRules.get(i);
+            if (rule[0] == RULE_CELL && (rule[1] < 1 || rule[1] > size)) {
+                errors.add("Baris " + scoreLines.get(i) + ": petak " + rule[1] + " di luar papan 1.." + size);
+            }
+        }
+        if (errors.isEmpty()) validateReachable(size, ladders, snakes, errors);
+        if (!errors.isEmpty()) throw invalid(errors);
+
+        return new BoardDefinition(name, hash, size, columns, ladders, snakes, scoreRules);
+    }
+
+    private static int[] parseScoreRule(String[] t) {
+        String kind = t.length > 1 ? t[1].toLowerCase() : "";
+        switch (kind) {
+            case "acak": {
+                expect(t, 4, "skor acak <min> <maks>");
+                int min = score(t[2]), max = score(t[3]);
+                if (min > max) throw new IllegalArgumentException("min lebih besar dari maks");
+                if ((long) max - min + 1 > Integer.MAX_VALUE) throw new IllegalArgumentException("rentang skor terlalu lebar");
+                return new int[] {RULE_RANDOM, min, max};
+            }
+            case "semua":
+                expect(t, 3, "skor semua <nilai>");
+                return new int[] {RULE_ALL, score(t[2]), 0};
+            case "kelipatan": {
+                expect(t, 4, "skor kelipatan <k> <nilai>");
+                int k = number(t[2]);
+                if (k < 1) throw new IllegalArgumentException("kelipatan harus >= 1");
+                return new int[] {RULE_MULTIPLE, k, score(t[3])};
+            }
+            case "petak":
+                expect(t, 4, "skor petak <petak> <nilai>");
+                return new int[] {RULE_CELL, number(t[2]), score(t[3])};
+            default:
+                throw new IllegalArgumentException("aturan skor harus acak, semua, kelipatan, atau petak");
+        }
+    }
+
+    // ===========================
+    // VALIDASI
+    // ===========================
+
+    private static void validateJumps(int size, Map<Integer, Integer> ladders, Map<Integer, Integer> snakes,
+                                      Map<Integer, Integer> jumpLine, List<String> errors) {
+        Map<Integer, Integer> all = new TreeMap<>(ladders);
+        all.putAll(snakes);
+        for (Map.Entry<Integer, Integer> e : all.entrySet()) {
+            int from = e.getKey(), to = e.getValue();
+            boolean ladder = ladders.containsKey(from);
+            String where = "Baris " + jumpLine.get(from) + ": " + (ladder ? "tangga " : "ular ") + from + " -> " + to + " ";
+            if (from < 2 || from >= size) {
+                errors.add(where + "harus mulai di petak 2.." + (size - 1));
+            } else if (to < 1 || to > size) {
+                errors.add(where + "berakhir di luar papan 1.." + size);
+            } else if (ladder && to <= from) {
+                errors.add(where + "harus naik");
+            } else if (!ladder && to >= from) {
+                errors.add(where + "harus turun");
+            } else if (all.containsKey(to)) {
+                // Ikuti rantainya; kembali ke awal berarti siklus
+                int cur = to, hops = 0;
+                while (all.containsKey(cur) && cur != from && hops++ <= all.size()) cur = all.get(cur);
+                errors.add(where + (cur == from ? "membentuk siklus" : "berantai ke lompatan di petak " + to));
+            }
+        }
+    }
+
+    // BFS dari petak 1 dengan semua lemparan (+/-1..6), mengikuti tangga/ular
+    private static void validateReachable(int size, Map<Integer, Integer> ladders, Map<Integer, Integer> snakes,
+                                          List<String> errors) {
+        int[] jump = new int[size + 1];
+        for (int i = 1; i <= size; i++) jump[i] = i;
+        for (Map.Entry<Integer, Integer> e : ladders.entrySet()) jump[e.getKey()] = e.getValue();
+        for (Map.Entry<Integer, Integer> e : snakes.entrySet()) jump[e.getKey()] = e.getValue();
+
+        boolean[] landed = new boolean[size + 1];
+        boolean[] rested = new boolean[size + 1];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        landed[1] = rested[1] = true;
+        queue.add(1);
+        while (!queue.isEmpty()) {
+            int pos = queue.poll();
+            if (pos == size) continue;
+            for (int d = -GameRules.DICE_FACES; d <= GameRules.DICE_FACES; d++) {
+                if (d == 0) continue;
+                int target = GameRules.moveTarget(pos, d, size);
+                landed[target] = true;
+                int dest = jump[target];
+                if (!rested[dest]) {
+                    rested[dest] = landed[dest] = true;
+                    queue.add(dest);
+                }
+            }
+        }
+
+        List<Integer> unreachable = new ArrayList<>();
+        int count = 0;
+        for (int i = 1; i <= size; i++) {
+            if (!landed[i] && count++ < MAX_REPORTED) unreachable.add(i);
+        }
+        if (count > 0) {
+            errors.add(count + " petak tidak bisa dicapai dari petak 1: " + unreachable + (count > MAX_REPORTED ? " ..." : ""));
+        }
+    }
+
+    // ===========================
+    // UTIL
+    // ===========================
+
+    private static void expect(String[] t, int count, String usage) {
+        if (t.length != count) throw new IllegalArgumentException("format: " + usage);
+    }
+
+    private static int number(String s) {
+        try {
+            return Integer.parseInt(s);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bukan angka '" + s + "'");
+        }
+    }
+
+    // Skor petak tidak boleh negatif: histogram skor dan papan skor mengandalkan skor >= 0
+    private static int score(String s) {
+        int value = number(s);
+        if (value < 0) throw new IllegalArgumentException("skor tidak boleh negatif: " + value);
+        return value;
+    }
+
+    private static IllegalArgumentException invalid(List<String> errors) {
+        return new IllegalArgumentException("Definisi papan tidak valid:\n  " + String.join("\n  ", errors));
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
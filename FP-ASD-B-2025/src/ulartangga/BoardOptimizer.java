@@ -0,0 +1,626 @@
+package ulartangga;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ===========================
+// OPTIMASI TATA LETAK PAPAN
+// ===========================
+
+/**
+ * Mencari posisi tangga dan ular supaya panjang permainan mengikuti distribusi
+ * target (jumlah lemparan sampai ada yang finish, seperti {@link GameSimulator})
+ * dan peluang menang setiap kursi di urutan giliran seimbang. Rentang skor petak
+ * dicocokkan langsung ke target skor pemenang (lihat {@link #setWinnerScore}).
+ *
+ * Setiap core menjalankan simulated annealing sendiri (mulai ulang dari papan acak
+ * tiap {@value #RESTART_STEPS} langkah) dan mengirim kandidat terbaik ke satu
+ * peringkat bersama. Evaluasi kandidat tidak mengalokasi: tabel aturan, histogram
+ * dan state pemain milik worker dipakai ulang, dan semua kandidat dimainkan dengan
+ * pita lemparan dadu yang sama (common random numbers), jadi perbandingan antar
+ * kandidat tidak dikacaukan keberuntungan dadu.
+ *
+ * Di akhir, kandidat teratas dimainkan ulang {@value #FINAL_GAMES_FACTOR}x lebih
+ * banyak dengan dadu baru (supaya tidak overfit ke pita), divalidasi lewat
+ * {@link BoardDefinition}, lalu diurutkan.
+ */
+public class BoardOptimizer {
+
+    public static final int DEFAULT_GAMES = 1_000;
+    public static final int DEFAULT_TOP = 10;
+    public static final int DEFAULT_SCORE_MIN = 10;
+    public static final int DEFAULT_SCORE_MAX = 59;
+
+    private static final int FINAL_GAMES_FACTOR = 20;
+    private static final int RESTART_STEPS = 2_000;
+    private static final int MAX_MUTATION_TRIES = 50;
+    private static final double START_TEMPERATURE = 0.05;
+    private static final int TAPE_LENGTH = 1 << 20;
+    private static final int ROLL_BLOCK = 1_024;
+
+    // Kandidat yang disimpan untuk dimainkan ulang: lebih banyak dari hasil akhir
+    private static final int SHORTLIST_FACTOR = 4;
+
+    private final int size;
+    private final int columns;
+    private final int ladders;
+    private final int snakes;
+    private final int players;
+    private final TurnTarget target;
+
+    private int gamesPerCandidate = DEFAULT_GAMES;
+    private int top = DEFAULT_TOP;
+    private double fairnessWeight = 1.0;
+    private int winnerScore;
+    private int scoreSpread = DEFAULT_SCORE_MAX - DEFAULT_SCORE_MIN;
+
+    private final AtomicLong evaluated = new AtomicLong();
+
+    public BoardOptimizer(int size, int columns, int ladders, int snakes, int players, TurnTarget target) {
+        if (size < 10) throw new IllegalArgumentException("Papan minimal 10 petak");
+        if (players < 1) throw new IllegalArgumentException("Minimal 1 pemain");
+        // Setiap lompatan butuh dua petak sendiri di 2..size-1 (ujung tangga boleh finish)
+        if (ladders < 0 || snakes < 0 || 2 * (ladders + snakes) > size - 2) {
+            throw new IllegalArgumentException("Terlalu banyak tangga/ular untuk " + size + " petak");
+        }
+        this.size = size;
+        this.columns = columns;
+        this.ladders = ladders;
+        this.snakes = snakes;
+        this.players = players;
+        this.target = target;
+    }
+
+    // Pengaturan (opsional)
+    public void setGamesPerCandidate(int games) { this.gamesPerCandidate = Math.max(100, games); }
+    public void setTop(int top) { this.top = Math.max(1, top); }
+    public void setFairnessWeight(double weight) { this.fairnessWeight = weight; }
+
+    /** Target rata-rata skor akhir pemenang; 0 = pakai skor acak 10..59 seperti papan klasik. */
+    public void setWinnerScore(int score) { this.winnerScore = Math.max(0, score); }
+    public void setScoreSpread(int spread) { this.scoreSpread = Math.max(0, spread); }
+
+    public long getEvaluatedCount() { return evaluated.get(); }
+
+    // ===========================
+    // PENCARIAN
+    // ===========================
+
+    public List<Result> optimize(long candidates, long seed) {
+        return optimize(candidates, seed, ForkJoinPool.commonPool());
+    }
+
+    public List<Result> optimize(long candidates, long seed, ForkJoinPool pool) {
+        RandomSource root = RandomSource.seeded(seed);
+        int[] tape = new int[TAPE_LENGTH];
+        root.split().fillSteps(tape, 0, TAPE_LENGTH);
+        long finalSeed = root.nextLong();
+
+        Shortlist shortlist = new Shortlist(top * SHORTLIST_FACTOR);
+        int workers = Math.max(1, Runtime.getRuntime().availableProcessors());
+        List<Worker> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            long budget = candidates / workers + (i < candidates % workers ? 1 : 0);
+            tasks.add(new Worker(budget, root.split(), tape, shortlist));
+        }
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() { invokeAll(tasks); }
+        });
+
+        // Main ulang dengan dadu baru dan lebih banyak game, lalu validasi
+        Evaluator evaluator = new Evaluator(null);
+        List<Result> results = new ArrayList<>();
+        for (Shortlist.Entry e : shortlist.sorted()) {
+            evaluator.live = RandomSource.seeded(finalSeed);
+            evaluator.evaluate(e.from, e.to, gamesPerCandidate * FINAL_GAMES_FACTOR);
+            Result r = evaluator.result(e.from, e.to);
+            try {
+                BoardDefinition.compile(r.toBoardText("Validasi"));
+                results.add(r);
+            } catch (IllegalArgumentException invalid) {
+                // Papan tidak lolos validasi (mis. petak tak terjangkau): buang
+            }
+        }
+        results.sort(Comparator.comparingDouble(Result::getCost).thenComparing(Result::key));
+        return new ArrayList<>(results.subList(0, Math.min(top, results.size())));
+    }
+
+    private final class Worker extends RecursiveAction {
+        private final long budget;
+        private final RandomSource rng;
+        private final Evaluator evaluator;
+        private final Shortlist shortlist;
+        private int[] curFrom = new int[ladders + snakes];
+        private int[] curTo = new int[ladders + snakes];
+        private int[] trialFrom = new int[ladders + snakes];
+        private int[] trialTo = new int[ladders + snakes];
+
+        Worker(long budget, RandomSource rng, int[] tape, Shortlist shortlist) {
+            this.budget = budget;
+            this.rng = rng;
+            this.evaluator = new Evaluator(tape);
+            this.shortlist = shortlist;
+        }
+
+        @Override
+        protected void compute() {
+            double curCost = Double.MAX_VALUE;
+            for (long step = 0; step < budget; step++) {
+                int phase = (int) (step % RESTART_STEPS);
+                if (phase == 0) {
+                    randomize(curFrom, curTo);
+                    curCost = evaluator.evaluate(curFrom, curTo, gamesPerCandidate);
+                    shortlist.offer(curFrom, curTo, curCost);
+                    evaluated.incrementAndGet();
+                    continue;
+                }
+                System.arraycopy(curFrom, 0, trialFrom, 0, curFrom.length);
+                System.arraycopy(curTo, 0, trialTo, 0, curTo.length);
+                mutate(trialFrom, trialTo);
+                double cost = evaluator.evaluate(trialFrom, trialTo, gamesPerCandidate);
+                evaluated.incrementAndGet();
+
+                // Suhu turun linear sampai 0 di akhir setiap putaran
+                double temperature = START_TEMPERATURE * (1 - phase / (double) RESTART_STEPS);
+                if (cost <= curCost || (temperature > 0 && rng.nextDouble() < Math.exp((curCost - cost) / temperature))) {
+                    int[] f = curFrom; curFrom = trialFrom; trialFrom = f;
+                    int[] t = curTo; curTo = trialTo; trialTo = t;
+                    curCost = cost;
+                    shortlist.offer(curFrom, curTo, curCost);
+                }
+            }
+        }
+
+        private void randomize(int[] from, int[] to) {
+            for (int j = 0; j < from.length; j++) {
+                from[j] = 0;
+                to[j] = 0;
+            }
+            for (int j = 0; j < from.length; j++) {
+                do {
+                    place(from, to, j);
+                } while (!fits(from, to, j));
+            }
+        }
+
+        // Tangga: awal 2..size-2, ujung di atasnya; ular: awal 3..size-1, ujung di bawahnya
+        private void place(int[] from, int[] to, int j) {
+            if (j < ladders) {
+                from[j] = rng.nextInt(2, size - 1);
+                to[j] = rng.nextInt(from[j] + 1, size + 1);
+            } else {
+                from[j] = rng.nextInt(3, size);
+                to[j] = rng.nextInt(1, from[j]);
+            }
+        }
+
+        // Geser satu ujung sedikit (perbaikan lokal) atau pindahkan lompatan ke tempat baru
+        private void mutate(int[] from, int[] to) {
+            int j = rng.nextInt(from.length);
+            int oldFrom = from[j], oldTo = to[j];
+            int reach = Math.max(2, size / 20);
+            for (int attempt = 0; attempt < MAX_MUTATION_TRIES; attempt++) {
+                if (rng.nextInt(10) < 6) {
+                    int shift = rng.nextInt(1, reach + 1) * (rng.nextInt(2) == 0 ? -1 : 1);
+                    if (rng.nextInt(2) == 0) from[j] = oldFrom + shift; else to[j] = oldTo + shift;
+                } else {
+                    place(from, to, j);
+                }
+                if (fits(from, to, j)) return;
+                from[j] = oldFrom;
+                to[j] = oldTo;
+            }
+        }
+
+        // Aturan BoardDefinition: awal 2..size-1, arah benar, tanpa rantai (semua ujung berbeda)
+        private boolean fits(int[] from, int[] to, int j) {
+            int f = from[j], t = to[j];
+            if (f < 2 || f >= size || t < 1 || t > size) return false;
+            if (j < ladders ? t <= f : t >= f) return false;
+            for (int k = 0; k < from.length; k++) {
+                if (k == j || from[k] == 0) continue;
+                if (from[k] == f || from[k] == t || to[k] == f || to[k] == t) return false;
+            }
+            return true;
+        }
+    }
+
+    // ===========================
+    // EVALUASI (TANPA ALOKASI)
+    // ===========================
+
+    /** Evaluator dengan pita dadu sendiri (untuk benchmark / uji satu kandidat). */
+    Evaluator newEvaluator(long seed) {
+        int[] tape = new int[TAPE_LENGTH];
+        RandomSource.seeded(seed).fillSteps(tape, 0, TAPE_LENGTH);
+        return new Evaluator(tape);
+    }
+
+    // Satu per worker; semua buffer dibuat sekali. Aturan sama dengan GameSimulator.
+    final class Evaluator {
+        private final int[] tape;          // pita bersama (read-only), null = dadu dari live
+        RandomSource live;
+        private final int[] rolls;
+        private int nextRoll;
+
+        // Tabel aturan papan tanpa lompatan; kandidat dipasang/dilepas per petak
+        private final CellRules rules = CellRules.compile(
+                CompiledBoard.compile(size, columns, Map.of(), Map.of(), Map.of()));
+        private final int[] turnHistogram = new int[target.cap + 2];
+        private final int[] seatWins = new int[players];
+        private final int[] position = new int[players];
+        private final int[] ladderStart = new int[players];
+        private final int[] ladderEnd = new int[players];
+        private final int[] landings = new int[players];
+
+        // Hasil evaluasi terakhir
+        int games;
+        double ks;
+        double fairness;
+        double cost;
+        long winnerLandings;
+        int finished;
+
+        Evaluator(int[] tape) {
+            this.tape = tape;
+            this.rolls = tape != null ? tape : new int[ROLL_BLOCK];
+        }
+
+        double evaluate(int[] from, int[] to, int games) {
+            for (int j = 0; j < from.length; j++) rules.relink(from[j], to[j]);
+            Arrays.fill(turnHistogram, 0);
+            Arrays.fill(seatWins, 0);
+            nextRoll = tape != null ? 0 : rolls.length;
+            winnerLandings = 0;
+            finished = 0;
+            for (int g = 0; g < games; g++) playGame();
+            for (int j = 0; j < from.length; j++) rules.relink(from[j], from[j]);
+
+            // KS: selisih terbesar CDF simulasi vs target (game yang tidak selesai = di luar batas)
+            double cdf = 0;
+            double d = 0;
+            for (int t = 1; t <= target.cap; t++) {
+                cdf += turnHistogram[t] / (double) games;
+                d = Math.max(d, Math.abs(cdf - target.cdf[t]));
+            }
+            // Keadilan: simpangan terbesar peluang menang per kursi, relatif ke 1/pemain
+            double f = 0;
+            if (players > 1 && finished > 0) {
+                for (int s = 0; s < players; s++) f = Math.max(f, Math.abs(seatWins[s] * players / (double) finished - 1));
+            }
+            this.games = games;
+            this.ks = d;
+            this.fairness = f;
+            this.cost = d + fairnessWeight * f;
+            return cost;
+        }
+
+        private int roll() {
+            if (nextRoll == rolls.length) {
+                if (tape == null) live.fillSteps(rolls, 0, rolls.length);
+                nextRoll = 0;
+            }
+            return rolls[nextRoll++];
+        }
+
+        private void playGame() {
+            for (int i = 0; i < players; i++) {
+                position[i] = 1;
+                ladderStart[i] = -1;
+                ladderEnd[i] = -1;
+                landings[i] = 0;
+            }
+            int current = 0;
+            int turns = 0;
+            boolean extraTurnPending = false;
+            while (turns < target.cap) {
+                turns++;
+                int steps = roll();
+                int pos = GameRules.moveTarget(position[current], steps, size);
+                if (steps < 0 && pos == ladderEnd[current]) {
+                    position[current] = ladderStart[current];
+                    ladderStart[current] = -1;
+                    ladderEnd[current] = -1;
+                } else {
+                    long action = rules.action(pos);
+                    int dest = CellRules.dest(action);
+                    if (CellRules.has(action, CellRules.LADDER)) {
+                        ladderStart[current] = pos;
+                        ladderEnd[current] = dest;
+                    } else if (CellRules.has(action, CellRules.SNAKE)) {
+                        ladderStart[current] = -1;
+                        ladderEnd[current] = -1;
+                    }
+                    position[current] = dest;
+                    landings[current]++;
+                    if (CellRules.has(action, CellRules.FINISH)) {
+                        turnHistogram[turns]++;
+                        seatWins[current]++;
+                        winnerLandings += landings[current];
+                        finished++;
+                        return;
+                    }
+                    extraTurnPending = CellRules.has(action, CellRules.BONUS);
+                }
+                if (!extraTurnPending) current = (current + 1) % players;
+            }
+            turnHistogram[target.cap + 1]++;
+        }
+
+        Result result(int[] from, int[] to) {
+            // Skor pemenang = jumlah petak yang diinjak x rata-rata skor petak: cukup atur titik tengahnya
+            int lo = DEFAULT_SCORE_MIN, hi = DEFAULT_SCORE_MAX;
+            if (winnerScore > 0 && winnerLandings > 0) {
+                double landingsPerWin = winnerLandings / (double) finished;
+                lo = (int) Math.max(0, Math.round(winnerScore / landingsPerWin - scoreSpread / 2.0));
+                hi = lo + scoreSpread;
+            }
+            double[] seatRates = new double[players];
+            for (int s = 0; s < players; s++) seatRates[s] = finished == 0 ? 0 : seatWins[s] / (double) finished;
+            return new Result(size, columns, ladders, from.clone(), to.clone(), cost, ks, fairness,
+                    percentile(0.10), percentile(0.50), percentile(0.90), meanTurns(),
+                    (games - finished) / (double) games, seatRates, lo, hi);
+        }
+
+        private double meanTurns() {
+            long sum = 0;
+            for (int t = 1; t < turnHistogram.length; t++) sum += (long) t * turnHistogram[t];
+            return sum / (double) games;
+        }
+
+        private int percentile(double p) {
+            long rank = (long) Math.ceil(p * games);
+            long seen = 0;
+            for (int t = 1; t < turnHistogram.length; t++) {
+                seen += turnHistogram[t];
+                if (seen >= rank) return t;
+            }
+            return target.cap + 1;
+        }
+    }
+
+    // ===========================
+    // PERINGKAT BERSAMA
+    // ===========================
+
+    // Hanya kandidat yang lebih baik dari yang terburuk yang masuk (dan disalin); jarang terjadi
+    private static final class Shortlist {
+        private final int capacity;
+        private final List<Entry> entries = new ArrayList<>();
+        private final Set<String> keys = new HashSet<>();
+        private volatile double threshold = Double.MAX_VALUE;
+
+        Shortlist(int capacity) {
+            this.capacity = capacity;
+        }
+
+        void offer(int[] from, int[] to, double cost) {
+            if (cost >= threshold) return;
+            synchronized (this) {
+                if (cost >= threshold) return;
+                String key = key(from, to);
+                if (!keys.add(key)) return;
+                entries.add(new Entry(from.clone(), to.clone(), cost, key));
+                entries.sort(Comparator.comparingDouble((Entry e) -> e.cost).thenComparing(e -> e.key));
+                if (entries.size() > capacity) keys.remove(entries.remove(entries.size() - 1).key);
+                if (entries.size() == capacity) threshold = entries.get(capacity - 1).cost;
+            }
+        }
+
+        synchronized List<Entry> sorted() { return new ArrayList<>(entries); }
+
+        static final class Entry {
+            final int[] from;
+            final int[] to;
+            final double cost;
+            final String key;
+
+            Entry(int[] from, int[] to, double cost, String key) {
+                this.from = from;
+                this.to = to;
+                this.cost = cost;
+                this.key = key;
+            }
+        }
+    }
+
+    // Urutan lompatan tidak penting: kunci dari pasangan yang diurutkan
+    static String key(int[] from, int[] to) {
+        long[] pairs = new long[from.length];
+        for (int j = 0; j < from.length; j++) pairs[j] = ((long) from[j] << 32) | to[j];
+        Arrays.sort(pairs);
+        return Arrays.toString(pairs);
+    }
+
+    // ===========================
+    // TARGET & HASIL
+    // ===========================
+
+    /** Distribusi target jumlah lemparan: normal diskret (dipotong di >= 1) dengan rata-rata dan simpangan baku. */
+    public static final class TurnTarget {
+        final double mean;
+        final double sd;
+        final int cap;
+        final double[] cdf;
+
+        public TurnTarget(double mean, double sd) {
+            if (mean < 1 || sd <= 0) throw new IllegalArgumentException("Target tidak valid: " + mean + " / " + sd);
+            this.mean = mean;
+            this.sd = sd;
+            // Game lebih panjang dari ini dihentikan: jelas di luar target, dan evaluasi tetap cepat
+            this.cap = (int) Math.ceil(Math.max(3 * mean, mean + 6 * sd));
+            this.cdf = new double[cap + 1];
+            double below = phi((0.5 - mean) / sd);
+            for (int t = 1; t <= cap; t++) cdf[t] = (phi((t + 0.5 - mean) / sd) - below) / (1 - below);
+        }
+
+        // CDF normal baku (Abramowitz-Stegun 7.1.26, galat < 1.5e-7)
+        private static double phi(double z) {
+            double x = Math.abs(z) / Math.sqrt(2);
+            double t = 1 / (1 + 0.3275911 * x);
+            double erf = 1 - ((((1.061405429 * t - 1.453152027) * t + 1.421413741) * t - 0.284496736) * t
+                    + 0.254829592) * t * Math.exp(-x * x);
+            return z >= 0 ? 0.5 * (1 + erf) : 0.5 * (1 - erf);
+        }
+
+        public double getMean() { return mean; }
+        public double getSd() { return sd; }
+    }
+
+    /** Satu papan hasil optimasi beserta statistik permainan ulangnya. */
+    public static final class Result {
+        private final int size;
+        private final int columns;
+        private final int ladders;
+        private final int[] from;
+        private final int[] to;
+        private final double cost;
+        private final double ks;
+        private final double fairness;
+        private final int p10, p50, p90;
+        private final double meanTurns;
+        private final double unfinished;
+        private final double[] seatWinRates;
+        private final int scoreMin, scoreMax;
+
+        Result(int size, int columns, int ladders, int[] from, int[] to, double cost, double ks, double fairness,
+               int p10, int p50, int p90, double meanTurns, double unfinished, double[] seatWinRates,
+               int scoreMin, int scoreMax) {
+            this.size = size;
+            this.columns = columns;
+            this.ladders = ladders;
+            this.from = from;
+            this.to = to;
+            this.cost = cost;
+            this.ks = ks;
+            this.fairness = fairness;
+            this.p10 = p10;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.meanTurns = meanTurns;
+            this.unfinished = unfinished;
+            this.seatWinRates = seatWinRates;
+            this.scoreMin = scoreMin;
+            this.scoreMax = scoreMax;
+        }
+
+        // Getters
+        public double getCost() { return cost; }
+        public double getKs() { return ks; }
+        public double getFairness() { return fairness; }
+        public double getMeanTurns() { return meanTurns; }
+        public double[] getSeatWinRates() { return seatWinRates.clone(); }
+        String key() { return BoardOptimizer.key(from, to); }
+
+        /** Teks file .board (format {@link BoardDefinition}), tangga dan ular terurut. */
+        public String toBoardText(String name) {
+            StringBuilder sb = new StringBuilder();
+            sb.append("# ").append(summary()).append('\n');
+            sb.append("nama ").append(name).append('\n');
+            sb.append("ukuran ").append(columns).append(' ').append((size + columns - 1) / columns).append("\n\n");
+            appendJumps(sb, "tangga", 0, ladders);
+            appendJumps(sb, "ular", ladders, from.length);
+            sb.append("skor acak ").append(scoreMin).append(' ').append(scoreMax).append('\n');
+            return sb.toString();
+        }
+
+        private void appendJumps(StringBuilder sb, String keyword, int begin, int end) {
+            int[] order = new int[end - begin];
+            for (int j = begin; j < end; j++) order[j - begin] = from[j];
+            Arrays.sort(order);
+            for (int start : order) {
+                for (int j = begin; j < end; j++) {
+                    if (from[j] == start) sb.append(keyword).append(' ').append(start).append(' ').append(to[j]).append('\n');
+                }
+            }
+            if (end > begin) sb.append('\n');
+        }
+
+        public BoardDefinition toDefinition(String name) {
+            return BoardDefinition.compile(toBoardText(name));
+        }
+
+        public String summary() {
+            StringBuilder seats = new StringBuilder();
+            for (double r : seatWinRates) seats.append(seats.length() == 0 ? "" : "/").append(String.format(Locale.ROOT, "%.1f", r * 100));
+            return String.format(Locale.ROOT, "skor %.4f | lemparan rata %.1f (p10 %d, p50 %d, p90 %d) | KS %.3f"
+                            + " | menang per kursi %s%% | tidak selesai %.2f%%",
+                    cost, meanTurns, p10, p50, p90, ks, seats, unfinished * 100);
+        }
+    }
+
+    // ===========================
+    // MAIN
+    // ===========================
+
+    // Pemakaian: java BoardOptimizer [rataLemparan] [sdLemparan] [jumlahKandidat] [jumlahPemain] [seed]
+    //   -Dgame.board=file (ukuran dan jumlah tangga/ular awal), -Dopt.ladders=N, -Dopt.snakes=N,
+    //   -Dopt.games=N (game per kandidat), -Dopt.top=N, -Dopt.fairness=bobot,
+    //   -Dopt.winnerScore=N (target skor pemenang), -Dopt.out=folder (tulis file .board)
+    public static void main(String[] args) throws IOException {
+        double mean = args.length > 0 ? Double.parseDouble(args[0]) : 120;
+        double sd = args.length > 1 ? Double.parseDouble(args[1]) : mean / 3;
+        long candidates = args.length > 2 ? Long.parseLong(args[2]) : 20_000;
+        int players = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : System.nanoTime();
+
+        String boardFile = System.getProperty(BoardDefinition.PROPERTY);
+        BoardDefinition base = boardFile == null ? BoardDefinition.standard() : BoardDefinition.load(Paths.get(boardFile));
+        CompiledBoard template = base.instantiate(RandomSource.seeded(seed));
+        int ladders = Integer.getInteger("opt.ladders", countJumps(template, true));
+        int snakes = Integer.getInteger("opt.snakes", countJumps(template, false));
+
+        BoardOptimizer optimizer = new BoardOptimizer(base.getSize(), base.getColumns(), ladders, snakes, players,
+                new TurnTarget(mean, sd));
+        optimizer.setGamesPerCandidate(Integer.getInteger("opt.games", DEFAULT_GAMES));
+        optimizer.setTop(Integer.getInteger("opt.top", DEFAULT_TOP));
+        optimizer.setWinnerScore(Integer.getInteger("opt.winnerScore", 0));
+        String fairness = System.getProperty("opt.fairness");
+        if (fairness != null) optimizer.setFairnessWeight(Double.parseDouble(fairness));
+
+        System.out.println("Optimasi " + base + ": " + ladders + " tangga, " + snakes + " ular, " + players
+                + " pemain, target " + mean + " +/- " + sd + " lemparan, " + candidates + " kandidat, seed " + seed);
+        long start = System.nanoTime();
+        List<Result> results = optimizer.optimize(candidates, seed);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf(Locale.ROOT, "%d kandidat dalam %.1f s (%.0f kandidat/menit, %d core)%n%n",
+                optimizer.getEvaluatedCount(), seconds, optimizer.getEvaluatedCount() / seconds * 60,
+                Runtime.getRuntime().availableProcessors());
+
+        String out = System.getProperty("opt.out");
+        Path dir = out == null ? null : Files.createDirectories(Paths.get(out));
+        for (int i = 0; i < results.size(); i++) {
+            String text = results.get(i).toBoardText(String.format(Locale.ROOT, "Optimasi %d (target %.0f lemparan)", i + 1, mean));
+            System.out.println("#" + (i + 1) + " " + results.get(i).summary());
+            if (dir != null) {
+                Files.writeString(dir.resolve("optimasi-" + (i + 1) + ".board"), text);
+            } else {
+                System.out.println(text);
+            }
+        }
+        if (dir != null) System.out.println("Papan ditulis ke " + dir.toAbsolutePath());
+    }
+
+    private static int countJumps(CompiledBoard board, boolean up) {
+        int n = 0;
+        for (int i = 2; i < board.getSize(); i++) {
+            int dest = board.checkJump(i);
+            if (up ? dest > i : dest < i) n++;
+        }
+        return n;
+    }
+}
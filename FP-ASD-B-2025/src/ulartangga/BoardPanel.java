@@ -0,0 +1,561 @@
+package ulartangga;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Path2D;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.BitSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// ===========================
+// BOARD PANEL (DENGAN BACKGROUND DORAEMON)
+// ===========================
+
+/**
+ * Panel papan permainan. Tidak bergantung pada JFrame, jadi bisa juga digambar
+ * ke BufferedImage di mode headless (benchmark, {@link FrameExporter}).
+ *
+ * Lapisan statis (background, jalur, tangga, ular, petak, gerbang finish) digambar
+ * sekali ke image cache dan hanya dibangun ulang saat ukuran panel berubah. Setiap
+ * paint cukup menempel cache, menimpa petak jalur terpendek yang disorot (hanya
+ * beberapa segi enam), lalu menggambar token; {@link #repaintTokens()} hanya
+ * me-repaint kotak di sekitar token yang bergerak.
+ */
+class BoardPanel extends JPanel {
+
+    // Ukuran dasar untuk papan 10x10 (petak 60px); papan lain diskalakan dari sini
+    private static final int BOARD_EXTENT = 600;
+    private static final int BASE_TILE = 60;
+    private static final int TILE_RADIUS = 22;
+    private static final int TOKEN_SIZE = 28;
+    private static final int TOKEN_SPREAD = 8;
+
+    private final int finish;
+    private final Point[] tileCoords;
+    private final Polygon[] tileHexes;
+    private final int tileRadius;
+    private final int tokenSize;
+    private final int tokenSpread;
+
+    private static final double SCALE = 1.35;
+    private static final int OFFSET_X = -30;
+    private static final int OFFSET_Y = -193;
+
+    // Warna, font, dan stroke dibuat sekali, bukan per petak per repaint
+    private static final Color OVERLAY = new Color(255, 255, 255, 120);
+    private static final Color PATH_COLOR = new Color(255, 255, 255, 150);
+    private static final Color LADDER_COLOR = new Color(218, 165, 32, 200);
+    private static final Color SNAKE_COLOR = new Color(0, 128, 128, 180);
+    private static final Color TILE_FINISH = new Color(255, 215, 0);
+    private static final Color TILE_START = new Color(144, 238, 144);
+    private static final Color TILE_GREEN = new Color(173, 255, 47);
+    private static final Color TILE_YELLOW = new Color(255, 250, 205);
+    private static final Color TILE_PINK = new Color(255, 182, 193);
+    private static final Color TILE_BLUE = new Color(176, 224, 230);
+    private static final Color TILE_HIGHLIGHT = new Color(135, 206, 250);
+    private static final Color TILE_BORDER = new Color(0, 0, 0, 50);
+    private static final Color GATE_COLOR = new Color(139, 69, 19);
+    private static final Font TILE_FONT = new Font("Arial", Font.BOLD, 11);
+    private static final Font GATE_FONT = new Font("Arial", Font.BOLD, 10);
+    private static final BasicStroke PATH_STROKE = new BasicStroke(15f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke LADDER_STROKE = new BasicStroke(6f);
+    private static final BasicStroke SNAKE_STROKE = new BasicStroke(8f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    private static final BasicStroke THIN_STROKE = new BasicStroke(2);
+
+    static final String BACKGROUND = "/Background_Doraemon.jpeg";
+    // Warna dasar ekspor (abu-abu panel Swing); hanya terlihat jika gambar background tidak ada
+    private static final Color EXPORT_BACKGROUND = new Color(238, 238, 238);
+
+    // Model yang digambar (dibagi dengan SnakeLadderGame, bukan salinan)
+    private final GameBoard board;
+    private final List<Player> allPlayers;
+    private final BitSet currentShortestPath;
+
+    // Cache lapisan statis: salinan utama di heap + salinan VRAM untuk blit cepat
+    private BufferedImage boardLayer;
+    private VolatileImage boardLayerVram;
+    private boolean vramStale = true;
+    private static final BitSet NO_PATH = new BitSet();
+
+    // Posisi tampilan sementara selama animasi (koordinat papan; posisi di model sudah final)
+    private final Map<Player, Point2D> displayPoints = new IdentityHashMap<>();
+
+    // Kotak token terakhir yang digambar (koordinat layar), untuk repaint sebagian
+    private Rectangle[] paintedTokens = new Rectangle[0];
+
+    public BoardPanel(GameBoard board, List<Player> allPlayers, BitSet currentShortestPath) {
+        this.board = board;
+        this.allPlayers = allPlayers;
+        this.currentShortestPath = currentShortestPath;
+
+        CompiledBoard compiled = board.getCompiled();
+        this.finish = compiled.getSize();
+        this.tileCoords = new Point[finish + 1];
+        this.tileHexes = new Polygon[finish + 1];
+        int spacing = Math.max(1, BOARD_EXTENT / Math.max(compiled.getColumns(), compiled.getRows()));
+        this.tileRadius = Math.max(2, TILE_RADIUS * spacing / BASE_TILE);
+        this.tokenSize = Math.max(8, TOKEN_SIZE * spacing / BASE_TILE);
+        this.tokenSpread = TOKEN_SPREAD * tokenSize / TOKEN_SIZE;
+
+        setOpaque(true);
+        initPathCoords(compiled.getColumns(), spacing);
+    }
+
+    // Zig-zag dari kiri bawah, sebanyak kolom papan per baris
+    private void initPathCoords(int columns, int size) {
+        int startX = 100;
+        int startY = 720;
+
+        for (int num = 1; num <= finish; num++) {
+            int row = (num - 1) / columns;
+            int col = (num - 1) % columns;
+            boolean leftToRight = row % 2 == 0;
+
+            int x = leftToRight
+                    ? startX + col * size
+                    : startX + (columns - 1 - col) * size;
+
+            int y = startY - row * size;
+            tileCoords[num] = new Point(x, y);
+        }
+
+        // Segi enam tiap petak dihitung sekali (cos/sin tidak lagi per repaint)
+        int[] dx = new int[6];
+        int[] dy = new int[6];
+        for (int j = 0; j < 6; j++) {
+            dx[j] = (int) (tileRadius * Math.cos(j * Math.PI / 3));
+            dy[j] = (int) (tileRadius * Math.sin(j * Math.PI / 3));
+        }
+        for (int i = 1; i <= finish; i++) {
+            Point p = tileCoords[i];
+            Polygon hex = new Polygon();
+            for (int j = 0; j < 6; j++) hex.addPoint(p.x + dx[j], p.y + dy[j]);
+            tileHexes[i] = hex;
+        }
+    }
+
+    // ===========================
+    // CACHE LAPISAN STATIS
+    // ===========================
+
+    /** Paksa lapisan statis digambar ulang pada paint berikutnya. */
+    public void invalidateBoardLayer() {
+        boardLayer = null;
+        repaint();
+    }
+
+    // true jika lapisan baru saja digambar ulang
+    private boolean ensureBoardLayer() {
+        int w = getWidth(), h = getHeight();
+        if (boardLayer != null && boardLayer.getWidth() == w && boardLayer.getHeight() == h) {
+            return false;
+        }
+
+        // Tanpa sorotan: jalur yang berubah tiap giliran digambar di atasnya (drawHighlight)
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        boardLayer = gc != null
+                ? gc.createCompatibleImage(w, h, Transparency.OPAQUE)
+                : new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        paintBoardLayer(boardLayer, NO_PATH, gc, getBackground());
+        vramStale = true;
+        return true;
+    }
+
+    // Isi lapisan statis. Tidak membaca state Component (warna dasar dioper), jadi juga
+    // dipakai ekspor dari banyak thread; field yang dibaca final dan tidak berubah setelah konstruksi.
+    private void paintBoardLayer(BufferedImage target, BitSet path, GraphicsConfiguration gc, Color base) {
+        int w = target.getWidth(), h = target.getHeight();
+        Graphics2D g2 = target.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.setColor(base);
+        g2.fillRect(0, 0, w, h);
+
+        // BACKGROUND IMAGE (sudah diskalakan ke ukuran panel oleh cache bersama)
+        BufferedImage background = ImageCache.shared().scaledResource(BACKGROUND, w, h, gc);
+        if (background != null) g2.drawImage(background, 0, 0, null);
+
+        // OVERLAY AGAR PAPAN JELAS
+        g2.setColor(OVERLAY);
+        g2.fillRect(0, 0, w, h);
+
+        g2.translate(OFFSET_X, OFFSET_Y);
+        g2.scale(SCALE, SCALE);
+        drawPath(g2);
+        drawObstacles(g2);
+        drawTiles(g2, path);
+        drawFinishGate(g2, tileCoords[finish]);
+        g2.dispose();
+    }
+
+    // Petak jalur terpendek di atas lapisan cache, dengan transform papan yang sama
+    private void drawHighlight(Graphics2D g2) {
+        if (currentShortestPath.isEmpty()) return;
+        AffineTransform original = g2.getTransform();
+        Object oldAA = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2.translate(OFFSET_X, OFFSET_Y);
+        g2.scale(SCALE, SCALE);
+        g2.setFont(TILE_FONT);
+        g2.setStroke(THIN_STROKE);
+        FontMetrics fm = g2.getFontMetrics();
+        for (int i = currentShortestPath.nextSetBit(1); i >= 1 && i <= finish; i = currentShortestPath.nextSetBit(i + 1)) {
+            drawTile(g2, i, TILE_HIGHLIGHT, fm);
+        }
+        // Di lapisan gerbang finish berada di atas semua petak (juga petak tetangganya)
+        drawFinishGate(g2, tileCoords[finish]);
+        g2.setTransform(original);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, oldAA);
+    }
+
+    private void drawBoardLayer(Graphics2D g2) {
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        if (gc == null || GraphicsEnvironment.isHeadless()) {
+            g2.drawImage(boardLayer, 0, 0, null);
+            return;
+        }
+
+        int w = boardLayer.getWidth(), h = boardLayer.getHeight();
+        do {
+            if (boardLayerVram == null || boardLayerVram.getWidth() != w || boardLayerVram.getHeight() != h) {
+                if (boardLayerVram != null) boardLayerVram.flush();
+                boardLayerVram = gc.createCompatibleVolatileImage(w, h, Transparency.OPAQUE);
+                vramStale = true;
+            }
+            int status = boardLayerVram.validate(gc);
+            if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                boardLayerVram.flush();
+                boardLayerVram = gc.createCompatibleVolatileImage(w, h, Transparency.OPAQUE);
+                vramStale = true;
+            } else if (status == VolatileImage.IMAGE_RESTORED) {
+                vramStale = true;
+            }
+            if (vramStale) {
+                Graphics2D vg = boardLayerVram.createGraphics();
+                vg.drawImage(boardLayer, 0, 0, null);
+                vg.dispose();
+                vramStale = false;
+            }
+            g2.drawImage(boardLayerVram, 0, 0, null);
+        } while (boardLayerVram.contentsLost());
+    }
+
+    // Panel dilepas (kembali ke menu): cache lapisan digambar ulang jika ditampilkan lagi
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        boardLayer = null;
+        if (boardLayerVram != null) {
+            boardLayerVram.flush();
+            boardLayerVram = null;
+        }
+    }
+
+    // ===========================
+    // REPAINT
+    // ===========================
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (getWidth() <= 0 || getHeight() <= 0) return;
+        GameEvents.BoardPaint event = new GameEvents.BoardPaint();
+        event.begin();
+        long start = System.nanoTime();
+        Graphics2D g2 = (Graphics2D) g;
+        Rectangle clip = g2.getClipBounds();
+
+        // Lapisan statis menutupi seluruh panel, jadi super.paintComponent tidak perlu
+        boolean rebuilt = ensureBoardLayer();
+        drawBoardLayer(g2);
+        drawHighlight(g2);
+        int drawn = paintTokens(g2, clip);
+
+        GameMetrics.get().recordPaint(System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.clipArea = clip == null ? getWidth() * getHeight() : clip.width * clip.height;
+            event.tokens = drawn;
+            event.layerRebuilt = rebuilt;
+            event.commit();
+        }
+    }
+
+    // Token yang kotaknya kena clip saja; mengembalikan jumlah yang digambar
+    private int paintTokens(Graphics2D g2, Rectangle clip) {
+        if (allPlayers == null) return 0;
+
+        int total = allPlayers.size();
+        if (paintedTokens.length != total) paintedTokens = new Rectangle[total];
+
+        Object oldAA = g2.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        AffineTransform original = g2.getTransform();
+        g2.translate(OFFSET_X, OFFSET_Y);
+        g2.scale(SCALE, SCALE);
+
+        int drawn = 0;
+        for (int i = 0; i < total; i++) {
+            Player p = allPlayers.get(i);
+            Rectangle bounds = tokenBounds(p, i, total);
+            paintedTokens[i] = bounds;
+            if (bounds != null && (clip == null || clip.intersects(bounds))) {
+                drawPlayer(g2, p, displayCenter(p), i, total);
+                drawn++;
+            }
+        }
+
+        g2.setTransform(original);
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, oldAA);
+        return drawn;
+    }
+
+    /**
+     * Repaint hanya area token yang posisinya berubah sejak paint terakhir
+     * (kotak lama + kotak baru). Dipakai selama animasi langkah.
+     */
+    public void repaintTokens() {
+        if (allPlayers == null) return;
+        int total = allPlayers.size();
+        if (paintedTokens.length != total) {
+            repaint();
+            return;
+        }
+        for (int i = 0; i < total; i++) {
+            Rectangle now = tokenBounds(allPlayers.get(i), i, total);
+            Rectangle before = paintedTokens[i];
+            if (Objects.equals(now, before)) continue;
+            if (before != null) repaint(before);
+            if (now != null) repaint(now);
+        }
+    }
+
+    // Setter posisi tampilan tidak me-repaint sendiri: pemanggil (frame animasi)
+    // memanggil repaintTokens() sekali setelah semua token di-update.
+
+    /** Gambar token di petak {@code pos} sampai {@link #clearDisplayPosition} dipanggil. */
+    public void setDisplayPosition(Player p, int pos) {
+        setDisplayPoint(p, cellPoint(pos));
+    }
+
+    /** Gambar token di titik papan {@code point} (mis. hasil interpolasi animasi). */
+    public void setDisplayPoint(Player p, Point2D point) {
+        displayPoints.put(p, point);
+    }
+
+    public void clearDisplayPosition(Player p) {
+        displayPoints.remove(p);
+    }
+
+    /**
+     * Titik di sepanjang jalur untuk posisi pecahan, mis. 5.5 = tengah antara
+     * petak 5 dan 6. Dibatasi ke 1..finish.
+     */
+    public Point2D cellPoint(double cell) {
+        double c = Math.max(1, Math.min(finish, cell));
+        int i = (int) Math.floor(c);
+        double f = c - i;
+        Point a = tileCoords[i];
+        if (f == 0 || i >= finish) return new Point2D.Double(a.x, a.y);
+        Point b = tileCoords[i + 1];
+        return new Point2D.Double(a.x + (b.x - a.x) * f, a.y + (b.y - a.y) * f);
+    }
+
+    // Titik tengah token: posisi tampilan jika sedang dianimasikan, selain itu petak pemain
+    private Point displayCenter(Player p) {
+        Point2D override = displayPoints.get(p);
+        if (override != null) return toPixel(override);
+        int posIdx = p.getPosition();
+        if (posIdx < 1 || posIdx > finish) return null;
+        return tileCoords[posIdx];
+    }
+
+    private static Point toPixel(Point2D point) {
+        return new Point((int) Math.round(point.getX()), (int) Math.round(point.getY()));
+    }
+
+    // Kotak token di koordinat layar (sudah termasuk transform papan dan border)
+    private Rectangle tokenBounds(Player p, int index, int total) {
+        Point center = displayCenter(p);
+        if (center == null) return null;
+
+        int offsetX = 0, offsetY = 0;
+        if (total > 1) {
+            offsetX = (index % 2 == 0 ? -1 : 1) * tokenSpread;
+            offsetY = (index < 2 ? -1 : 1) * tokenSpread;
+        }
+        int x = center.x - tokenSize / 2 + offsetX - 2;
+        int y = center.y - tokenSize / 2 + offsetY - 2;
+        int size = tokenSize + 4;
+
+        int sx = (int) Math.floor(OFFSET_X + x * SCALE) - 1;
+        int sy = (int) Math.floor(OFFSET_Y + y * SCALE) - 1;
+        int ss = (int) Math.ceil(size * SCALE) + 2;
+        return new Rectangle(sx, sy, ss, ss);
+    }
+
+    // ===========================
+    // RENDER OFFSCREEN (EKSPOR)
+    // ===========================
+
+    /**
+     * Lapisan statis w x h dengan sorotan {@code path} sebagai image baru. Cache
+     * panel dan state Component (warna background) tidak dibaca, jadi aman
+     * dipanggil dari banyak thread (FrameExporter).
+     */
+    BufferedImage renderBoardLayer(int w, int h, BitSet path) {
+        BufferedImage layer = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        paintBoardLayer(layer, path, null, EXPORT_BACKGROUND);
+        return layer;
+    }
+
+    /**
+     * Token {@code players.get(i)} di titik papan {@code points[i]} (null = tidak
+     * digambar), dengan transform papan yang sama seperti di layar. Tanpa state panel.
+     */
+    void renderTokens(Graphics2D g2, List<Player> players, Point2D[] points) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        AffineTransform original = g2.getTransform();
+        g2.translate(OFFSET_X, OFFSET_Y);
+        g2.scale(SCALE, SCALE);
+        int total = players.size();
+        for (int i = 0; i < total; i++) {
+            if (points[i] != null) drawPlayer(g2, players.get(i), toPixel(points[i]), i, total);
+        }
+        g2.setTransform(original);
+    }
+
+    // ===========================
+    // GAMBAR LAPISAN
+    // ===========================
+
+    private void drawPath(Graphics2D g2) {
+        g2.setColor(PATH_COLOR);
+        g2.setStroke(PATH_STROKE);
+        Path2D path = new Path2D.Float();
+        path.moveTo(tileCoords[1].x, tileCoords[1].y);
+        for (int i = 2; i <= finish; i++) path.lineTo(tileCoords[i].x, tileCoords[i].y);
+        g2.draw(path);
+    }
+
+    private void drawTiles(Graphics2D g2, BitSet path) {
+        g2.setFont(TILE_FONT);
+        g2.setStroke(THIN_STROKE);
+        FontMetrics fm = g2.getFontMetrics();
+
+        for (int i = 1; i <= finish; i++) {
+            Color baseColor;
+            int colorPattern = i % 6;
+            if (i == finish) baseColor = TILE_FINISH;
+            else if (i == 1) baseColor = TILE_START;
+            else if (colorPattern == 0 || colorPattern == 3) baseColor = TILE_GREEN;
+            else if (colorPattern == 1) baseColor = TILE_YELLOW;
+            else if (colorPattern == 2 || colorPattern == 5) baseColor = TILE_PINK;
+            else baseColor = TILE_BLUE;
+
+            if (path.get(i)) baseColor = TILE_HIGHLIGHT;
+            drawTile(g2, i, baseColor, fm);
+        }
+    }
+
+    private void drawTile(Graphics2D g2, int i, Color color, FontMetrics fm) {
+        Point p = tileCoords[i];
+        Polygon hex = tileHexes[i];
+        g2.setColor(color);
+        g2.fillPolygon(hex);
+        g2.setColor(TILE_BORDER);
+        g2.drawPolygon(hex);
+
+        g2.setColor(Color.DARK_GRAY);
+        String numStr = String.valueOf(i);
+        g2.drawString(numStr, p.x - fm.stringWidth(numStr)/2, p.y + fm.getAscent()/2 - 2);
+    }
+
+    private void drawObstacles(Graphics2D g2) {
+        // Tangga
+        g2.setColor(LADDER_COLOR);
+        g2.setStroke(LADDER_STROKE);
+        for (Map.Entry<Integer, Integer> entry : board.getLadders().entrySet()) {
+            Point p1 = tileCoords[entry.getKey()];
+            Point p2 = tileCoords[entry.getValue()];
+            g2.drawLine(p1.x, p1.y, p2.x, p2.y);
+        }
+        // Ular
+        g2.setColor(SNAKE_COLOR);
+        g2.setStroke(SNAKE_STROKE);
+        for (Map.Entry<Integer, Integer> entry : board.getSnakes().entrySet()) {
+            Point start = tileCoords[entry.getKey()];
+            Point end = tileCoords[entry.getValue()];
+            Path2D path = new Path2D.Float();
+            path.moveTo(start.x, start.y);
+            // Lengkungan tetap per ular (seed dari ujung-ujungnya), tidak berubah tiap rebuild
+            int bend = RandomSource.seeded(entry.getKey() * 1_000L + entry.getValue()).nextInt(100) - 50;
+            double ctrlX = start.x + (end.x - start.x) / 2.0 + bend;
+            double ctrlY = start.y + (end.y - start.y) / 2.0 - 100;
+            path.quadTo(ctrlX, ctrlY, end.x, end.y);
+            g2.draw(path);
+            g2.fillOval(start.x-8, start.y-8, 16, 16);
+        }
+    }
+
+    private void drawFinishGate(Graphics2D g2, Point p) {
+        g2.setColor(GATE_COLOR);
+        g2.fillRect(p.x - 25, p.y - 30, 5, 40);
+        g2.fillRect(p.x + 20, p.y - 30, 5, 40);
+        g2.fillRect(p.x - 30, p.y - 35, 60, 10);
+        g2.setColor(Color.YELLOW);
+        g2.setFont(GATE_FONT);
+        g2.drawString("FINISH", p.x - 18, p.y - 27);
+    }
+
+    private void drawPlayer(Graphics2D g2, Player p, Point center, int index, int total) {
+        if (center == null) return;
+
+        int size = tokenSize;
+        int offsetX = 0, offsetY = 0;
+        if (total > 1) {
+            offsetX = (index % 2 == 0 ? -1 : 1) * tokenSpread;
+            offsetY = (index < 2 ? -1 : 1) * tokenSpread;
+        }
+
+        int x = center.x - size/2 + offsetX;
+        int y = center.y - size/2 + offsetY;
+
+        // Gambar avatar khusus (X, O, atau gambar doraemon)
+        if (p.getAvatarIcon() != null) {
+            drawAvatar(g2, p.getAvatarIcon().getImage(), x, y, size);
+            // Border warna pemain
+            g2.setColor(p.getColor());
+            g2.setStroke(THIN_STROKE);
+            g2.drawRect(x-1, y-1, size+2, size+2);
+        } else {
+            // Fallback bulat biasa
+            g2.setColor(p.getColor());
+            g2.fillOval(x, y, size, size);
+            g2.setColor(Color.WHITE);
+            g2.setStroke(THIN_STROKE);
+            g2.drawOval(x, y, size, size);
+        }
+    }
+
+    /**
+     * Avatar diambil dari cache dalam ukuran piksel layar yang sebenarnya
+     * (size x skala papan x skala HiDPI), lalu ditempel tanpa transform,
+     * jadi tidak ada penskalaan ulang per frame.
+     */
+    private void drawAvatar(Graphics2D g2, Image avatar, int x, int y, int size) {
+        AffineTransform at = g2.getTransform();
+        int dx = (int) Math.round(at.getTranslateX() + x * at.getScaleX());
+        int dy = (int) Math.round(at.getTranslateY() + y * at.getScaleY());
+        int ds = (int) Math.round(size * at.getScaleX());
+
+        BufferedImage scaled = ImageCache.shared().scaled(avatar, ds, ds, g2.getDeviceConfiguration());
+        if (scaled == null) return;
+        g2.setTransform(new AffineTransform());
+        g2.drawImage(scaled, dx, dy, null);
+        g2.setTransform(at);
+    }
+}
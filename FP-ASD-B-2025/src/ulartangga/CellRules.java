@@ -0,0 +1,159 @@
+package ulartangga;
+
+import java.util.BitSet;
+import java.util.List;
+
+// ===========================
+// TABEL AKSI PER PETAK (ATURAN TERKOMPILASI)
+// ===========================
+
+/**
+ * Semua efek mendarat di satu petak, dikompilasi sekali per papan menjadi satu
+ * {@code long} per petak: tujuan akhir (tangga/ular), skor petak tujuan, dan bit
+ * aturan (tangga, ular, bonus giliran, finish, sorotan jalur). Satu giliran cukup
+ * satu lookup {@link #action} untuk petak hasil dadu; tidak ada lagi cek prima,
+ * kelipatan 10, lompatan dan skor terpisah di loop giliran.
+ * <pre>
+ *   bit  0..31  tujuan akhir (checkJump)
+ *   bit 32..39  flag aturan
+ *   bit 40..63  skor petak tujuan (signed 24-bit; di luar rentang: flag WIDE_SCORE)
+ * </pre>
+ * Aturan petak baru ditambahkan sebagai {@link Rule} di {@link #STANDARD}, bukan
+ * cabang baru di loop giliran. Satu-satunya aturan yang tetap di luar tabel adalah
+ * turun ke tangga terakhir, karena bergantung pada state pemain, bukan petak.
+ */
+final class CellRules {
+
+    // Flag aturan (bit 32..39 dari aksi)
+    static final int LADDER = 1;      // tujuan > petak
+    static final int SNAKE = 1 << 1;  // tujuan < petak
+    static final int BONUS = 1 << 2;  // bonus giliran di petak tujuan
+    static final int FINISH = 1 << 3; // petak tujuan = finish
+    static final int HIGHLIGHT = 1 << 4; // giliran dari petak ini menyorot jalur terpendek (prima)
+    static final int WIDE_SCORE = 1 << 5; // skor tidak muat 24 bit, baca dari CompiledBoard
+
+    private static final int FLAG_SHIFT = 32;
+    private static final int SCORE_SHIFT = 40;
+    private static final int SCORE_MIN = -(1 << 23);
+    private static final int SCORE_MAX = (1 << 23) - 1;
+
+    /** Satu aturan petak: menandai aksi satu petak yang tujuan akhirnya sudah terisi. */
+    interface Rule {
+        void apply(CompiledBoard board, CellRules table, int cell);
+    }
+
+    // Urutan penting: aturan yang membaca flag lain harus setelah aturan pengisinya
+    static final Rule JUMPS = (board, t, c) -> {
+        int dest = t.dest(c);
+        if (dest > c) t.addFlags(c, LADDER);
+        else if (dest < c) t.addFlags(c, SNAKE);
+    };
+
+    static final Rule SCORES = (board, t, c) -> t.setScore(c, board.score(t.dest(c)));
+
+    // Kelipatan 10, kecuali finish
+    static final Rule BONUS_TURNS = (board, t, c) -> {
+        if (GameRules.isBonusCell(t.dest(c), t.size)) t.addFlags(c, BONUS);
+    };
+
+    static final Rule FINISH_CELL = (board, t, c) -> {
+        if (t.dest(c) == t.size) t.addFlags(c, FINISH);
+    };
+
+    static final Rule PRIME_HIGHLIGHT = (board, t, c) -> {
+        if (t.primes.get(c)) t.addFlags(c, HIGHLIGHT);
+    };
+
+    static final List<Rule> STANDARD = List.of(JUMPS, SCORES, BONUS_TURNS, FINISH_CELL, PRIME_HIGHLIGHT);
+
+    private final CompiledBoard board;
+    private final List<Rule> rules;
+    private final int size;
+    private final long[] cells;
+    private final BitSet primes;
+
+    private CellRules(CompiledBoard board, List<Rule> rules) {
+        this.board = board;
+        this.rules = rules;
+        this.size = board.getSize();
+        this.cells = new long[size + 1];
+        this.primes = sieve(size);
+        // Petak 0 tidak pernah dipakai: tetap di tempat
+        for (int c = 1; c <= size; c++) resolve(c, board.checkJump(c));
+    }
+
+    static CellRules compile(CompiledBoard board) {
+        return compile(board, STANDARD);
+    }
+
+    static CellRules compile(CompiledBoard board, List<Rule> rules) {
+        return new CellRules(board, rules);
+    }
+
+    /** Saringan Eratosthenes: bit i = i prima, untuk 0..max. */
+    static BitSet sieve(int max) {
+        BitSet composite = new BitSet(max + 1);
+        for (int i = 2; (long) i * i <= max; i++) {
+            if (composite.get(i)) continue;
+            for (int j = i * i; j <= max; j += i) composite.set(j);
+        }
+        BitSet primes = new BitSet(max + 1);
+        if (max >= 2) primes.set(2, max + 1);
+        primes.andNot(composite);
+        return primes;
+    }
+
+    // ===========================
+    // LOOKUP
+    // ===========================
+
+    /** Aksi lengkap untuk mendarat di {@code cell} (1..size). */
+    public long action(int cell) { return cells[cell]; }
+
+    public boolean highlights(int cell) { return has(cells[cell], HIGHLIGHT); }
+    public boolean isPrime(int n) { return n >= 0 && n <= size && primes.get(n); }
+
+    public static int dest(long action) { return (int) action; }
+    public static int flags(long action) { return (int) (action >>> FLAG_SHIFT) & 0xFF; }
+    public static boolean has(long action, int flag) { return (flags(action) & flag) != 0; }
+
+    /** Skor petak tujuan; hanya skor di luar 24 bit yang dibaca ulang dari papan. */
+    public int score(long action) {
+        return has(action, WIDE_SCORE) ? board.score(dest(action)) : (int) (action >> SCORE_SHIFT);
+    }
+
+    public int getSize() { return size; }
+
+    // ===========================
+    // TULIS (HANYA SAAT KOMPILASI)
+    // ===========================
+
+    int dest(int cell) { return dest(cells[cell]); }
+
+    /**
+     * Ganti tujuan akhir satu petak dan hitung ulang aksinya dengan aturan yang sama.
+     * Untuk kandidat papan yang diubah di tempat ({@link BoardOptimizer}); tabel
+     * milik {@link CompiledBoard#rules()} tidak boleh diubah.
+     */
+    void relink(int cell, int dest) {
+        resolve(cell, dest);
+    }
+
+    private void resolve(int cell, int dest) {
+        cells[cell] = dest & 0xFFFFFFFFL;
+        for (Rule r : rules) r.apply(board, this, cell);
+    }
+
+    void addFlags(int cell, int flags) {
+        cells[cell] |= (long) (flags & 0xFF) << FLAG_SHIFT;
+    }
+
+    void setScore(int cell, int score) {
+        long low = cells[cell] & ((1L << SCORE_SHIFT) - 1) & ~((long) WIDE_SCORE << FLAG_SHIFT);
+        if (score < SCORE_MIN || score > SCORE_MAX) {
+            cells[cell] = low | (long) WIDE_SCORE << FLAG_SHIFT;
+        } else {
+            cells[cell] = low | (long) score << SCORE_SHIFT;
+        }
+    }
+}
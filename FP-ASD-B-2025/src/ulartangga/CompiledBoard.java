@@ -0,0 +1,187 @@
+package ulartangga;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+// ===========================
+// PAPAN TERKOMPILASI (TABEL PRIMITIF)
+// ===========================
+
+/**
+ * Versi immutable dari {@link GameBoard} untuk jalur panas (simulasi, BFS, render).
+ * Tangga, ular, dan skor petak disimpan sebagai tabel {@code int}:
+ * array padat untuk papan kecil/penuh, atau kunci terurut + binary search
+ * untuk papan sangat besar yang isinya jarang. Semua lookup bebas alokasi.
+ */
+final class CompiledBoard {
+
+    // Di atas ukuran ini tabel jarang dipakai kalau isinya < 1/SPARSE_RATIO petak
+    static final int DENSE_LIMIT = 1 << 16;
+    static final int SPARSE_RATIO = 8;
+
+    private final int size;
+    // Lebar papan untuk renderer (baris = size / columns, dibulatkan ke atas)
+    private final int columns;
+    private final IntTable jumps;
+    private final IntTable scores;
+
+    // View read-only untuk renderer
+    private final Map<Integer, Integer> ladderView;
+    private final Map<Integer, Integer> snakeView;
+
+    // Dibangun saat pertama kali dibutuhkan, lalu dipakai ulang
+    private volatile DistanceTable distances;
+    private volatile CellRules rules;
+
+    private CompiledBoard(int size, int columns, Map<Integer, Integer> ladders, Map<Integer, Integer> snakes,
+                          Map<Integer, Integer> cellScores) {
+        this.size = size;
+        this.columns = columns;
+
+        TreeMap<Integer, Integer> allJumps = new TreeMap<>();
+        allJumps.putAll(ladders);
+        allJumps.putAll(snakes); // sama seperti checkJump lama: ular menang jika bentrok
+
+        this.jumps = IntTable.build(size, allJumps);
+        this.scores = IntTable.build(size, new TreeMap<>(cellScores));
+        this.ladderView = Collections.unmodifiableMap(new TreeMap<>(ladders));
+        this.snakeView = Collections.unmodifiableMap(new TreeMap<>(snakes));
+    }
+
+    // Salinan dengan skor lain; tabel lompatan dan jarak dipakai bersama (tabel aturan tidak: skornya beda)
+    private CompiledBoard(CompiledBoard base, IntTable scores) {
+        this.size = base.size;
+        this.columns = base.columns;
+        this.jumps = base.jumps;
+        this.scores = scores;
+        this.ladderView = base.ladderView;
+        this.snakeView = base.snakeView;
+        this.distances = base.distances;
+    }
+
+    public static CompiledBoard compile(int size, Map<Integer, Integer> ladders,
+                                        Map<Integer, Integer> snakes, Map<Integer, Integer> cellScores) {
+        return compile(size, defaultColumns(size), ladders, snakes, cellScores);
+    }
+
+    public static CompiledBoard compile(int size, int columns, Map<Integer, Integer> ladders,
+                                        Map<Integer, Integer> snakes, Map<Integer, Integer> cellScores) {
+        if (size < 1) throw new IllegalArgumentException("Ukuran papan tidak valid: " + size);
+        if (columns < 1 || columns > size) throw new IllegalArgumentException("Jumlah kolom tidak valid: " + columns);
+        return new CompiledBoard(size, columns, ladders, snakes, cellScores);
+    }
+
+    // Papan tanpa lebar eksplisit: pembagi ukuran yang paling dekat ke akar (100 -> 10x10)
+    static int defaultColumns(int size) {
+        for (int c = (int) Math.ceil(Math.sqrt(size)); c < size; c++) {
+            if (size % c == 0) return c;
+        }
+        return size;
+    }
+
+    /** Papan yang sama dengan skor petak {@code scores[1..size]} (indeks 0 diabaikan). */
+    CompiledBoard withScores(int[] scores) {
+        if (scores.length != size + 1) throw new IllegalArgumentException("Panjang skor harus size + 1");
+        TreeMap<Integer, Integer> entries = new TreeMap<>();
+        for (int i = 1; i <= size; i++) if (scores[i] != 0) entries.put(i, scores[i]);
+        return new CompiledBoard(this, IntTable.build(size, entries));
+    }
+
+    /** Tujuan akhir setelah tangga/ular; petak biasa mengembalikan dirinya sendiri. */
+    public int checkJump(int pos) {
+        return jumps.get(pos, pos);
+    }
+
+    public int score(int pos) {
+        return scores.get(pos, 0);
+    }
+
+    public boolean isJumpStart(int pos) {
+        return jumps.get(pos, pos) != pos;
+    }
+
+    /** Tabel jarak ke finish untuk papan ini (BFS terbalik, sekali saja). */
+    public DistanceTable distances() {
+        DistanceTable table = distances;
+        if (table == null) {
+            table = DistanceTable.build(this);
+            distances = table;
+        }
+        return table;
+    }
+
+    /** Tabel aksi per petak (lompatan, skor, bonus, finish, sorotan), sekali saja. */
+    public CellRules rules() {
+        CellRules table = rules;
+        if (table == null) {
+            table = CellRules.compile(this);
+            rules = table;
+        }
+        return table;
+    }
+
+    public int getSize() { return size; }
+    public int getColumns() { return columns; }
+    public int getRows() { return (size + columns - 1) / columns; }
+    public Map<Integer, Integer> getLadders() { return ladderView; }
+    public Map<Integer, Integer> getSnakes() { return snakeView; }
+    public boolean isSparse() { return jumps.isSparse(); }
+
+    // ===========================
+    // TABEL INT: PADAT ATAU JARANG
+    // ===========================
+    static final class IntTable {
+        private static final int MISSING = Integer.MIN_VALUE;
+
+        // Mode padat: dense[pos], MISSING jika kosong
+        private final int[] dense;
+        // Mode jarang: keys terurut naik, values sejajar
+        private final int[] keys;
+        private final int[] values;
+
+        private IntTable(int[] dense, int[] keys, int[] values) {
+            this.dense = dense;
+            this.keys = keys;
+            this.values = values;
+        }
+
+        static IntTable build(int size, TreeMap<Integer, Integer> entries) {
+            boolean sparse = size > DENSE_LIMIT
+                    && (long) entries.size() * SPARSE_RATIO < size;
+
+            if (!sparse) {
+                int[] dense = new int[size + 1];
+                Arrays.fill(dense, MISSING);
+                for (Map.Entry<Integer, Integer> e : entries.entrySet()) {
+                    int k = e.getKey();
+                    if (k >= 1 && k <= size) dense[k] = e.getValue();
+                }
+                return new IntTable(dense, null, null);
+            }
+
+            int[] keys = new int[entries.size()];
+            int[] values = new int[entries.size()];
+            int n = 0;
+            for (Map.Entry<Integer, Integer> e : entries.entrySet()) {
+                keys[n] = e.getKey();
+                values[n] = e.getValue();
+                n++;
+            }
+            return new IntTable(null, keys, values);
+        }
+
+        int get(int key, int defaultValue) {
+            if (dense != null) {
+                if (key < 0 || key >= dense.length) return defaultValue;
+                int v = dense[key];
+                return v == MISSING ? defaultValue : v;
+            }
+            int idx = Arrays.binarySearch(keys, key);
+            return idx >= 0 ? values[idx] : defaultValue;
+        }
+
+        boolean isSparse() { return dense == null; }
+    }
+}
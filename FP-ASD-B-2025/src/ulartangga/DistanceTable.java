@@ -0,0 +1,177 @@
+package ulartangga;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+// ===========================
+// TABEL JARAK KE FINISH (SEKALI PER PAPAN)
+// ===========================
+
+/**
+ * Jarak terpendek (dalam lemparan dadu 1..6, mengikuti tangga/ular) dari setiap
+ * petak ke finish, beserta langkah berikutnya di jalur terpendek.
+ * Dibangun sekali dengan BFS terbalik dari finish; frontier diperluas secara
+ * bit-paralel (64 petak per operasi long), jadi papan 100k+ petak tetap murah.
+ *
+ * Setelah dibangun, "jalur terpendek dari petak mana pun" cukup mengikuti
+ * {@link #nextHop} tanpa alokasi.
+ */
+final class DistanceTable {
+
+    public static final int UNREACHABLE = -1;
+
+    private final int size;
+    private final int[] dist;
+    private final int[] next;
+
+    private DistanceTable(int size, int[] dist, int[] next) {
+        this.size = size;
+        this.dist = dist;
+        this.next = next;
+    }
+
+    static DistanceTable build(CompiledBoard board) {
+        int size = board.getSize();
+        int words = (size >> 6) + 1;
+
+        int[] dist = new int[size + 1];
+        int[] next = new int[size + 1];
+        Arrays.fill(dist, UNREACHABLE);
+        Arrays.fill(next, UNREACHABLE);
+
+        // Petak awal lompatan, dan pasangan (tujuan, awal) terurut menurut tujuan
+        // supaya tiap level hanya memeriksa lompatan yang mendarat di rentang frontier
+        long[] jumpStarts = new long[words];
+        int jumpCount = 0;
+        for (int c = 1; c <= size; c++) if (board.isJumpStart(c)) jumpCount++;
+        long[] jumpsByDest = new long[jumpCount];
+        for (int c = 1, j = 0; c <= size; c++) {
+            if (board.isJumpStart(c)) {
+                jumpStarts[c >> 6] |= 1L << c;
+                jumpsByDest[j++] = ((long) board.checkJump(c) << 32) | c;
+            }
+        }
+        Arrays.sort(jumpsByDest);
+        int[] jumpTo = new int[jumpCount];
+        int[] jumpFrom = new int[jumpCount];
+        for (int j = 0; j < jumpCount; j++) {
+            jumpTo[j] = (int) (jumpsByDest[j] >>> 32);
+            jumpFrom[j] = (int) jumpsByDest[j];
+        }
+
+        long[] frontier = new long[words];
+        long[] visited = new long[words];
+        long[] landing = new long[words];
+        long[] found = new long[words];
+
+        dist[size] = 0;
+        frontier[size >> 6] |= 1L << size;
+        visited[size >> 6] |= 1L << size;
+        int lo = size >> 6, hi = size >> 6; // rentang word frontier yang tidak kosong
+
+        for (int d = 0; lo <= hi; d++) {
+            // Petak pendaratan mentah yang berakhir di frontier:
+            // petak biasa di frontier + awal tangga/ular yang tujuannya di frontier
+            int landLo = lo, landHi = hi;
+            for (int w = lo; w <= hi; w++) landing[w] = frontier[w] & ~jumpStarts[w];
+            int firstJump = lowerBound(jumpTo, lo << 6);
+            for (int j = firstJump; j < jumpCount && jumpTo[j] < (hi + 1) << 6; j++) {
+                int to = jumpTo[j];
+                if ((frontier[to >> 6] & (1L << to)) != 0) {
+                    int from = jumpFrom[j];
+                    landLo = Math.min(landLo, from >> 6);
+                    landHi = Math.max(landHi, from >> 6);
+                    landing[from >> 6] |= 1L << from;
+                }
+            }
+
+            // Pendahulu = pendaratan digeser mundur 1..6 petak, dikurangi yang sudah dikunjungi
+            int newLo = Integer.MAX_VALUE, newHi = -1;
+            int fromWord = Math.max(0, landLo - 1);
+            for (int w = fromWord; w <= landHi; w++) {
+                long cur = landing[w];
+                long up = w + 1 <= landHi ? landing[w + 1] : 0;
+                long pred = 0;
+                for (int i = 1; i <= GameRules.DICE_FACES; i++) {
+                    pred |= (cur >>> i) | (up << (64 - i));
+                }
+                if (w == 0) pred &= ~1L; // petak 0 tidak ada
+                pred &= ~visited[w];
+                found[w] = pred;
+                if (pred != 0) {
+                    visited[w] |= pred;
+                    newLo = Math.min(newLo, w);
+                    newHi = Math.max(newHi, w);
+                }
+            }
+
+            // Isi jarak dan langkah berikutnya untuk petak yang baru ditemukan
+            for (int w = newLo; w <= newHi; w++) {
+                long bits = found[w];
+                while (bits != 0) {
+                    int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    dist[c] = d + 1;
+                    for (int i = 1; i <= GameRules.DICE_FACES && c + i <= size; i++) {
+                        int dest = board.checkJump(c + i);
+                        if (dist[dest] == d) { next[c] = dest; break; }
+                    }
+                }
+            }
+
+            clear(frontier, lo, hi + 1);
+            clear(landing, landLo, landHi + 1);
+            if (newHi < 0) break;
+            for (int w = newLo; w <= newHi; w++) frontier[w] = found[w];
+            clear(found, fromWord, landHi + 1);
+            lo = newLo;
+            hi = newHi;
+        }
+        return new DistanceTable(size, dist, next);
+    }
+
+    // Index pertama dengan a[i] >= key
+    private static int lowerBound(int[] a, int key) {
+        int lo = 0, hi = a.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    private static void clear(long[] bits, int from, int to) {
+        if (from < to) Arrays.fill(bits, from, to, 0L);
+    }
+
+    /** Jumlah lemparan minimum ke finish, atau {@link #UNREACHABLE}. */
+    public int distance(int cell) {
+        return cell >= 1 && cell <= size ? dist[cell] : UNREACHABLE;
+    }
+
+    /** Petak berikutnya di jalur terpendek (sudah termasuk tangga/ular). */
+    public int nextHop(int cell) {
+        return cell >= 1 && cell <= size ? next[cell] : UNREACHABLE;
+    }
+
+    /**
+     * Menulis jalur terpendek (termasuk petak awal dan finish) ke out.
+     * @return jumlah petak yang ditulis, 0 jika tidak terjangkau
+     */
+    public int copyPath(int start, int[] out) {
+        if (distance(start) == UNREACHABLE) return 0;
+        int n = 0;
+        for (int c = start; c != UNREACHABLE && n < out.length; c = next[c]) out[n++] = c;
+        return n;
+    }
+
+    /** Menandai petak-petak di jalur terpendek ke dalam bitset (isi lama dihapus). */
+    public void markPath(int start, BitSet out) {
+        out.clear();
+        if (distance(start) == UNREACHABLE) return;
+        for (int c = start; c != UNREACHABLE; c = next[c]) out.set(c);
+    }
+
+    public int getSize() { return size; }
+}
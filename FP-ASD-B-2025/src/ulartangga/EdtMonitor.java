@@ -0,0 +1,115 @@
+package ulartangga;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+
+// ===========================
+// DETEKTOR EDT MACET
+// ===========================
+
+/**
+ * EventQueue pengganti yang mengukur setiap event di event-dispatch thread. Event
+ * yang lebih lama dari batas {@link GameMetrics#getStallThresholdNanos()} dicatat
+ * ke metrik JMX dan sebagai event JFR {@code ulartangga.EdtStall}.
+ *
+ * Thread "edt-watchdog" mengambil stack EDT selagi event itu masih berjalan, jadi
+ * rekaman menunjukkan kode yang sebenarnya membuat macet (bukan stack setelah
+ * selesai). Event yang memompa event lain di dalamnya (dialog modal) tidak dihitung.
+ */
+final class EdtMonitor extends EventQueue {
+
+    private static final int STACK_DEPTH = 12;
+
+    private final GameMetrics metrics;
+    private final Thread watchdog;
+
+    // Ditulis EDT, dibaca watchdog
+    private volatile Thread edt;
+    private volatile long busySince;     // 0 = EDT sedang menunggu event
+    private volatile long dispatchSeq;
+    private volatile long capturedSeq;
+    private volatile String capturedStack;
+
+    private EdtMonitor(GameMetrics metrics) {
+        this.metrics = metrics;
+        this.watchdog = new Thread(this::watch, "edt-watchdog");
+        watchdog.setDaemon(true);
+    }
+
+    /** Pasang di antrian event sistem (sekali per proses, sebelum UI dibuat). */
+    public static EdtMonitor install(GameMetrics metrics) {
+        EdtMonitor monitor = new EdtMonitor(metrics);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(monitor);
+        monitor.watchdog.start();
+        return monitor;
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        edt = Thread.currentThread();
+        long seq = ++dispatchSeq;
+        GameEvents.EdtStall jfr = new GameEvents.EdtStall();
+        jfr.begin();
+        long start = System.nanoTime();
+        busySince = start;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            long nanos = System.nanoTime() - start;
+            busySince = 0;
+            // Ada event lain di dalamnya (loop modal): waktu tunggu user, bukan macet
+            boolean pumped = dispatchSeq != seq;
+            if (!pumped && nanos > metrics.getStallThresholdNanos()) {
+                String what = describe(event);
+                String stack = capturedSeq == seq ? capturedStack : "";
+                int firstLine = stack.indexOf('\n');
+                metrics.recordStall(nanos, firstLine < 0 ? what : what + " " + stack.substring(0, firstLine));
+                jfr.end();
+                if (jfr.shouldCommit()) {
+                    jfr.event = what;
+                    jfr.stack = stack;
+                    jfr.commit();
+                }
+            }
+        }
+    }
+
+    // Cek setiap setengah batas; stack diambil sekali per event yang macet
+    private void watch() {
+        try {
+            while (true) {
+                long threshold = metrics.getStallThresholdNanos();
+                Thread.sleep(Math.max(1, threshold / 2_000_000L));
+                long since = busySince;
+                long seq = dispatchSeq;
+                Thread t = edt;
+                if (since == 0 || t == null || capturedSeq == seq || System.nanoTime() - since < threshold) continue;
+                String stack = formatStack(t.getStackTrace());
+                // Event sudah berganti selagi stack diambil: buang
+                if (dispatchSeq == seq && busySince == since) {
+                    capturedStack = stack;
+                    capturedSeq = seq;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String describe(AWTEvent event) {
+        String source = event.getSource() == null ? "?" : event.getSource().getClass().getSimpleName();
+        String params = event.paramString();
+        if (params.length() > 160) params = params.substring(0, 160) + "...";
+        return event.getClass().getSimpleName() + " dari " + source + " [" + params + "]";
+    }
+
+    private static String formatStack(StackTraceElement[] frames) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < frames.length && i < STACK_DEPTH; i++) {
+            sb.append("at ").append(frames[i]).append('\n');
+        }
+        if (frames.length > STACK_DEPTH) sb.append("... ").append(frames.length - STACK_DEPTH).append(" lagi\n");
+        return sb.toString();
+    }
+}
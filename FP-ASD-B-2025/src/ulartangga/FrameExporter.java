@@ -0,0 +1,488 @@
+package ulartangga;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+
+// ===========================
+// EKSPOR FRAME (HEADLESS)
+// ===========================
+
+/**
+ * Menggambar setiap frame animasi satu atau banyak permainan ke PNG tanpa layar,
+ * memakai kode gambar {@link BoardPanel} yang sama dengan game. Sumbernya jurnal
+ * {@link TurnJournal} (replay, juga jurnal game yang masih berjalan) atau seed
+ * (game dimainkan ulang persis seperti {@code -Dgame.seed}).
+ *
+ * Dua tahap paralel: pool render (satu tugas = satu giliran, frame-nya berurutan)
+ * dan pool penulis yang meng-encode PNG. Image frame diambil dari pool tetap yang
+ * sekaligus menjadi backpressure: render menunggu jika penulis tertinggal, jadi
+ * memori tidak tumbuh. Lapisan statis papan dibuat sekali per sorotan jalur per
+ * game, setiap frame cukup menempelnya lalu menggambar token; {@link PngEncoder}
+ * juga memakai ulang hasil kompresi lapisan itu untuk pita baris tanpa token.
+ *
+ * Frame mengikuti waktu animasi di game (CELL_MILLIS per petak, JUMP_MILLIS untuk
+ * tangga/ular) pada fps tetap. Animasi dadu tidak ikut: dadu bukan bagian papan.
+ * Mode "strip" hanya menggambar frame akhir tiap giliran sebagai thumbnail dalam
+ * satu gambar per game.
+ */
+public class FrameExporter {
+
+    public static final int DEFAULT_FPS = 30;
+    public static final int DEFAULT_WIDTH = 960;
+    public static final int DEFAULT_HEIGHT = 820;
+    public static final int DEFAULT_THUMB_WIDTH = 192;
+    public static final int DEFAULT_COLUMNS = 10;
+
+    // Deflate tercepat: background foto hampir tidak mengecil di level lebih tinggi
+    private static final int PNG_LEVEL = Deflater.BEST_SPEED;
+    private static final Color[] BOT_COLORS = {Color.BLUE, Color.PINK, Color.RED, new Color(50, 205, 50)};
+
+    public enum Mode { PNG, STRIP }
+
+    private final Path outDir;
+    private final Mode mode;
+    private final int fps;
+    private final int width;
+    private final int height;
+    private int thumbWidth;
+    private int thumbHeight;
+    private int columns;
+
+    private final ExecutorService renderers;
+    private final ExecutorService writers;
+    private final BlockingQueue<BufferedImage> freeFrames;
+    private final ThreadLocal<BufferedImage> scratch;
+    private final ThreadLocal<PngEncoder> encoders = ThreadLocal.withInitial(() -> new PngEncoder(PNG_LEVEL));
+    // Game yang sedang dikerjakan: timeline game berikutnya baru dibuat jika ada slot
+    private final Semaphore gameSlots;
+
+    // Metrik
+    private final AtomicInteger games = new AtomicInteger();
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong bandsReused = new AtomicLong();
+    private final AtomicLong bandsEncoded = new AtomicLong();
+    private final LatencyHistogram renderTime = new LatencyHistogram();
+    private final LatencyHistogram writeTime = new LatencyHistogram();
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+
+    public FrameExporter(Path outDir, Mode mode, int fps, int width, int height,
+                         int renderThreads, int writerThreads) {
+        if (fps < 1 || width < 1 || height < 1) throw new IllegalArgumentException("fps dan ukuran harus positif");
+        this.outDir = outDir;
+        this.mode = mode;
+        this.fps = fps;
+        this.width = width;
+        this.height = height;
+        setThumbnails(DEFAULT_THUMB_WIDTH, DEFAULT_COLUMNS);
+
+        this.renderers = Executors.newFixedThreadPool(renderThreads, daemonThreads("export-render"));
+        this.writers = Executors.newFixedThreadPool(writerThreads, daemonThreads("export-writer"));
+        int pooled = 2 * (renderThreads + writerThreads);
+        this.freeFrames = new ArrayBlockingQueue<>(pooled);
+        if (mode == Mode.PNG) {
+            for (int i = 0; i < pooled; i++) freeFrames.add(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+        }
+        this.scratch = ThreadLocal.withInitial(() -> new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+        this.gameSlots = new Semaphore(2 * renderThreads);
+    }
+
+    /** Ukuran thumbnail mode strip (tinggi mengikuti rasio frame); set sebelum game pertama. */
+    public void setThumbnails(int thumbWidth, int columns) {
+        this.thumbWidth = Math.max(1, Math.min(width, thumbWidth));
+        this.thumbHeight = Math.max(1, height * this.thumbWidth / width);
+        this.columns = Math.max(1, columns);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // ===========================
+    // SUMBER GAME
+    // ===========================
+
+    /** Replay satu jurnal; state dibaca sekali lalu file ditutup sebelum render. */
+    public void submitJournal(Path file) throws IOException, InterruptedException {
+        String name = file.getFileName().toString().replaceFirst("\\.ultj$", "");
+        gameSlots.acquire();
+        Game game;
+        try (TurnJournal journal = TurnJournal.open(file, false)) {
+            List<Player> players = new ArrayList<>();
+            for (int i = 0; i < journal.getPlayerCount(); i++) players.add(journal.getPlayers().get(i).toPlayer(i));
+            GameBoard board = TurnJournal.boardFromSeed(journal.getSeed());
+            game = new Game(name, board, players);
+
+            int n = players.size();
+            int[] pos = new int[n];
+            Arrays.fill(pos, 1);
+            for (int k = 0; k < journal.size(); k++) {
+                TurnJournal.Record r = journal.get(k);
+                int seat = r.getSeat();
+                int[] before = pos.clone();
+                pos[seat] = r.getEnd();
+                // Sorotan seperti ReplayViewer: giliran berikutnya dari petak prima
+                BitSet path = new BitSet();
+                if (!r.isWon()) {
+                    int next = r.isExtraTurn() ? seat : (seat + 1) % n;
+                    if (board.getCompiled().rules().highlights(pos[next])) GameSession.markShortestPath(board, pos[next], path);
+                }
+                game.add(seat, r.getStart(), r.getMoved(), r.getEnd(), before, path);
+            }
+        } catch (IOException | RuntimeException e) {
+            gameSlots.release();
+            throw e;
+        }
+        submit(game);
+    }
+
+    /**
+     * Game yang dimainkan dari seed dengan aliran yang sama seperti
+     * SnakeLadderGame.startGame (papan = split pertama, dadu = split kedua).
+     */
+    public void submitSeed(long seed, int playerCount) throws IOException, InterruptedException {
+        gameSlots.acquire();
+        RandomSource rng = RandomSource.seeded(seed);
+        GameBoard board = new GameBoard(BoardDefinition.standard().instantiate(rng.split()));
+        RandomSource dice = rng.split();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new Player(i, "Pemain " + (i + 1), BOT_COLORS[i % BOT_COLORS.length], "Bot", null));
+        }
+        Game game = new Game("seed-" + seed, board, players);
+
+        GameSession session = new GameSession(board, players);
+        int[] pos = new int[playerCount];
+        Arrays.fill(pos, 1);
+        while (!session.isFinished() && session.getTurnCount() < GameSimulator.MAX_TURNS) {
+            int[] before = pos.clone();
+            TurnResult t = session.rollTurn(dice);
+            pos[t.getSeat()] = t.getEnd();
+            game.add(t.getSeat(), t.getStart(), t.getMoved(), t.getEnd(), before, (BitSet) session.getShortestPath().clone());
+        }
+        submit(game);
+    }
+
+    private void submit(Game game) throws IOException {
+        try {
+            if (mode == Mode.PNG) Files.createDirectories(outDir.resolve(game.name));
+            else Files.createDirectories(outDir);
+        } catch (IOException e) {
+            gameSlots.release();
+            throw e;
+        }
+        if (mode == Mode.STRIP) game.thumbs = new BufferedImage[game.clips.size()];
+        game.remaining.set(game.clips.size());
+        games.incrementAndGet();
+        for (Clip clip : game.clips) renderers.execute(() -> renderClip(game, clip));
+    }
+
+    /** Tunggu semua frame ditulis; melempar error tulis pertama jika ada. */
+    public void finish() throws Exception {
+        renderers.shutdown();
+        renderers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        writers.shutdown();
+        writers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        Exception e = failure.get();
+        if (e != null) throw e;
+    }
+
+    // ===========================
+    // TAHAP RENDER
+    // ===========================
+
+    private void renderClip(Game game, Clip clip) {
+        try {
+            Layer layer = game.layers.computeIfAbsent(clip.path, p -> new Layer(game.panel.renderBoardLayer(width, height, p)));
+            int n = game.players.size();
+            Point2D[] points = new Point2D[n];
+            for (int i = 0; i < n; i++) points[i] = game.panel.cellPoint(clip.before[i]);
+
+            int count = clip.frameCount(fps);
+            for (int f = 0; f < count; f++) {
+                boolean last = f == count - 1;
+                if (mode == Mode.STRIP && !last) continue;
+                if (clip.seat >= 0) points[clip.seat] = clip.tokenAt(game.panel, (f + 1) * 1000.0 / fps);
+
+                BufferedImage frame = mode == Mode.PNG ? freeFrames.take() : scratch.get();
+                long start = System.nanoTime();
+                Graphics2D g2 = frame.createGraphics();
+                g2.drawImage(layer.image, 0, 0, null);
+                game.panel.renderTokens(g2, game.players, points);
+                g2.dispose();
+                renderTime.record(System.nanoTime() - start);
+                frames.incrementAndGet();
+
+                if (mode == Mode.PNG) {
+                    Path file = outDir.resolve(game.name).resolve(String.format(Locale.ROOT, "frame-%06d.png", clip.firstFrame + f));
+                    writers.execute(() -> {
+                        write(frame, layer, file);
+                        freeFrames.add(frame);
+                    });
+                } else {
+                    game.thumbs[clip.index] = thumbnail(frame);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            if (game.remaining.decrementAndGet() == 0) gameDone(game);
+        }
+    }
+
+    private BufferedImage thumbnail(BufferedImage frame) {
+        BufferedImage thumb = new BufferedImage(thumbWidth, thumbHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = thumb.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g2.drawImage(frame, 0, 0, thumbWidth, thumbHeight, null);
+        g2.dispose();
+        return thumb;
+    }
+
+    // Giliran terakhir game ini selesai dirender (urutan selesai antar tugas bebas)
+    private void gameDone(Game game) {
+        game.layers.clear();
+        if (mode == Mode.STRIP) {
+            BufferedImage strip = composeStrip(game.thumbs);
+            Path file = outDir.resolve(game.name + ".png");
+            writers.execute(() -> write(strip, null, file));
+        }
+        gameSlots.release();
+    }
+
+    private BufferedImage composeStrip(BufferedImage[] thumbs) {
+        int cols = Math.min(columns, thumbs.length);
+        int rows = (thumbs.length + cols - 1) / cols;
+        BufferedImage strip = new BufferedImage(cols * thumbWidth, rows * thumbHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2 = strip.createGraphics();
+        g2.setColor(Color.WHITE);
+        g2.fillRect(0, 0, strip.getWidth(), strip.getHeight());
+        for (int i = 0; i < thumbs.length; i++) {
+            if (thumbs[i] != null) g2.drawImage(thumbs[i], (i % cols) * thumbWidth, (i / cols) * thumbHeight, null);
+        }
+        g2.dispose();
+        return strip;
+    }
+
+    // ===========================
+    // TAHAP TULIS
+    // ===========================
+
+    // layer = lapisan yang ditempel di frame ini (null untuk strip)
+    private void write(BufferedImage image, Layer layer, Path file) {
+        long start = System.nanoTime();
+        PngEncoder encoder = encoders.get();
+        long reused = encoder.getBandsReused(), encoded = encoder.getBandsEncoded();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 16)) {
+            encoder.write(image, layer == null ? null : layer.bands(encoder), out);
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, new IOException("Gagal menulis " + file + ": " + e.getMessage(), e));
+            return;
+        }
+        writeTime.record(System.nanoTime() - start);
+        bandsReused.addAndGet(encoder.getBandsReused() - reused);
+        bandsEncoded.addAndGet(encoder.getBandsEncoded() - encoded);
+        files.incrementAndGet();
+        try {
+            bytes.addAndGet(Files.size(file));
+        } catch (IOException ignored) {
+            // Hanya untuk laporan
+        }
+    }
+
+    // ===========================
+    // METRIK
+    // ===========================
+
+    public int getGames() { return games.get(); }
+    public long getFrames() { return frames.get(); }
+    public long getFilesWritten() { return files.get(); }
+    public long getBytesWritten() { return bytes.get(); }
+
+    public String toReport() {
+        return "Game         : " + getGames() + " (" + getFrames() + " frame digambar, " + getFilesWritten()
+                + " file, " + String.format(Locale.ROOT, "%.1f MB", getBytesWritten() / 1e6) + ")\n"
+                + "Render       : " + renderTime.summary() + "\n"
+                + "Tulis PNG    : " + writeTime.summary() + " (pita dipakai ulang " + bandsReused.get()
+                + ", dikompres " + bandsEncoded.get() + ")\n";
+    }
+
+    // ===========================
+    // TIMELINE
+    // ===========================
+
+    private final class Game {
+        final String name;
+        final BoardPanel panel;
+        final List<Player> players;
+        final List<Clip> clips = new ArrayList<>();
+        // Lapisan statis per sorotan jalur (papan berbeda tiap game, jadi per game)
+        final Map<BitSet, Layer> layers = new ConcurrentHashMap<>();
+        final AtomicInteger remaining = new AtomicInteger();
+        BufferedImage[] thumbs;
+        int nextFrame;
+
+        Game(String name, GameBoard board, List<Player> players) {
+            this.name = name;
+            this.players = players;
+            // Panel hanya dipakai untuk koordinat dan kode gambar; state cache-nya tidak disentuh
+            this.panel = new BoardPanel(board, players, new BitSet());
+            int[] start = new int[players.size()];
+            Arrays.fill(start, 1);
+            add(-1, 1, 1, 1, start, new BitSet());
+        }
+
+        void add(int seat, int start, int moved, int end, int[] before, BitSet path) {
+            Clip clip = new Clip(clips.size(), nextFrame, seat, start, moved, end, before, path);
+            clips.add(clip);
+            nextFrame += clip.frameCount(fps);
+        }
+    }
+
+    /** Lapisan statis satu sorotan jalur + pitanya yang sudah dikompres (dibuat penulis pertama). */
+    private static final class Layer {
+        final BufferedImage image;
+        private PngEncoder.Bands bands;
+
+        Layer(BufferedImage image) {
+            this.image = image;
+        }
+
+        synchronized PngEncoder.Bands bands(PngEncoder encoder) {
+            if (bands == null) bands = encoder.bands(image);
+            return bands;
+        }
+    }
+
+    /** Satu giliran: token {@code seat} berjalan start -> moved lalu meluncur ke end. */
+    private static final class Clip {
+        final int index;
+        final int firstFrame;
+        final int seat;       // -1 = frame pembuka (semua token di petak 1)
+        final int start;
+        final int moved;
+        final int end;
+        final int[] before;
+        final BitSet path;
+
+        Clip(int index, int firstFrame, int seat, int start, int moved, int end, int[] before, BitSet path) {
+            this.index = index;
+            this.firstFrame = firstFrame;
+            this.seat = seat;
+            this.start = start;
+            this.moved = moved;
+            this.end = end;
+            this.before = before;
+            this.path = path;
+        }
+
+        long walkMillis() { return Math.abs(moved - start) * SnakeLadderGame.CELL_MILLIS; }
+        long jumpMillis() { return end != moved ? SnakeLadderGame.JUMP_MILLIS : 0; }
+
+        int frameCount(int fps) {
+            return Math.max(1, (int) Math.ceil((walkMillis() + jumpMillis()) * fps / 1000.0));
+        }
+
+        // Sama dengan animateMove: jalan linear per petak, lalu ease in-out di tangga/ular
+        Point2D tokenAt(BoardPanel panel, double millis) {
+            long walk = walkMillis();
+            if (millis < walk) return panel.cellPoint(start + (moved - start) * (millis / walk));
+            long jump = jumpMillis();
+            if (jump == 0) return panel.cellPoint(moved);
+            double t = Math.min(1, (millis - walk) / jump);
+            double e = t * t * (3 - 2 * t);
+            Point2D a = panel.cellPoint(moved);
+            Point2D b = panel.cellPoint(end);
+            return new Point2D.Double(a.getX() + (b.getX() - a.getX()) * e, a.getY() + (b.getY() - a.getY()) * e);
+        }
+    }
+
+    // ===========================
+    // MAIN
+    // ===========================
+
+    // Pemakaian: java FrameExporter <file.ultj | folder | seed:N>... <folderKeluar>
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.out.println("Pemakaian: java ulartangga.FrameExporter <file.ultj | folder | seed:N>... <folderKeluar>");
+            System.out.println("  -Dexport.mode=png|strip -Dexport.fps=30 -Dexport.width=960 -Dexport.height=820");
+            System.out.println("  -Dexport.threads=N -Dexport.writers=N -Dexport.players=4 (seed) -Dexport.thumbWidth -Dexport.columns");
+            return;
+        }
+        // Tanpa layar: harus diset sebelum AWT dimuat
+        if (System.getProperty("java.awt.headless") == null) System.setProperty("java.awt.headless", "true");
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        Mode mode = "strip".equalsIgnoreCase(System.getProperty("export.mode")) ? Mode.STRIP : Mode.PNG;
+        Path out = Paths.get(args[args.length - 1]);
+        FrameExporter exporter = new FrameExporter(out, mode,
+                Integer.getInteger("export.fps", DEFAULT_FPS),
+                Integer.getInteger("export.width", DEFAULT_WIDTH),
+                Integer.getInteger("export.height", DEFAULT_HEIGHT),
+                Integer.getInteger("export.threads", cores),
+                Integer.getInteger("export.writers", cores));
+        exporter.setThumbnails(Integer.getInteger("export.thumbWidth", DEFAULT_THUMB_WIDTH),
+                Integer.getInteger("export.columns", DEFAULT_COLUMNS));
+        int players = Integer.getInteger("export.players", 4);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < args.length - 1; i++) {
+            String src = args[i];
+            if (src.startsWith("seed:")) {
+                exporter.submitSeed(Long.parseLong(src.substring(5)), players);
+                continue;
+            }
+            Path path = Paths.get(src);
+            if (Files.isDirectory(path)) {
+                try (DirectoryStream<Path> journals = Files.newDirectoryStream(path, "*.ultj")) {
+                    for (Path file : journals) exporter.submitJournal(file);
+                }
+            } else {
+                exporter.submitJournal(path);
+            }
+        }
+        exporter.finish();
+        double secs = (System.nanoTime() - start) / 1e9;
+
+        System.out.println("Ekspor " + mode.name().toLowerCase(Locale.ROOT) + " ke " + out + ": "
+                + exporter.width + "x" + exporter.height + " @ " + exporter.fps + " fps");
+        System.out.print(exporter.toReport());
+        System.out.printf(Locale.ROOT, "Durasi       : %.2f s (%.0f frame/detik)%n", secs, exporter.getFrames() / secs);
+    }
+}
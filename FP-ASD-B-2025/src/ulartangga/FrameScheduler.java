@@ -0,0 +1,182 @@
+package ulartangga;
+
+import javax.swing.Timer;
+import java.awt.DisplayMode;
+import java.awt.GraphicsEnvironment;
+import java.awt.HeadlessException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+// ===========================
+// PENJADWAL FRAME ANIMASI
+// ===========================
+
+/**
+ * Satu timer Swing untuk semua animasi di satu jendela, berdetak sesuai refresh
+ * rate layar. Setiap animasi diberi progres 0..1 menurut waktu yang sudah lewat
+ * (bukan jumlah tick), jadi tetap mulus walau ada frame yang terlambat. Setelah
+ * semua animasi di-update, listener frame (mis. repaint token) dipanggil sekali.
+ * Timer berhenti sendiri saat tidak ada animasi.
+ *
+ * Kecepatan: {@link Speed#TURBO} memperpendek durasi, {@link Speed#INSTANT}
+ * menyelesaikan animasi langsung saat dijadwalkan (main otomatis/demo pada
+ * kecepatan mesin). Dipakai hanya dari EDT.
+ */
+final class FrameScheduler {
+
+    // -Dgame.speed=normal|turbo|instan
+    public static final String SPEED_PROPERTY = "game.speed";
+
+    private static final int DEFAULT_REFRESH_HZ = 60;
+
+    public enum Speed {
+        NORMAL("Normal", 1),
+        TURBO("Turbo", 4),
+        INSTANT("Instan", 0);
+
+        private final String label;
+        private final int factor;
+
+        Speed(String label, int factor) {
+            this.label = label;
+            this.factor = factor;
+        }
+
+        public static Speed parse(String s) {
+            if (s == null) return NORMAL;
+            for (Speed sp : values()) {
+                if (sp.name().equalsIgnoreCase(s) || sp.label.equalsIgnoreCase(s)) return sp;
+            }
+            return NORMAL;
+        }
+
+        @Override
+        public String toString() { return label; }
+    }
+
+    private final Timer timer;
+    private final List<Animation> active = new ArrayList<>();
+    private final List<Runnable> nextFrame = new ArrayList<>();
+    private final List<Runnable> frameListeners = new ArrayList<>();
+    private Speed speed;
+    private long frames;
+    private long lastFrameNanos; // 0 = timer baru mulai, jarak belum dihitung
+
+    public FrameScheduler(int refreshHz, Speed speed) {
+        this.speed = speed;
+        this.timer = new Timer(Math.max(1, 1000 / Math.max(1, refreshHz)), e -> frame());
+        timer.setCoalesce(true);
+    }
+
+    public FrameScheduler() {
+        this(displayRefreshRate(), Speed.parse(System.getProperty(SPEED_PROPERTY)));
+    }
+
+    /** Refresh rate layar utama, atau 60 Hz jika tidak diketahui / headless. */
+    public static int displayRefreshRate() {
+        try {
+            if (GraphicsEnvironment.isHeadless()) return DEFAULT_REFRESH_HZ;
+            DisplayMode mode = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDisplayMode();
+            int hz = mode.getRefreshRate();
+            return hz == DisplayMode.REFRESH_RATE_UNKNOWN || hz <= 0 ? DEFAULT_REFRESH_HZ : hz;
+        } catch (HeadlessException e) {
+            return DEFAULT_REFRESH_HZ;
+        }
+    }
+
+    // ===========================
+    // API
+    // ===========================
+
+    /**
+     * Jalankan animasi {@code durationMillis} (pada kecepatan normal): {@code progress}
+     * menerima 0..1 tiap frame, lalu {@code onComplete} sekali setelah progres 1.
+     * Pada mode instan keduanya dipanggil langsung.
+     */
+    public void animate(long durationMillis, DoubleConsumer progress, Runnable onComplete) {
+        long nanos = speed.factor == 0 ? 0 : durationMillis * 1_000_000L / speed.factor;
+        if (nanos <= 0) {
+            progress.accept(1.0);
+            if (onComplete != null) onComplete.run();
+            return;
+        }
+        active.add(new Animation(System.nanoTime(), nanos, progress, onComplete));
+        ensureRunning();
+    }
+
+    /** Jalankan {@code task} di awal frame berikutnya. */
+    public void runNextFrame(Runnable task) {
+        nextFrame.add(task);
+        ensureRunning();
+    }
+
+    /** Dipanggil sekali per frame setelah animasi di-update (tempat repaint). */
+    public void addFrameListener(Runnable listener) {
+        frameListeners.add(listener);
+    }
+
+    /** Buang semua animasi dan tugas tertunda tanpa menjalankan onComplete. */
+    public void cancelAll() {
+        active.clear();
+        nextFrame.clear();
+        timer.stop();
+    }
+
+    public Speed getSpeed() { return speed; }
+    public void setSpeed(Speed speed) { this.speed = speed; }
+    public boolean isIdle() { return active.isEmpty() && nextFrame.isEmpty(); }
+    public long getFrameCount() { return frames; }
+
+    // ===========================
+    // FRAME
+    // ===========================
+
+    private void ensureRunning() {
+        if (timer.isRunning()) return;
+        lastFrameNanos = 0;
+        timer.start();
+    }
+
+    private void frame() {
+        frames++;
+        long tick = System.nanoTime();
+        if (lastFrameNanos != 0) GameMetrics.get().recordFrame(tick - lastFrameNanos);
+        lastFrameNanos = tick;
+        if (!nextFrame.isEmpty()) {
+            List<Runnable> tasks = new ArrayList<>(nextFrame);
+            nextFrame.clear();
+            for (Runnable r : tasks) r.run();
+        }
+
+        // Salinan: onComplete boleh menjadwalkan animasi baru (mulai frame berikutnya)
+        long now = System.nanoTime();
+        List<Animation> running = new ArrayList<>(active);
+        for (Animation a : running) {
+            double t = Math.min(1.0, (now - a.start) / (double) a.duration);
+            a.progress.accept(t);
+            if (t >= 1.0) {
+                active.remove(a);
+                if (a.onComplete != null) a.onComplete.run();
+            }
+        }
+
+        for (Runnable l : frameListeners) l.run();
+        if (isIdle()) timer.stop();
+    }
+
+    private static final class Animation {
+        final long start;
+        final long duration;
+        final DoubleConsumer progress;
+        final Runnable onComplete;
+
+        Animation(long start, long duration, DoubleConsumer progress, Runnable onComplete) {
+            this.start = start;
+            this.duration = duration;
+            this.progress = progress;
+            this.onComplete = onComplete;
+        }
+    }
+}
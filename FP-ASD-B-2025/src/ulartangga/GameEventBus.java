@@ -0,0 +1,141 @@
+package ulartangga;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+// ===========================
+// EVENT BUS GILIRAN
+// ===========================
+
+/**
+ * Bus event bertipe untuk alur giliran. Logika giliran hanya mempublikasikan apa
+ * yang terjadi; log, metrik, persistensi dan UI berlangganan tipe yang mereka
+ * perlukan. Setiap event membawa {@link TurnResult} giliran itu, jadi publish
+ * tidak mengalokasi apa pun: daftar pelanggan per tipe berupa array yang hanya
+ * disalin saat subscribe.
+ *
+ * UI sebaiknya berlangganan lewat {@link FrameBatch}: semua event dalam satu
+ * frame (mis. puluhan giliran di mode instan) dikumpulkan dan diterapkan dalam
+ * satu kali update. Dipakai hanya dari EDT.
+ */
+final class GameEventBus {
+
+    /** Urutan dalam satu giliran: ROLLED, MOVED, JUMPED/REVERTED, SCORED, lalu TURN_ENDED atau WON. */
+    enum Type {
+        ROLLED,      // giliran sudah diputuskan sesi (belum dianimasikan)
+        MOVED,       // token sampai di petak hasil dadu
+        JUMPED,      // token selesai naik tangga / turun ular
+        REVERTED,    // token turun kembali ke tangga terakhir
+        SCORED,      // skor pemain berubah
+        TURN_ENDED,  // giliran berikutnya boleh dikocok
+        WON;         // permainan selesai
+
+        final int bit = 1 << ordinal();
+    }
+
+    interface Listener {
+        void onEvent(Type type, TurnResult turn);
+    }
+
+    private static final Listener[] NONE = new Listener[0];
+    private static final Type[] TYPES = Type.values();
+
+    private final Listener[][] listeners = new Listener[TYPES.length][];
+
+    GameEventBus() {
+        Arrays.fill(listeners, NONE);
+    }
+
+    public void subscribe(Listener listener, Type... types) {
+        for (Type t : types) {
+            Listener[] old = listeners[t.ordinal()];
+            Listener[] grown = Arrays.copyOf(old, old.length + 1);
+            grown[old.length] = listener;
+            listeners[t.ordinal()] = grown;
+        }
+    }
+
+    public void subscribeAll(Listener listener) {
+        subscribe(listener, TYPES);
+    }
+
+    public void publish(Type type, TurnResult turn) {
+        for (Listener l : listeners[type.ordinal()]) l.onEvent(type, turn);
+    }
+
+    /** Publikasikan semua event pendaratan giliran yang sudah selesai dianimasikan. */
+    public void publishLanding(TurnResult turn) {
+        if (turn.isReverted()) publish(Type.REVERTED, turn);
+        else if (turn.isJump()) publish(Type.JUMPED, turn);
+        if (turn.getScoreDelta() != 0) publish(Type.SCORED, turn);
+        publish(turn.isWon() ? Type.WON : Type.TURN_ENDED, turn);
+    }
+
+    // ===========================
+    // PENGGABUNGAN PER FRAME
+    // ===========================
+
+    /**
+     * Pelanggan yang menunda semua event sampai awal frame berikutnya, lalu
+     * memanggil {@code pass} sekali. Di dalam pass: {@link #has} untuk tipe yang
+     * terjadi dan {@link #getPlayers} untuk pemain yang terlibat (tanpa duplikat).
+     * Buffer dipakai ulang antar frame.
+     */
+    static final class FrameBatch implements Listener {
+        private final FrameScheduler scheduler;
+        private final Consumer<FrameBatch> pass;
+        private final Runnable flushTask = this::flush;
+        private final List<Player> players = new ArrayList<>(4);
+        private int mask;
+        private int events;
+        private boolean scheduled;
+
+        FrameBatch(FrameScheduler scheduler, Consumer<FrameBatch> pass) {
+            this.scheduler = scheduler;
+            this.pass = pass;
+        }
+
+        @Override
+        public void onEvent(Type type, TurnResult turn) {
+            mask |= type.bit;
+            events++;
+            Player p = turn.getPlayer();
+            if (!players.contains(p)) players.add(p);
+            if (!scheduled) {
+                scheduled = true;
+                scheduler.runNextFrame(flushTask);
+            }
+        }
+
+        /** Terapkan sekarang tanpa menunggu frame (mis. sebelum dialog modal). */
+        public void flush() {
+            scheduled = false;
+            if (events == 0) return;
+            try {
+                pass.accept(this);
+            } finally {
+                clear();
+            }
+        }
+
+        private void clear() {
+            mask = 0;
+            events = 0;
+            players.clear();
+        }
+
+        /**
+         * Buang event yang belum diterapkan; panggil setelah {@link FrameScheduler#cancelAll()}
+         * (tugas frame-nya ikut terbuang) supaya batch berikutnya dijadwalkan ulang.
+         */
+        public void reset() {
+            clear();
+            scheduled = false;
+        }
+
+        public boolean has(Type type) { return (mask & type.bit) != 0; }
+        public List<Player> getPlayers() { return players; }
+    }
+}
@@ -0,0 +1,102 @@
+package ulartangga;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// ===========================
+// EVENT JFR PERMAINAN
+// ===========================
+
+/**
+ * Event Java Flight Recorder untuk setiap fase giliran dan frame. Saat tidak ada
+ * rekaman, event tidak aktif dan biayanya hampir nol (shouldCommit false).
+ *
+ * Rekam di mesin pemain:
+ * {@code java -XX:StartFlightRecording=filename=game.jfr,settings=profile -jar ...}
+ * lalu buka di JDK Mission Control, kategori "Ular Tangga".
+ */
+final class GameEvents {
+
+    private GameEvents() {}
+
+    private static final String CATEGORY = "Ular Tangga";
+
+    @Name("ulartangga.DiceRoll")
+    @Label("Kocok Dadu")
+    @Description("Dari tombol kocok ditekan sampai hasil dadu keluar (termasuk animasi)")
+    @Category({CATEGORY, "Giliran"})
+    @StackTrace(false)
+    static final class DiceRoll extends Event {
+        @Label("Pemain") String player;
+        @Label("Dadu") int dice;
+        @Label("Hijau (Maju)") boolean green;
+    }
+
+    @Name("ulartangga.ProcessMovement")
+    @Label("Proses Langkah")
+    @Description("Menjalankan giliran di sesi, rekaman, snapshot dan menjadwalkan animasi")
+    @Category({CATEGORY, "Giliran"})
+    @StackTrace(false)
+    static final class ProcessMovement extends Event {
+        @Label("Giliran") int turn;
+        @Label("Pemain") String player;
+        @Label("Dari") int start;
+        @Label("Ke") int end;
+    }
+
+    @Name("ulartangga.JumpResolution")
+    @Label("Tangga / Ular")
+    @Description("Pengecekan tangga, ular, atau turun ke tangga terakhir setelah dadu")
+    @Category({CATEGORY, "Giliran"})
+    @StackTrace(false)
+    static final class JumpResolution extends Event {
+        @Label("Petak") int cell;
+        @Label("Tujuan") int target;
+        @Label("Jenis") String kind;
+    }
+
+    @Name("ulartangga.ShortestPath")
+    @Label("Jalur Terpendek")
+    @Description("Menandai sorotan jalur terpendek dari petak prima")
+    @Category({CATEGORY, "Giliran"})
+    @StackTrace(false)
+    static final class ShortestPath extends Event {
+        @Label("Mulai") int start;
+        @Label("Panjang Jalur") int cells;
+    }
+
+    @Name("ulartangga.LeaderboardUpdate")
+    @Label("Update Klasemen")
+    @Category({CATEGORY, "UI"})
+    @StackTrace(false)
+    static final class LeaderboardUpdate extends Event {
+        @Label("Pemain") String player;
+        @Label("Peringkat Lama") int fromRank;
+        @Label("Peringkat Baru") int toRank;
+    }
+
+    @Name("ulartangga.BoardPaint")
+    @Label("Gambar Papan")
+    @Description("Satu BoardPanel.paintComponent")
+    @Category({CATEGORY, "UI"})
+    @StackTrace(false)
+    static final class BoardPaint extends Event {
+        @Label("Luas Clip (px)") int clipArea;
+        @Label("Token Digambar") int tokens;
+        @Label("Lapisan Statis Dibangun Ulang") boolean layerRebuilt;
+    }
+
+    @Name("ulartangga.EdtStall")
+    @Label("EDT Macet")
+    @Description("Satu event di event-dispatch thread berjalan lebih lama dari batas")
+    @Category({CATEGORY, "UI"})
+    @StackTrace(false)
+    static final class EdtStall extends Event {
+        @Label("Event AWT") String event;
+        @Label("Stack EDT Saat Macet") String stack;
+    }
+}
@@ -0,0 +1,251 @@
+package ulartangga;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+// ===========================
+// KLIEN UJI BEBAN MULTIPLAYER
+// ===========================
+
+/**
+ * Membuka ribuan koneksi bot ke {@link GameServer} dari satu thread selector. Bot
+ * ke-i masuk ruang {@code i / ukuranRuang}, lalu mengirim ROLL setiap kali frame
+ * START/TURN menunjuk kursinya, jadi semua ruang bermain terus-menerus secepat
+ * server dan jaringan mengizinkan.
+ *
+ * Yang diukur: round-trip ROLL sampai TURN-nya kembali, dan sebaran fan-out per
+ * giliran (selisih waktu terima pertama dan terakhir di satu ruang). Tanpa host,
+ * server dijalankan di proses yang sama pada port bebas (loopback).
+ */
+public class GameLoadClient {
+
+    private final Selector selector;
+    private final int roomSize;
+    private final Map<Integer, RoomStats> rooms = new HashMap<>();
+
+    private final LatencyHistogram roundTrip = new LatencyHistogram();
+    private final LatencyHistogram spread = new LatencyHistogram();
+    private int connected;
+    private int welcomed;
+    private long turns;
+    private long games;
+    private long errors;
+    private long leaves;
+    private long bytesIn;
+    private boolean rolling = true;
+
+    private GameLoadClient(int roomSize) throws IOException {
+        this.selector = Selector.open();
+        this.roomSize = roomSize;
+    }
+
+    // ===========================
+    // KONEKSI
+    // ===========================
+
+    private void connect(InetSocketAddress address, int clients) throws IOException {
+        for (int i = 0; i < clients; i++) {
+            SocketChannel ch = SocketChannel.open();
+            ch.configureBlocking(false);
+            ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Bot bot = new Bot(ch, i / roomSize, "bot-" + i);
+            boolean done = ch.connect(address);
+            bot.key = ch.register(selector, done ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, bot);
+            if (done) joined(bot);
+        }
+    }
+
+    private void joined(Bot bot) throws IOException {
+        connected++;
+        bot.key.interestOps(SelectionKey.OP_READ);
+        write(bot, GameProtocol.join(bot.room, bot.name));
+    }
+
+    // Frame klien hanya beberapa byte: soket yang penuh berarti server macet, bukan jalur normal
+    private static void write(Bot bot, ByteBuffer frame) throws IOException {
+        while (frame.hasRemaining()) {
+            if (bot.channel.write(frame) == 0) Thread.onSpinWait();
+        }
+    }
+
+    // ===========================
+    // EVENT LOOP
+    // ===========================
+
+    private void run(long nanos) throws IOException {
+        long deadline = System.nanoTime() + nanos;
+        long left;
+        while ((left = deadline - System.nanoTime()) > 0) {
+            selector.select(key -> {
+                Bot bot = (Bot) key.attachment();
+                try {
+                    if (key.isConnectable() && bot.channel.finishConnect()) joined(bot);
+                    if (key.isValid() && key.isReadable()) read(bot);
+                } catch (IOException e) {
+                    key.cancel();
+                    close(bot);
+                }
+            }, Math.max(1, left / 1_000_000L));
+        }
+        rolling = false;
+    }
+
+    private void read(Bot bot) throws IOException {
+        int n = bot.channel.read(bot.in);
+        if (n < 0) {
+            bot.key.cancel();
+            close(bot);
+            return;
+        }
+        bytesIn += n;
+        long now = System.nanoTime();
+        ByteBuffer in = bot.in.flip();
+        int len;
+        while ((len = GameProtocol.nextFrame(in)) > 0) {
+            int start = in.position();
+            handleFrame(bot, in, start, now);
+            in.position(start + len);
+        }
+        in.compact();
+    }
+
+    private void handleFrame(Bot bot, ByteBuffer in, int start, long now) throws IOException {
+        int p = start + GameProtocol.HEADER;
+        switch (GameProtocol.type(in)) {
+            case GameProtocol.WELCOME:
+                bot.seat = in.get(p + 4) & 0xFF;
+                welcomed++;
+                break;
+            case GameProtocol.START:
+                if (bot.seat == 0) games++;
+                if ((in.get(p + 5) & 0xFF) == bot.seat) roll(bot, now);
+                break;
+            case GameProtocol.TURN:
+                int turn = in.getInt(p);
+                int seat = in.get(p + 4) & 0xFF;
+                int next = in.get(p + 15) & 0xFF;
+                if (seat == bot.seat) {
+                    roundTrip.record(now - bot.rolledAt);
+                    turns++;
+                }
+                rooms.computeIfAbsent(bot.room, r -> new RoomStats()).received(turn, now, roomSize, spread);
+                if (next == bot.seat) roll(bot, now);
+                break;
+            case GameProtocol.ERROR:
+                errors++;
+                break;
+            case GameProtocol.LEAVE:
+                leaves++;
+                break;
+            default:
+                errors++;
+        }
+    }
+
+    private void roll(Bot bot, long now) throws IOException {
+        if (!rolling) return;
+        bot.rolledAt = now;
+        write(bot, GameProtocol.roll());
+    }
+
+    private void close(Bot bot) {
+        try {
+            bot.channel.close();
+        } catch (IOException ignored) {
+            // Koneksi sudah putus
+        }
+    }
+
+    private void shutdown() throws IOException {
+        for (SelectionKey key : selector.keys()) key.channel().close();
+        selector.close();
+    }
+
+    // ===========================
+    // STATE BOT & RUANG
+    // ===========================
+
+    private static final class Bot {
+        final SocketChannel channel;
+        final int room;
+        final String name;
+        final ByteBuffer in = ByteBuffer.allocate(1024);
+        SelectionKey key;
+        int seat = -1;
+        long rolledAt;
+
+        Bot(SocketChannel channel, int room, String name) {
+            this.channel = channel;
+            this.room = room;
+            this.name = name;
+        }
+    }
+
+    // Sebaran fan-out: waktu terima pertama sampai kursi terakhir di ruang menerima giliran yang sama
+    private static final class RoomStats {
+        int turn = -1;
+        int count;
+        long first;
+
+        void received(int t, long now, int roomSize, LatencyHistogram spread) {
+            if (t != turn) {
+                turn = t;
+                count = 0;
+                first = now;
+            }
+            if (++count == roomSize) spread.record(now - first);
+        }
+    }
+
+    // ===========================
+    // MAIN
+    // ===========================
+
+    // Pemakaian: java GameLoadClient [klien] [detik] [ukuranRuang] [host] [port]
+    public static void main(String[] args) throws IOException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int roomSize = args.length > 2 ? Integer.parseInt(args[2]) : GameServer.DEFAULT_ROOM_SIZE;
+        String host = args.length > 3 ? args[3] : null;
+        int port = args.length > 4 ? Integer.parseInt(args[4]) : GameServer.DEFAULT_PORT;
+
+        GameServer embedded = null;
+        if (host == null) {
+            embedded = new GameServer(new InetSocketAddress("127.0.0.1", 0), roomSize, System.nanoTime()).start();
+            host = "127.0.0.1";
+            port = embedded.getPort();
+        }
+
+        GameLoadClient client = new GameLoadClient(roomSize);
+        try {
+            long start = System.nanoTime();
+            client.connect(new InetSocketAddress(host, port), clients);
+            client.run(seconds * 1_000_000_000L);
+            double secs = (System.nanoTime() - start) / 1e9;
+
+            System.out.println("Uji beban: " + clients + " klien, " + roomSize + " kursi per ruang, "
+                    + host + ":" + port + (embedded != null ? " (server di proses ini)" : ""));
+            System.out.println("Terhubung    : " + client.connected + " (" + client.welcomed + " dapat kursi, "
+                    + client.errors + " error, " + client.leaves + " keluar)");
+            System.out.printf(Locale.ROOT, "Giliran      : %d dalam %.2f s (%.0f giliran/detik, %d game, %.1f MB diterima)%n",
+                    client.turns, secs, client.turns / secs, client.games, client.bytesIn / 1e6);
+            System.out.println("Round-trip   : " + client.roundTrip.summary());
+            System.out.println("Sebaran ruang: " + client.spread.summary());
+            if (embedded != null) {
+                System.out.println("--- server ---");
+                System.out.print(embedded.toReport());
+            }
+        } finally {
+            client.shutdown();
+            if (embedded != null) embedded.close();
+        }
+    }
+}
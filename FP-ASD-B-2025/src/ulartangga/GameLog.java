@@ -0,0 +1,170 @@
+package ulartangga;
+
+import javax.swing.*;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// ===========================
+// LOG PERMAINAN (RING BUFFER)
+// ===========================
+
+/**
+ * Model riwayat untuk JList dengan kapasitas tetap. Pesan lama otomatis dibuang
+ * dari tampilan, jadi memori tetap datar walau game berjalan berjam-jam.
+ *
+ * {@link #log(String)} boleh dipanggil dari thread mana pun. Pesan ditampung dulu
+ * dan semua pesan dalam satu frame (satu event EDT) dikirim ke tampilan sebagai
+ * satu batch: satu event interval, satu scroll ke bawah.
+ *
+ * Jika diberi file spill, seluruh riwayat ditulis append-only ke file itu oleh
+ * thread latar belakang (tidak pernah di EDT).
+ */
+class GameLog extends AbstractListModel<String> {
+
+    public static final int DEFAULT_CAPACITY = 500;
+
+    // -Dgame.log.file=riwayat.log untuk menyimpan seluruh riwayat ke file
+    public static final String SPILL_PROPERTY = "game.log.file";
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    // Ring buffer (hanya diakses di EDT)
+    private final String[] ring;
+    private int head;
+    private int size;
+
+    // Antrian pesan dari semua thread sampai flush berikutnya
+    private final Object pendingLock = new Object();
+    private List<String> pending = new ArrayList<>();
+    private boolean flushScheduled;
+
+    private final BufferedWriter spill;
+    private final ExecutorService spillExecutor;
+
+    private JList<String> view;
+
+    public GameLog(int capacity, Path spillFile) {
+        if (capacity <= 0) throw new IllegalArgumentException("Kapasitas log harus > 0");
+        this.ring = new String[capacity];
+
+        BufferedWriter writer = null;
+        if (spillFile != null) {
+            try {
+                writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                System.out.println("File log tidak bisa dibuka: " + spillFile);
+            }
+        }
+        this.spill = writer;
+        this.spillExecutor = writer == null ? null : Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "game-log-spill");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Log dengan kapasitas default; spill aktif jika properti game.log.file diisi. */
+    public static GameLog fromSystemProperties() {
+        String file = System.getProperty(SPILL_PROPERTY);
+        return new GameLog(DEFAULT_CAPACITY, file == null || file.isEmpty() ? null : Paths.get(file));
+    }
+
+    /** JList yang akan di-scroll ke pesan terakhir setelah tiap batch. */
+    public void attach(JList<String> list) {
+        this.view = list;
+        list.setModel(this);
+    }
+
+    public void log(String msg) {
+        synchronized (pendingLock) {
+            pending.add(msg);
+            if (flushScheduled) return;
+            flushScheduled = true;
+        }
+        SwingUtilities.invokeLater(this::flush);
+    }
+
+    /** Kosongkan tampilan (riwayat di file spill tetap utuh). */
+    public void clear() {
+        drainPending();
+        if (size == 0) return;
+        int last = size - 1;
+        Arrays.fill(ring, null);
+        head = 0;
+        size = 0;
+        fireIntervalRemoved(this, 0, last);
+    }
+
+    private void flush() {
+        List<String> batch = drainPending();
+        if (batch.isEmpty()) return;
+
+        int cap = ring.length;
+        int n = batch.size();
+        int start = Math.max(0, n - cap);  // batch lebih besar dari kapasitas: ambil ekornya
+        int incoming = n - start;
+        int dropped = Math.max(0, size + incoming - cap);
+
+        for (int i = start; i < n; i++) {
+            ring[(head + size) % cap] = "• " + batch.get(i);
+            if (size < cap) size++;
+            else head = (head + 1) % cap;
+        }
+
+        // Satu event hapus (yang terbuang) + satu event tambah untuk seluruh batch
+        if (dropped > 0) fireIntervalRemoved(this, 0, dropped - 1);
+        fireIntervalAdded(this, size - incoming, size - 1);
+
+        if (view != null) view.ensureIndexIsVisible(size - 1);
+    }
+
+    // Ambil semua pesan tertunda; file spill selalu menerima semuanya
+    private List<String> drainPending() {
+        List<String> batch;
+        synchronized (pendingLock) {
+            batch = pending;
+            pending = new ArrayList<>();
+            flushScheduled = false;
+        }
+        if (spill != null && !batch.isEmpty()) {
+            String stamp = LocalDateTime.now().format(TIME);
+            spillExecutor.execute(() -> writeSpill(stamp, batch));
+        }
+        return batch;
+    }
+
+    private void writeSpill(String stamp, List<String> batch) {
+        try {
+            for (String msg : batch) {
+                spill.write(stamp);
+                spill.write("  ");
+                spill.write(msg);
+                spill.newLine();
+            }
+            spill.flush();
+        } catch (IOException e) {
+            System.out.println("Gagal menulis file log: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int getSize() { return size; }
+
+    @Override
+    public String getElementAt(int index) { return ring[(head + index) % ring.length]; }
+
+    public int getCapacity() { return ring.length; }
+}
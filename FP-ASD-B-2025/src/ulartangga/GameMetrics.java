@@ -0,0 +1,127 @@
+package ulartangga;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ===========================
+// METRIK FRAME & GILIRAN (JMX)
+// ===========================
+
+/**
+ * Histogram waktu frame, waktu paint, latensi giliran, jumlah repaint per giliran
+ * dan catatan EDT macet untuk satu proses. Satu instance per JVM ({@link #get()}),
+ * didaftarkan ke platform MBeanServer saat pertama dipakai.
+ *
+ * Semua pencatatan lock-free (histogram atomik), jadi aman dipanggil dari EDT
+ * maupun thread watchdog tanpa menambah stutter.
+ */
+final class GameMetrics implements GameMetricsMBean {
+
+    public static final String OBJECT_NAME = "ulartangga:type=GameMetrics";
+
+    // -Dgame.edtStallMillis=N: batas satu event EDT dianggap macet
+    public static final String STALL_PROPERTY = "game.edtStallMillis";
+    private static final long DEFAULT_STALL_MILLIS = 50;
+
+    private final LatencyHistogram frameTime = new LatencyHistogram();
+    private final LatencyHistogram paintTime = new LatencyHistogram();
+    private final LatencyHistogram turnLatency = new LatencyHistogram();
+    private final AtomicLong turnRepaints = new AtomicLong();
+    private final AtomicLong stalls = new AtomicLong();
+    private volatile int lastTurnRepaints;
+    private volatile int maxTurnRepaints;
+    private volatile long stallThresholdNanos;
+    private volatile String lastStall = "-";
+
+    private static final class Holder {
+        static final GameMetrics INSTANCE = register(new GameMetrics());
+    }
+
+    GameMetrics() {
+        this.stallThresholdNanos = Long.getLong(STALL_PROPERTY, DEFAULT_STALL_MILLIS) * 1_000_000L;
+    }
+
+    public static GameMetrics get() { return Holder.INSTANCE; }
+
+    private static GameMetrics register(GameMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // Metrik tetap dicatat, hanya tidak terlihat lewat JMX
+            System.out.println("Metrik JMX tidak terdaftar: " + e.getMessage());
+        }
+        return metrics;
+    }
+
+    // ===========================
+    // PENCATATAN
+    // ===========================
+
+    public void recordFrame(long intervalNanos) { frameTime.record(intervalNanos); }
+
+    public void recordPaint(long nanos) { paintTime.record(nanos); }
+
+    public void recordTurn(long nanos, int repaints) {
+        turnLatency.record(nanos);
+        turnRepaints.addAndGet(repaints);
+        lastTurnRepaints = repaints;
+        if (repaints > maxTurnRepaints) maxTurnRepaints = repaints;
+    }
+
+    public void recordStall(long nanos, String description) {
+        stalls.incrementAndGet();
+        lastStall = LatencyHistogram.format(nanos) + " " + description;
+    }
+
+    public long getStallThresholdNanos() { return stallThresholdNanos; }
+
+    // ===========================
+    // ATRIBUT JMX
+    // ===========================
+
+    @Override public long getFrameCount() { return frameTime.getCount(); }
+    @Override public String getFrameTimeHistogram() { return frameTime.summary(); }
+    @Override public double getFrameTimeP99Millis() { return millis(frameTime.percentile(99)); }
+
+    @Override public long getPaintCount() { return paintTime.getCount(); }
+    @Override public String getPaintTimeHistogram() { return paintTime.summary(); }
+    @Override public double getPaintTimeP99Millis() { return millis(paintTime.percentile(99)); }
+
+    @Override public long getTurnCount() { return turnLatency.getCount(); }
+    @Override public String getTurnLatencyHistogram() { return turnLatency.summary(); }
+    @Override public double getTurnLatencyP99Millis() { return millis(turnLatency.percentile(99)); }
+    @Override public int getLastTurnRepaints() { return lastTurnRepaints; }
+    @Override public int getMaxTurnRepaints() { return maxTurnRepaints; }
+
+    @Override
+    public double getAverageRepaintsPerTurn() {
+        long turns = turnLatency.getCount();
+        return turns == 0 ? 0 : (double) turnRepaints.get() / turns;
+    }
+
+    @Override public long getEdtStallCount() { return stalls.get(); }
+    @Override public long getEdtStallThresholdMillis() { return stallThresholdNanos / 1_000_000L; }
+    @Override public String getLastEdtStall() { return lastStall; }
+
+    @Override
+    public void setEdtStallThresholdMillis(long millis) {
+        if (millis < 1) throw new IllegalArgumentException("Batas minimal 1 ms");
+        stallThresholdNanos = millis * 1_000_000L;
+    }
+
+    @Override
+    public void reset() {
+        frameTime.reset();
+        paintTime.reset();
+        turnLatency.reset();
+        turnRepaints.set(0);
+        stalls.set(0);
+        lastTurnRepaints = 0;
+        maxTurnRepaints = 0;
+        lastStall = "-";
+    }
+
+    private static double millis(long nanos) { return nanos / 1e6; }
+}
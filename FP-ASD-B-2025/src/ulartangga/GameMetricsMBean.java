@@ -0,0 +1,35 @@
+package ulartangga;
+
+/**
+ * Antarmuka JMX untuk {@link GameMetrics} (terbaca di JConsole / VisualVM di bawah
+ * {@code ulartangga:type=GameMetrics}). Waktu dalam milidetik; atribut
+ * *Histogram berisi ringkasan p50/p90/p99/max.
+ */
+public interface GameMetricsMBean {
+
+    // Frame animasi: jarak antar frame penjadwal (stutter = jarak panjang)
+    long getFrameCount();
+    String getFrameTimeHistogram();
+    double getFrameTimeP99Millis();
+
+    // Gambar papan (BoardPanel.paintComponent)
+    long getPaintCount();
+    String getPaintTimeHistogram();
+    double getPaintTimeP99Millis();
+
+    // Giliran: dari tombol kocok sampai pemain berikutnya siap
+    long getTurnCount();
+    String getTurnLatencyHistogram();
+    double getTurnLatencyP99Millis();
+    int getLastTurnRepaints();
+    int getMaxTurnRepaints();
+    double getAverageRepaintsPerTurn();
+
+    // Detektor EDT macet
+    long getEdtStallCount();
+    long getEdtStallThresholdMillis();
+    void setEdtStallThresholdMillis(long millis);
+    String getLastEdtStall();
+
+    void reset();
+}
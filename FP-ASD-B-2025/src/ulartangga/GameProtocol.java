@@ -0,0 +1,144 @@
+package ulartangga;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// ===========================
+// PROTOKOL BINER MULTIPLAYER
+// ===========================
+
+/**
+ * Format pesan antara {@link GameServer} dan klien. Setiap frame (big-endian):
+ * panjang u16 (tipe + payload), tipe u8, lalu payload.
+ *
+ * Klien ke server:
+ * <pre>
+ *   JOIN    ruang i32, panjang nama u8, nama UTF-8
+ *   ROLL    (kosong) - satu-satunya aksi permainan
+ * </pre>
+ * Server ke klien:
+ * <pre>
+ *   WELCOME ruang i32, kursi u8, ukuran ruang u8, jumlah petak u16
+ *   START   nomor game i32, jumlah pemain u8, kursi pertama u8
+ *   TURN    giliran i32, kursi u8, langkah i8 (+hijau/-merah), dari u16, mendarat u16,
+ *           akhir u16, lompatan u8, skor i16, kursi berikutnya u8, flag u8   (17 byte)
+ *   ERROR   kode u8
+ *   LEAVE   kursi u8 (game di ruang itu dibatalkan sampai kursi terisi lagi)
+ * </pre>
+ */
+final class GameProtocol {
+
+    private GameProtocol() {}
+
+    public static final int HEADER = 3;
+    public static final int MAX_FRAME = 64;
+    public static final int MAX_NAME = 32;
+
+    // Klien -> server
+    public static final byte JOIN = 1;
+    public static final byte ROLL = 2;
+
+    // Server -> klien
+    public static final byte WELCOME = (byte) 0x81;
+    public static final byte START = (byte) 0x82;
+    public static final byte TURN = (byte) 0x83;
+    public static final byte ERROR = (byte) 0x84;
+    public static final byte LEAVE = (byte) 0x85;
+
+    // Lompatan di TURN
+    public static final int JUMP_NONE = 0;
+    public static final int JUMP_LADDER = 1;
+    public static final int JUMP_SNAKE = 2;
+    public static final int JUMP_REVERT = 3;
+
+    // Flag di TURN
+    public static final int FLAG_EXTRA_TURN = 1;
+    public static final int FLAG_WON = 2;
+
+    // Kursi berikutnya saat game selesai
+    public static final int NO_SEAT = 0xFF;
+
+    // Kode ERROR
+    public static final int ERR_BAD_MESSAGE = 1;
+    public static final int ERR_NOT_JOINED = 2;
+    public static final int ERR_ROOM_FULL = 3;
+    public static final int ERR_NOT_STARTED = 4;
+    public static final int ERR_NOT_YOUR_TURN = 5;
+
+    public static final int TURN_PAYLOAD = 17;
+
+    private static final ByteBuffer ROLL_FRAME = frame(ROLL, 0).flip().asReadOnlyBuffer();
+
+    // ===========================
+    // ENCODE
+    // ===========================
+
+    private static ByteBuffer frame(byte type, int payload) {
+        ByteBuffer buf = ByteBuffer.allocate(HEADER + payload);
+        buf.putShort((short) (1 + payload)).put(type);
+        return buf;
+    }
+
+    public static ByteBuffer join(int room, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int len = Math.min(bytes.length, MAX_NAME);
+        return frame(JOIN, 5 + len).putInt(room).put((byte) len).put(bytes, 0, len).flip();
+    }
+
+    /** Frame ROLL bersama (read-only); setiap pemakai mendapat duplikat posisinya sendiri. */
+    public static ByteBuffer roll() {
+        return ROLL_FRAME.duplicate();
+    }
+
+    public static ByteBuffer welcome(int room, int seat, int roomSize, int cells) {
+        return frame(WELCOME, 8).putInt(room).put((byte) seat).put((byte) roomSize).putShort((short) cells).flip();
+    }
+
+    public static ByteBuffer start(int game, int players, int firstSeat) {
+        return frame(START, 6).putInt(game).put((byte) players).put((byte) firstSeat).flip();
+    }
+
+    public static ByteBuffer turn(TurnResult t, int nextSeat) {
+        int jump = t.isReverted() ? JUMP_REVERT : t.isLadder() ? JUMP_LADDER : t.isSnake() ? JUMP_SNAKE : JUMP_NONE;
+        int flags = (t.isExtraTurn() ? FLAG_EXTRA_TURN : 0) | (t.isWon() ? FLAG_WON : 0);
+        return frame(TURN, TURN_PAYLOAD)
+                .putInt(t.getTurn()).put((byte) t.getSeat()).put((byte) t.getSteps())
+                .putShort((short) t.getStart()).putShort((short) t.getMoved()).putShort((short) t.getEnd())
+                .put((byte) jump).putShort((short) t.getScoreDelta())
+                .put((byte) nextSeat).put((byte) flags)
+                .flip();
+    }
+
+    public static ByteBuffer error(int code) {
+        return frame(ERROR, 1).put((byte) code).flip();
+    }
+
+    public static ByteBuffer leave(int seat) {
+        return frame(LEAVE, 1).put((byte) seat).flip();
+    }
+
+    // ===========================
+    // DECODE
+    // ===========================
+
+    /**
+     * Panjang frame lengkap berikutnya di {@code in} (header + isi), 0 jika belum
+     * lengkap, atau -1 jika panjangnya tidak valid (putuskan koneksi).
+     */
+    public static int nextFrame(ByteBuffer in) {
+        if (in.remaining() < 2) return 0;
+        int len = in.getShort(in.position()) & 0xFFFF;
+        if (len < 1 || len + 2 > MAX_FRAME) return -1;
+        return in.remaining() >= len + 2 ? len + 2 : 0;
+    }
+
+    public static byte type(ByteBuffer in) {
+        return in.get(in.position() + 2);
+    }
+
+    public static String readName(ByteBuffer in, int offset, int len) {
+        byte[] bytes = new byte[len];
+        in.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,48 @@
+package ulartangga;
+
+// ===========================
+// ATURAN GILIRAN (DIPAKAI UI & SIMULASI)
+// ===========================
+
+/**
+ * Aturan dasar satu giliran yang dipakai bersama oleh {@link SnakeLadderGame}
+ * dan mesin simulasi headless, supaya keduanya tidak bisa berbeda.
+ */
+final class GameRules {
+
+    public static final int FINISH = 100;
+    public static final int DICE_FACES = 6;
+
+    // 70% Kemungkinan Hijau (Maju), 30% Merah (Mundur)
+    public static final double GREEN_CHANCE = 0.7;
+
+    public static final int BONUS_MULTIPLE = 10;
+
+    private GameRules() {}
+
+    /**
+     * Posisi tujuan sebelum cek tangga/ular.
+     * Batas bawah 1; langkah yang melewati 100 membuat pemain tetap di tempat
+     * (pantulan 200 - target di processMovement selalu ditimpa aturan ini).
+     */
+    public static int moveTarget(int startPos, int steps) {
+        return moveTarget(startPos, steps, FINISH);
+    }
+
+    // Versi untuk papan dengan petak terakhir selain 100
+    public static int moveTarget(int startPos, int steps, int finish) {
+        int targetPos = startPos + steps;
+        if (targetPos < 1) targetPos = 1;
+        if (targetPos > finish) targetPos = startPos;
+        return targetPos;
+    }
+
+    // Bonus giliran untuk petak kelipatan 10 (kecuali petak finish)
+    public static boolean isBonusCell(int pos) {
+        return isBonusCell(pos, FINISH);
+    }
+
+    public static boolean isBonusCell(int pos, int finish) {
+        return pos % BONUS_MULTIPLE == 0 && pos != finish;
+    }
+}
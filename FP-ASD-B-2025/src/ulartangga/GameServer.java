@@ -0,0 +1,429 @@
+package ulartangga;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ===========================
+// SERVER MULTIPLAYER (NIO)
+// ===========================
+
+/**
+ * Server TCP non-blocking untuk banyak ruang permainan sekaligus, dengan
+ * {@link GameProtocol} sebagai format pesannya.
+ *
+ * Satu thread "game-server" menjalankan selector: accept, baca, giliran dan
+ * fan-out semuanya di thread itu, jadi state ruang tidak perlu lock. Klien hanya
+ * bisa mengirim JOIN dan ROLL; dadu dikocok server, lalu satu frame TURN (20 byte)
+ * dikirim ke semua kursi di ruang itu. Frame dienkode sekali dan setiap koneksi
+ * menulis duplikatnya; sisa yang belum terkirim diantrikan dan ditulis saat
+ * soket siap lagi (OP_WRITE). Klien yang antriannya penuh diputus.
+ *
+ * Ruang dibuat saat JOIN pertama, game dimulai saat semua kursi terisi dan
+ * langsung diulang setelah ada pemenang.
+ */
+public class GameServer implements AutoCloseable {
+
+    public static final int DEFAULT_PORT = 7420;
+    public static final int DEFAULT_ROOM_SIZE = 4;
+
+    private static final int BACKLOG = 4096;
+    private static final int READ_BUFFER = 512;
+    // Batas frame tertunda per koneksi sebelum klien dianggap terlalu lambat
+    private static final int MAX_QUEUED = 256;
+
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Thread loop;
+    private final int roomSize;
+    private final RandomSource seeds;
+    private volatile boolean running = true;
+
+    // Hanya disentuh thread selector
+    private final Map<Integer, Room> rooms = new HashMap<>();
+    private final List<Connection> closing = new ArrayList<>();
+
+    // Metrik (dibaca thread lain)
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong connected = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong turns = new AtomicLong();
+    private final AtomicLong games = new AtomicLong();
+    private final AtomicLong framesOut = new AtomicLong();
+    private final LatencyHistogram fanout = new LatencyHistogram();
+    private volatile int activeRooms;
+
+    public GameServer(InetSocketAddress address, int roomSize, long seed) throws IOException {
+        // Kursi dikirim sebagai u8 dan 0xFF berarti "tidak ada"
+        if (roomSize < 1 || roomSize >= GameProtocol.NO_SEAT) {
+            throw new IllegalArgumentException("Ukuran ruang tidak valid: " + roomSize);
+        }
+        this.roomSize = roomSize;
+        this.seeds = RandomSource.seeded(seed);
+        this.selector = Selector.open();
+        this.server = ServerSocketChannel.open();
+        try {
+            server.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            server.bind(address, BACKLOG);
+            server.configureBlocking(false);
+            server.register(selector, SelectionKey.OP_ACCEPT);
+        } catch (IOException e) {
+            server.close();
+            selector.close();
+            throw e;
+        }
+        this.loop = new Thread(this::run, "game-server");
+        loop.setDaemon(true);
+    }
+
+    /** Server di port {@code port} (0 = port bebas) pada semua alamat. */
+    public GameServer(int port) throws IOException {
+        this(new InetSocketAddress(port), DEFAULT_ROOM_SIZE, System.nanoTime());
+    }
+
+    public GameServer start() {
+        loop.start();
+        return this;
+    }
+
+    public int getPort() { return server.socket().getLocalPort(); }
+    public int getRoomSize() { return roomSize; }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(2000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            for (SelectionKey key : selector.keys()) key.channel().close();
+            selector.close();
+        } catch (IOException e) {
+            System.out.println("Gagal menutup server: " + e.getMessage());
+        }
+    }
+
+    // ===========================
+    // EVENT LOOP
+    // ===========================
+
+    private void run() {
+        try {
+            while (running) {
+                selector.select(this::handle);
+                closePending();
+            }
+        } catch (IOException e) {
+            System.out.println("Event loop server berhenti: " + e.getMessage());
+        }
+    }
+
+    private void handle(SelectionKey key) {
+        if (!key.isValid()) return;
+        if (key.isAcceptable()) {
+            acceptAll();
+            return;
+        }
+        Connection c = (Connection) key.attachment();
+        try {
+            if (key.isReadable()) read(c);
+            if (key.isValid() && key.isWritable()) flush(c);
+        } catch (IOException e) {
+            markClosed(c);
+        }
+    }
+
+    // Kosongkan backlog sekaligus: ribuan klien bisa datang dalam satu ledakan
+    private void acceptAll() {
+        try {
+            SocketChannel ch;
+            while ((ch = server.accept()) != null) {
+                ch.configureBlocking(false);
+                ch.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                Connection c = new Connection(ch);
+                c.key = ch.register(selector, SelectionKey.OP_READ, c);
+                accepted.incrementAndGet();
+                connected.incrementAndGet();
+            }
+        } catch (IOException e) {
+            // Kehabisan file descriptor dsb.: coba lagi di putaran berikutnya
+            System.out.println("Accept gagal: " + e.getMessage());
+        }
+    }
+
+    private void read(Connection c) throws IOException {
+        if (c.channel.read(c.in) < 0) {
+            markClosed(c);
+            return;
+        }
+        ByteBuffer in = c.in.flip();
+        int len;
+        while (!c.closed && (len = GameProtocol.nextFrame(in)) > 0) {
+            int start = in.position();
+            handleFrame(c, in, start, len);
+            in.position(start + len);
+        }
+        if (GameProtocol.nextFrame(in) < 0) markClosed(c);
+        in.compact();
+    }
+
+    private void handleFrame(Connection c, ByteBuffer in, int start, int len) {
+        switch (GameProtocol.type(in)) {
+            case GameProtocol.JOIN:
+                int nameLen = len >= GameProtocol.HEADER + 5 ? in.get(start + GameProtocol.HEADER + 4) & 0xFF : -1;
+                if (c.room != null || nameLen < 0 || nameLen > GameProtocol.MAX_NAME
+                        || len != GameProtocol.HEADER + 5 + nameLen) {
+                    send(c, GameProtocol.error(GameProtocol.ERR_BAD_MESSAGE));
+                    return;
+                }
+                join(c, in.getInt(start + GameProtocol.HEADER),
+                        GameProtocol.readName(in, start + GameProtocol.HEADER + 5, nameLen));
+                break;
+            case GameProtocol.ROLL:
+                roll(c, System.nanoTime());
+                break;
+            default:
+                send(c, GameProtocol.error(GameProtocol.ERR_BAD_MESSAGE));
+        }
+    }
+
+    // ===========================
+    // RUANG & GILIRAN
+    // ===========================
+
+    private void join(Connection c, int roomId, String name) {
+        Room room = rooms.get(roomId);
+        if (room == null) {
+            room = new Room(roomId, roomSize, seeds.split());
+            rooms.put(roomId, room);
+            activeRooms = rooms.size();
+        }
+        int seat = room.freeSeat();
+        if (seat < 0) {
+            send(c, GameProtocol.error(GameProtocol.ERR_ROOM_FULL));
+            return;
+        }
+        room.seats[seat] = c;
+        room.names[seat] = name.isBlank() ? "Pemain " + (seat + 1) : name;
+        room.occupied++;
+        c.room = room;
+        c.seat = seat;
+        send(c, GameProtocol.welcome(roomId, seat, roomSize, BoardDefinition.standard().getSize()));
+        if (room.occupied == roomSize) startGame(room);
+    }
+
+    private void startGame(Room room) {
+        List<Player> players = new ArrayList<>(roomSize);
+        for (int i = 0; i < roomSize; i++) {
+            players.add(new Player(i, room.names[i], Color.GRAY, "Online", null));
+        }
+        // Papan dan dadu dari aliran ruang: seed server + urutan game = game yang sama
+        room.session = new GameSession(new GameBoard(room.rng.split()), players);
+        room.game++;
+        games.incrementAndGet();
+        broadcast(room, GameProtocol.start(room.game, roomSize, room.session.seatOf(room.session.currentPlayer())));
+    }
+
+    private void roll(Connection c, long received) {
+        Room room = c.room;
+        if (room == null) {
+            send(c, GameProtocol.error(GameProtocol.ERR_NOT_JOINED));
+            return;
+        }
+        GameSession session = room.session;
+        if (session == null) {
+            send(c, GameProtocol.error(GameProtocol.ERR_NOT_STARTED));
+            return;
+        }
+        if (session.seatOf(session.currentPlayer()) != c.seat) {
+            send(c, GameProtocol.error(GameProtocol.ERR_NOT_YOUR_TURN));
+            return;
+        }
+
+        TurnResult turn = session.rollTurn(room.rng);
+        boolean over = turn.isWon() || turn.getTurn() >= GameSimulator.MAX_TURNS;
+        int next = over ? GameProtocol.NO_SEAT : session.seatOf(session.currentPlayer());
+        broadcast(room, GameProtocol.turn(turn, next));
+        fanout.record(System.nanoTime() - received);
+        turns.incrementAndGet();
+        if (over) startGame(room);
+    }
+
+    private void leave(Connection c) {
+        Room room = c.room;
+        if (room == null) return;
+        room.seats[c.seat] = null;
+        room.names[c.seat] = null;
+        room.occupied--;
+        c.room = null;
+        // Game tidak bisa dilanjutkan tanpa kursi ini; mulai lagi saat ruang penuh
+        room.session = null;
+        if (room.occupied == 0) {
+            rooms.remove(room.id);
+            activeRooms = rooms.size();
+        } else {
+            broadcast(room, GameProtocol.leave(c.seat));
+        }
+    }
+
+    // ===========================
+    // PENGIRIMAN
+    // ===========================
+
+    // Satu frame, satu duplikat (posisi sendiri) per kursi
+    private void broadcast(Room room, ByteBuffer frame) {
+        for (Connection c : room.seats) {
+            if (c != null) send(c, frame.duplicate());
+        }
+    }
+
+    // Tulis langsung jika antrian kosong (jalur umum); sisanya menunggu OP_WRITE
+    private void send(Connection c, ByteBuffer frame) {
+        if (c.closed) return;
+        framesOut.incrementAndGet();
+        if (c.out.isEmpty()) {
+            try {
+                c.channel.write(frame);
+            } catch (IOException e) {
+                markClosed(c);
+                return;
+            }
+            if (!frame.hasRemaining()) return;
+            c.key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        } else if (c.out.size() >= MAX_QUEUED) {
+            dropped.incrementAndGet();
+            markClosed(c);
+            return;
+        }
+        c.out.add(frame);
+    }
+
+    private void flush(Connection c) throws IOException {
+        ByteBuffer head;
+        while ((head = c.out.peek()) != null) {
+            c.channel.write(head);
+            if (head.hasRemaining()) return;
+            c.out.poll();
+        }
+        c.key.interestOps(SelectionKey.OP_READ);
+    }
+
+    // Penutupan ditunda sampai akhir putaran: broadcast yang sedang berjalan tidak terganggu
+    private void markClosed(Connection c) {
+        if (c.closed) return;
+        c.closed = true;
+        closing.add(c);
+    }
+
+    private void closePending() {
+        for (int i = 0; i < closing.size(); i++) {
+            Connection c = closing.get(i);
+            c.key.cancel();
+            try {
+                c.channel.close();
+            } catch (IOException ignored) {
+                // Sudah tertutup dari sisi lain
+            }
+            connected.decrementAndGet();
+            leave(c);
+        }
+        closing.clear();
+    }
+
+    // ===========================
+    // METRIK
+    // ===========================
+
+    public long getConnections() { return connected.get(); }
+    public long getAcceptedConnections() { return accepted.get(); }
+    public long getDroppedSlowClients() { return dropped.get(); }
+    public int getActiveRooms() { return activeRooms; }
+    public long getGamesStarted() { return games.get(); }
+    public long getTurnsPlayed() { return turns.get(); }
+    public long getFramesSent() { return framesOut.get(); }
+    public LatencyHistogram getFanoutLatency() { return fanout; }
+
+    public String toReport() {
+        return "Koneksi      : " + getConnections() + " aktif (diterima " + getAcceptedConnections()
+                + ", diputus lambat " + getDroppedSlowClients() + ")\n"
+                + "Ruang        : " + getActiveRooms() + " aktif, " + getGamesStarted() + " game dimulai\n"
+                + "Giliran      : " + getTurnsPlayed() + " (" + getFramesSent() + " frame terkirim)\n"
+                + "Fan-out      : " + fanout.summary() + "\n";
+    }
+
+    // ===========================
+    // STATE PER KONEKSI & RUANG
+    // ===========================
+
+    private static final class Connection {
+        final SocketChannel channel;
+        final ByteBuffer in = ByteBuffer.allocate(READ_BUFFER);
+        final ArrayDeque<ByteBuffer> out = new ArrayDeque<>();
+        SelectionKey key;
+        Room room;
+        int seat = -1;
+        boolean closed;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    private static final class Room {
+        final int id;
+        final Connection[] seats;
+        final String[] names;
+        final RandomSource rng;
+        int occupied;
+        int game;
+        GameSession session;
+
+        Room(int id, int size, RandomSource rng) {
+            this.id = id;
+            this.seats = new Connection[size];
+            this.names = new String[size];
+            this.rng = rng;
+        }
+
+        int freeSeat() {
+            for (int i = 0; i < seats.length; i++) {
+                if (seats[i] == null) return i;
+            }
+            return -1;
+        }
+    }
+
+    // ===========================
+    // MAIN
+    // ===========================
+
+    // Pemakaian: java GameServer [port] [ukuranRuang] [seed]
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROOM_SIZE;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        try (GameServer server = new GameServer(new InetSocketAddress(port), size, seed).start()) {
+            System.out.println("Server ular tangga di port " + server.getPort() + ", " + size + " kursi per ruang");
+            while (true) {
+                Thread.sleep(10_000);
+                System.out.print(server.toReport());
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package ulartangga;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ===========================
+// SESI PERMAINAN (TANPA UI)
+// ===========================
+
+/**
+ * State satu permainan: papan, pemain, antrian giliran, bonus giliran, dan
+ * sorotan jalur terpendek. Sebelumnya semua ini berupa field di JFrame, jadi
+ * satu JVM hanya bisa menjalankan satu game; sekarang {@link SnakeLadderGame}
+ * hanyalah salah satu klien sesi, dan {@link SessionHost} bisa menjalankan ribuan.
+ *
+ * Tidak thread-safe: setiap sesi hanya boleh diakses satu thread pada satu waktu
+ * (EDT untuk UI, antrian serial per sesi di SessionHost).
+ */
+final class GameSession {
+
+    private final GameBoard board;
+    private final CellRules rules;
+    private final int finish;
+    private final List<Player> players;
+    private final Map<Player, Integer> seats = new IdentityHashMap<>();
+    private final ArrayDeque<Player> turnQueue;
+    private final BitSet shortestPath;
+
+    private boolean extraTurnPending = false;
+    private Player winner;
+    private int turnCount;
+
+    public GameSession(GameBoard board, List<Player> players) {
+        if (players.isEmpty()) throw new IllegalArgumentException("Minimal 1 pemain");
+        this.board = board;
+        this.rules = board.getCompiled().rules();
+        this.finish = rules.getSize();
+        this.players = Collections.unmodifiableList(players);
+        this.turnQueue = new ArrayDeque<>(players);
+        this.shortestPath = new BitSet(finish + 1);
+        for (int i = 0; i < players.size(); i++) seats.put(players.get(i), i);
+    }
+
+    /**
+     * Sesi di tengah permainan (dari snapshot): {@code queue} adalah urutan antrian
+     * giliran saat disimpan, pemain sudah berisi posisi/skor/tangga terakhirnya.
+     */
+    static GameSession restore(GameBoard board, List<Player> players, List<Player> queue,
+                               boolean extraTurnPending, int turnCount, Player winner) {
+        GameSession s = new GameSession(board, players);
+        s.turnQueue.clear();
+        s.turnQueue.addAll(queue);
+        s.extraTurnPending = extraTurnPending;
+        s.turnCount = turnCount;
+        s.winner = winner;
+        return s;
+    }
+
+    /** Urutan antrian giliran sekarang (terdepan dulu), salinan. */
+    public List<Player> getTurnOrder() { return new ArrayList<>(turnQueue); }
+
+    /** Kocok dadu dengan generator milik pemanggil lalu jalankan gilirannya. */
+    public TurnResult rollTurn(RandomSource rng) {
+        int step = rng.nextStep();
+        return playTurn(Math.abs(step), step > 0);
+    }
+
+    /**
+     * Satu giliran lengkap untuk pemain terdepan di antrian, dengan aturan yang
+     * sama seperti processMovement lama: batas 1..finish, turun ke tangga terakhir
+     * saat mundur tepat di ujungnya, tangga/ular, skor petak, bonus kelipatan 10.
+     */
+    public TurnResult playTurn(int dice, boolean green) {
+        if (winner != null) throw new IllegalStateException("Permainan sudah selesai");
+        if (dice < 1 || dice > GameRules.DICE_FACES) throw new IllegalArgumentException("Dadu tidak valid: " + dice);
+
+        Player p = turnQueue.peek();
+        int start = p.getPosition();
+
+        // Sorotan jalur terpendek jika giliran dimulai dari petak prima
+        shortestPath.clear();
+        if (rules.highlights(start)) {
+            GameEvents.ShortestPath pathEvent = new GameEvents.ShortestPath();
+            pathEvent.begin();
+            markShortestPath(board, start, shortestPath);
+            if (pathEvent.shouldCommit()) {
+                pathEvent.start = start;
+                pathEvent.cells = shortestPath.cardinality();
+                pathEvent.commit();
+            }
+        }
+
+        int moved = GameRules.moveTarget(start, green ? dice : -dice, finish);
+        int end = moved;
+        boolean reverted = false;
+        int scoreDelta = 0;
+
+        GameEvents.JumpResolution jumpEvent = new GameEvents.JumpResolution();
+        jumpEvent.begin();
+        if (!green && moved == p.getLastClimbedLadderEnd()) {
+            // Mundur tepat ke ujung tangga terakhir: turun lagi, tanpa skor,
+            // status bonus giliran sebelumnya tetap
+            end = p.getLastClimbedLadderStart();
+            p.clearLastClimbedLadder();
+            reverted = true;
+        } else {
+            // Semua efek petak (lompatan, skor, finish, bonus) dari satu lookup tabel aturan
+            long action = rules.action(moved);
+            end = CellRules.dest(action);
+            if (CellRules.has(action, CellRules.LADDER)) p.setLastClimbedLadder(moved, end);
+            else if (CellRules.has(action, CellRules.SNAKE)) p.clearLastClimbedLadder();
+
+            scoreDelta = rules.score(action);
+            p.addScore(scoreDelta);
+
+            if (CellRules.has(action, CellRules.FINISH)) {
+                p.addWin();
+                winner = p;
+            } else {
+                extraTurnPending = CellRules.has(action, CellRules.BONUS);
+            }
+        }
+        p.setPosition(end);
+        if (jumpEvent.shouldCommit()) {
+            jumpEvent.cell = moved;
+            jumpEvent.target = end;
+            jumpEvent.kind = reverted ? "turun ke tangga terakhir" : end > moved ? "tangga" : end < moved ? "ular" : "-";
+            jumpEvent.commit();
+        }
+
+        if (winner == null && !extraTurnPending) {
+            turnQueue.poll();
+            turnQueue.add(p);
+        }
+
+        turnCount++;
+        return new TurnResult(turnCount, seats.get(p), p, dice, green, start, moved, end,
+                reverted, scoreDelta, winner == null && extraTurnPending, winner != null);
+    }
+
+    // Tabel jarak dihitung sekali per papan; di sini cukup mengikuti next-hop
+    static void markShortestPath(GameBoard board, int startNode, BitSet out) {
+        board.getCompiled().distances().markPath(startNode, out);
+    }
+
+    // Getters
+    public GameBoard getBoard() { return board; }
+    public List<Player> getPlayers() { return players; }
+    public Player currentPlayer() { return turnQueue.peek(); }
+    public boolean isFinished() { return winner != null; }
+    public Player getWinner() { return winner; }
+    public int getTurnCount() { return turnCount; }
+    public boolean isExtraTurnPending() { return extraTurnPending; }
+    public int seatOf(Player p) { return seats.getOrDefault(p, -1); }
+
+    /** Jalur terpendek yang sedang disorot (objek yang sama, dibagi dengan BoardPanel). */
+    public BitSet getShortestPath() { return shortestPath; }
+}
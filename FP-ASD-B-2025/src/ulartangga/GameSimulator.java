@@ -0,0 +1,167 @@
+package ulartangga;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// ===========================
+// SIMULASI MONTE CARLO (TANPA UI)
+// ===========================
+
+/**
+ * Menjalankan jutaan permainan lengkap tanpa Swing, memakai aturan yang sama
+ * dengan {@code SnakeLadderGame.finalizeDiceRoll} dan {@code processMovement}:
+ * dadu hijau/merah 70/30, batas 1..finish, turun ke tangga terakhir saat mundur,
+ * bonus giliran di kelipatan 10, dan skor petak dari {@link CompiledBoard}.
+ *
+ * Pekerjaan dibagi dengan fork-join; setiap daun punya generator acak sendiri
+ * (hasil split), sehingga hasil bisa diulang dengan seed yang sama.
+ */
+public class GameSimulator {
+
+    // Batas aman supaya satu permainan tidak berjalan selamanya
+    public static final int MAX_TURNS = 5_000;
+    public static final int SCORE_BUCKETS = 200;
+
+    // Jumlah permainan minimal per daun fork-join
+    private static final long LEAF_GAMES = 4_096;
+
+    // Lemparan dadu diambil per blok dari RandomSource.fillSteps
+    private static final int ROLL_BLOCK = 1_024;
+
+    private final CompiledBoard board;
+    private final int playerCount;
+
+    public GameSimulator(GameBoard board, int playerCount) {
+        this(board.getCompiled(), playerCount);
+    }
+
+    public GameSimulator(CompiledBoard board, int playerCount) {
+        if (playerCount < 1) throw new IllegalArgumentException("Minimal 1 pemain");
+        this.board = board;
+        this.playerCount = playerCount;
+    }
+
+    public SimulationStats run(long games, long seed) {
+        return run(games, seed, ForkJoinPool.commonPool());
+    }
+
+    public SimulationStats run(long games, long seed, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        SimulationStats stats = pool.invoke(new SimulationTask(games, RandomSource.seeded(seed)));
+        stats.setElapsedNanos(System.nanoTime() - start);
+        return stats;
+    }
+
+    private SimulationStats newStats() {
+        return new SimulationStats(playerCount, MAX_TURNS, SCORE_BUCKETS);
+    }
+
+    private class SimulationTask extends RecursiveTask<SimulationStats> {
+        private final long games;
+        private final RandomSource rng;
+
+        SimulationTask(long games, RandomSource rng) {
+            this.games = games;
+            this.rng = rng;
+        }
+
+        @Override
+        protected SimulationStats compute() {
+            if (games <= LEAF_GAMES) {
+                return playGames(games, rng);
+            }
+            long half = games / 2;
+            SimulationTask left = new SimulationTask(half, rng.split());
+            left.fork();
+            SimulationStats right = new SimulationTask(games - half, rng).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private SimulationStats playGames(long games, RandomSource rng) {
+        SimulationStats stats = newStats();
+        int[] rolls = new int[ROLL_BLOCK];
+        int nextRoll = ROLL_BLOCK;
+        int[] position = new int[playerCount];
+        int[] score = new int[playerCount];
+        int[] ladderStart = new int[playerCount];
+        int[] ladderEnd = new int[playerCount];
+        int finish = board.getSize();
+        CellRules rules = board.rules();
+
+        for (long g = 0; g < games; g++) {
+            for (int i = 0; i < playerCount; i++) {
+                position[i] = 1;
+                score[i] = 0;
+                ladderStart[i] = -1;
+                ladderEnd[i] = -1;
+            }
+
+            int current = 0;
+            int winner = -1;
+            int turns = 0;
+            boolean extraTurnPending = false;
+
+            while (turns < MAX_TURNS) {
+                turns++;
+                if (nextRoll == ROLL_BLOCK) {
+                    rng.fillSteps(rolls, 0, ROLL_BLOCK);
+                    nextRoll = 0;
+                }
+                int steps = rolls[nextRoll++];
+
+                int pos = GameRules.moveTarget(position[current], steps, finish);
+
+                if (steps < 0 && pos == ladderEnd[current]) {
+                    // Mundur ke ujung tangga terakhir: turun kembali,
+                    // tanpa skor dan tanpa mengubah bonus giliran (sama dengan UI)
+                    position[current] = ladderStart[current];
+                    ladderStart[current] = -1;
+                    ladderEnd[current] = -1;
+                } else {
+                    // Lompatan, skor, finish dan bonus dari satu lookup tabel aturan
+                    long action = rules.action(pos);
+                    int dest = CellRules.dest(action);
+                    if (CellRules.has(action, CellRules.LADDER)) {
+                        ladderStart[current] = pos;
+                        ladderEnd[current] = dest;
+                    } else if (CellRules.has(action, CellRules.SNAKE)) {
+                        ladderStart[current] = -1;
+                        ladderEnd[current] = -1;
+                    }
+                    position[current] = dest;
+                    score[current] += rules.score(action);
+
+                    if (CellRules.has(action, CellRules.FINISH)) {
+                        winner = current;
+                        break;
+                    }
+                    extraTurnPending = CellRules.has(action, CellRules.BONUS);
+                }
+
+                if (!extraTurnPending) {
+                    current = (current + 1) % playerCount;
+                }
+            }
+
+            stats.recordGame(turns, winner, score);
+        }
+        return stats;
+    }
+
+    // Pemakaian: java GameSimulator [jumlahGame] [jumlahPemain] [seed]
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        // Skor petak dari aliran split supaya tidak sama dengan aliran dadu
+        GameBoard board = new GameBoard(RandomSource.seeded(seed).split());
+        GameSimulator simulator = new GameSimulator(board, players);
+
+        System.out.println("Simulasi " + games + " game, " + players + " pemain, "
+                + ForkJoinPool.commonPool().getParallelism() + " worker, seed " + seed);
+        SimulationStats stats = simulator.run(games, seed);
+        System.out.print(stats.toReport());
+    }
+}
@@ -0,0 +1,248 @@
+package ulartangga;
+
+import javax.swing.ImageIcon;
+import java.awt.Color;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.BiFunction;
+import java.util.zip.CRC32;
+
+// ===========================
+// SNAPSHOT SIMPAN / LANJUTKAN
+// ===========================
+
+/**
+ * Snapshot biner satu permainan yang sedang berjalan: papan (tangga, ular, skor
+ * petak), semua pemain (posisi, skor, menang, tangga terakhir), urutan antrian
+ * giliran, bonus giliran, dan state RNG dadu. Dipulihkan persis di giliran yang sama.
+ *
+ * Format (big-endian): header 24 byte (magic "ULTS", versi, panjang payload, CRC32
+ * payload, waktu simpan) lalu payload. CRC menolak file yang terpotong, dan file
+ * ditulis ke .tmp lalu di-rename atomik, jadi snapshot lama tetap utuh saat listrik mati.
+ */
+final class GameSnapshot {
+
+    public static final int MAGIC = 0x554C5453; // "ULTS"
+    public static final short VERSION = 2; // v2: jumlah kolom papan setelah ukuran
+    private static final int HEADER_SIZE = 24;
+
+    // -Dgame.snapshot=file mengganti lokasi autosave; -Dgame.snapshot= (kosong) mematikan
+    public static final String PATH_PROPERTY = "game.snapshot";
+
+    private final GameSession session;
+    private final RandomSource diceRng;
+    private final RandomSource animationRng;
+    private final String journalPath;
+    private final long savedMillis;
+
+    private GameSnapshot(GameSession session, RandomSource diceRng, RandomSource animationRng,
+                         String journalPath, long savedMillis) {
+        this.session = session;
+        this.diceRng = diceRng;
+        this.animationRng = animationRng;
+        this.journalPath = journalPath;
+        this.savedMillis = savedMillis;
+    }
+
+    // Getters
+    public GameSession getSession() { return session; }
+    public RandomSource getDiceRng() { return diceRng; }
+    public RandomSource getAnimationRng() { return animationRng; }
+    public String getJournalPath() { return journalPath; }
+    public long getSavedMillis() { return savedMillis; }
+
+    /** Lokasi autosave UI, atau null jika dimatikan. */
+    public static Path defaultPath() {
+        String prop = System.getProperty(PATH_PROPERTY);
+        if (prop != null) return prop.isEmpty() ? null : Paths.get(prop);
+        return Paths.get(System.getProperty("user.home"), ".ulartangga", "autosave.ults");
+    }
+
+    // ===========================
+    // TULIS
+    // ===========================
+
+    /** Susun snapshot di memori (cepat, aman dipanggil di EDT). */
+    public static ByteBuffer encode(GameSession session, RandomSource diceRng, RandomSource animationRng,
+                                    String journalPath) {
+        CompiledBoard board = session.getBoard().getCompiled();
+        List<Player> players = session.getPlayers();
+        List<byte[]> strings = new ArrayList<>();
+        int stringBytes = 0;
+        for (Player p : players) {
+            byte[] name = p.getName().getBytes(StandardCharsets.UTF_8);
+            byte[] type = String.valueOf(p.getCharacterType()).getBytes(StandardCharsets.UTF_8);
+            strings.add(name);
+            strings.add(type);
+            stringBytes += name.length + type.length + 4;
+        }
+        byte[] journal = journalPath == null ? new byte[0] : journalPath.getBytes(StandardCharsets.UTF_8);
+
+        int size = board.getSize();
+        int payload = 16 + 8 * (board.getLadders().size() + board.getSnakes().size()) + 4 * size
+                + 8 + 32
+                + 13 + players.size() * (7 * 4) + stringBytes + players.size() * 4
+                + 2 + journal.length;
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_SIZE + payload);
+        buf.position(HEADER_SIZE);
+
+        // Papan
+        buf.putInt(size).putInt(board.getColumns()).putInt(board.getLadders().size()).putInt(board.getSnakes().size());
+        for (Map.Entry<Integer, Integer> e : board.getLadders().entrySet()) buf.putInt(e.getKey()).putInt(e.getValue());
+        for (Map.Entry<Integer, Integer> e : board.getSnakes().entrySet()) buf.putInt(e.getKey()).putInt(e.getValue());
+        for (int i = 1; i <= size; i++) buf.putInt(board.score(i));
+
+        // RNG
+        long[] dice = diceRng.getState();
+        long[] anim = animationRng.getState();
+        buf.putLong(diceRng.getSeed()).putLong(dice[0]).putLong(dice[1]).putLong(anim[0]).putLong(anim[1]);
+
+        // Sesi + pemain
+        Player winner = session.getWinner();
+        buf.putInt(players.size()).putInt(session.getTurnCount())
+                .put((byte) (session.isExtraTurnPending() ? 1 : 0))
+                .putInt(winner == null ? -1 : session.seatOf(winner));
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            buf.putInt(p.getId()).putInt(p.getPosition()).putInt(p.getScore()).putInt(p.getWins())
+                    .putInt(p.getLastClimbedLadderStart()).putInt(p.getLastClimbedLadderEnd())
+                    .putInt(p.getColor() == null ? 0xFF808080 : p.getColor().getRGB());
+            putBytes(buf, strings.get(2 * i));
+            putBytes(buf, strings.get(2 * i + 1));
+        }
+        for (Player p : session.getTurnOrder()) buf.putInt(session.seatOf(p));
+
+        buf.putShort((short) journal.length).put(journal);
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.array(), HEADER_SIZE, payload);
+        buf.putInt(0, MAGIC)
+                .putShort(4, VERSION)
+                .putShort(6, (short) 0)
+                .putInt(8, payload)
+                .putInt(12, (int) crc.getValue())
+                .putLong(16, System.currentTimeMillis());
+        buf.clear();
+        return buf;
+    }
+
+    /** Tulis ke file .tmp lalu rename atomik menimpa snapshot lama. */
+    public static void write(Path file, ByteBuffer snapshot) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer b = snapshot.duplicate();
+            while (b.hasRemaining()) ch.write(b);
+            ch.force(false);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ===========================
+    // BACA
+    // ===========================
+
+    /**
+     * Baca snapshot ke heap (ukurannya hanya beberapa KB). Sengaja tidak di-mmap:
+     * mapping hidup sampai GC, dan di Windows file yang masih di-map tidak bisa
+     * ditimpa autosave berikutnya (rename atomik) maupun dihapus.
+     * {@code avatars} membuat ulang ikon pemain dari (karakter, warna); boleh null untuk headless.
+     */
+    public static GameSnapshot read(Path file, BiFunction<String, Color, ImageIcon> avatars) throws IOException {
+        ByteBuffer buf;
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = ch.size();
+            if (size < HEADER_SIZE) throw new IOException("Snapshot terlalu pendek");
+            if (size > Integer.MAX_VALUE) throw new IOException("Snapshot terlalu besar");
+            buf = ByteBuffer.allocate((int) size);
+            while (buf.hasRemaining() && ch.read(buf) >= 0) { /* baca penuh */ }
+            if (buf.hasRemaining()) throw new IOException("Snapshot terpotong");
+            buf.clear();
+        }
+        if (buf.getInt(0) != MAGIC) throw new IOException("Bukan file snapshot: " + file);
+        short version = buf.getShort(4);
+        if (version < 1 || version > VERSION) throw new IOException("Versi snapshot tidak didukung: " + version);
+        int payload = buf.getInt(8);
+        if (payload < 0 || HEADER_SIZE + (long) payload > buf.capacity()) throw new IOException("Snapshot terpotong");
+
+        CRC32 crc = new CRC32();
+        crc.update(buf.slice(HEADER_SIZE, payload));
+        if ((int) crc.getValue() != buf.getInt(12)) throw new IOException("Snapshot rusak (CRC tidak cocok)");
+        long savedMillis = buf.getLong(16);
+
+        ByteBuffer in = buf.slice(HEADER_SIZE, payload);
+        try {
+            // Papan
+            int size = in.getInt();
+            int columns = version >= 2 ? in.getInt() : CompiledBoard.defaultColumns(size);
+            int ladderCount = in.getInt();
+            int snakeCount = in.getInt();
+            Map<Integer, Integer> ladders = new TreeMap<>();
+            Map<Integer, Integer> snakes = new TreeMap<>();
+            Map<Integer, Integer> scores = new TreeMap<>();
+            for (int i = 0; i < ladderCount; i++) ladders.put(in.getInt(), in.getInt());
+            for (int i = 0; i < snakeCount; i++) snakes.put(in.getInt(), in.getInt());
+            for (int i = 1; i <= size; i++) scores.put(i, in.getInt());
+            GameBoard board = new GameBoard(CompiledBoard.compile(size, columns, ladders, snakes, scores));
+
+            // RNG
+            long seed = in.getLong();
+            RandomSource dice = RandomSource.restore(in.getLong(), in.getLong(), seed);
+            RandomSource anim = RandomSource.restore(in.getLong(), in.getLong(), seed);
+
+            // Sesi + pemain
+            int playerCount = in.getInt();
+            int turnCount = in.getInt();
+            boolean extra = in.get() != 0;
+            int winnerSeat = in.getInt();
+            List<Player> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                int id = in.getInt(), pos = in.getInt(), score = in.getInt(), wins = in.getInt();
+                int ladderStart = in.getInt(), ladderEnd = in.getInt();
+                Color color = new Color(in.getInt(), true);
+                String name = getString(in);
+                String type = getString(in);
+
+                ImageIcon icon = avatars == null ? null : avatars.apply(type, color);
+                Player p = new Player(id, name, color, type, icon);
+                p.setPosition(pos);
+                p.setScore(score);
+                p.setWins(wins);
+                if (ladderEnd >= 0) p.setLastClimbedLadder(ladderStart, ladderEnd);
+                players.add(p);
+            }
+            List<Player> queue = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) queue.add(players.get(in.getInt()));
+            String journal = getString(in);
+
+            GameSession session = GameSession.restore(board, players, queue, extra, turnCount,
+                    winnerSeat < 0 ? null : players.get(winnerSeat));
+            return new GameSnapshot(session, dice, anim, journal.isEmpty() ? null : journal, savedMillis);
+        } catch (RuntimeException e) {
+            throw new IOException("Snapshot tidak valid: " + e.getMessage(), e);
+        }
+    }
+
+    private static void putBytes(ByteBuffer buf, byte[] bytes) {
+        buf.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,227 @@
+package ulartangga;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+// ===========================
+// CACHE GAMBAR TERSKALA (LRU)
+// ===========================
+
+/**
+ * Cache gambar yang sudah diskalakan, dengan kunci (aset, ukuran target, device).
+ * Hasil skala dibuat sekali dengan kualitas tinggi (bilinear bertahap) dalam format
+ * yang kompatibel dengan layar, lalu dipakai ulang di semua game dan semua repaint.
+ *
+ * Aset bisa berupa path resource ("/1.png"), file, atau objek Image itu sendiri
+ * (identitas objek jadi kuncinya). Gambar asli ikut disimpan di cache yang sama.
+ * Entri paling lama tidak dipakai dibuang saat total byte piksel melewati batas.
+ */
+final class ImageCache {
+
+    public static final long DEFAULT_BUDGET_BYTES = 48L * 1024 * 1024;
+
+    private static final ImageCache SHARED = new ImageCache(DEFAULT_BUDGET_BYTES);
+
+    // Ukuran -1 menandai gambar asli (belum diskalakan)
+    private static final int ORIGINAL = -1;
+
+    private final long budgetBytes;
+    private long totalBytes;
+    private long hits;
+    private long misses;
+    private final LinkedHashMap<Key, BufferedImage> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    ImageCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /** Cache bersama untuk seluruh aplikasi. */
+    public static ImageCache shared() {
+        return SHARED;
+    }
+
+    /** Resource classpath diskalakan ke w x h; null jika resource tidak ada. */
+    public BufferedImage scaledResource(String resourcePath, int w, int h, GraphicsConfiguration gc) {
+        BufferedImage original = resource(resourcePath);
+        return original == null ? null : scaled("res:" + resourcePath, original, w, h, gc);
+    }
+
+    /** Resource classpath dalam ukuran asli (di-decode sekali, mis. dimuat awal di thread latar). */
+    public BufferedImage resource(String resourcePath) {
+        return original("res:" + resourcePath, () -> {
+            try (InputStream in = ImageCache.class.getResourceAsStream(resourcePath)) {
+                return in == null ? null : ImageIO.read(in);
+            }
+        });
+    }
+
+    /** File gambar diskalakan ke w x h; null jika file tidak ada atau gagal dibaca. */
+    public BufferedImage scaledFile(File file, int w, int h, GraphicsConfiguration gc) {
+        String id = "file:" + file.getAbsolutePath();
+        BufferedImage original = original(id, () -> file.exists() ? ImageIO.read(file) : null);
+        return original == null ? null : scaled(id, original, w, h, gc);
+    }
+
+    /** Image apa pun (mis. avatar pemain) diskalakan ke w x h, kunci = identitas objek. */
+    public BufferedImage scaled(Image source, int w, int h, GraphicsConfiguration gc) {
+        return scaled(source, source, w, h, gc);
+    }
+
+    private BufferedImage scaled(Object assetId, Image source, int w, int h, GraphicsConfiguration gc) {
+        if (w <= 0 || h <= 0) return null;
+        Key key = new Key(assetId, w, h, gc);
+        synchronized (this) {
+            BufferedImage hit = entries.get(key);
+            if (hit != null) {
+                hits++;
+                return hit;
+            }
+            misses++;
+        }
+        // Diskalakan di luar lock supaya thread lain tidak menunggu
+        BufferedImage result = scale(source, w, h, gc);
+        synchronized (this) {
+            BufferedImage raced = entries.get(key);
+            if (raced != null) return raced;
+            put(key, result);
+        }
+        return result;
+    }
+
+    private interface Loader {
+        BufferedImage load() throws Exception;
+    }
+
+    private BufferedImage original(String assetId, Loader loader) {
+        Key key = new Key(assetId, ORIGINAL, ORIGINAL, null);
+        synchronized (this) {
+            BufferedImage hit = entries.get(key);
+            if (hit != null) return hit;
+        }
+        BufferedImage img;
+        try {
+            img = loader.load();
+        } catch (Exception e) {
+            img = null;
+        }
+        if (img == null) return null;
+        synchronized (this) {
+            put(key, img);
+        }
+        return img;
+    }
+
+    private void put(Key key, BufferedImage img) {
+        BufferedImage old = entries.put(key, img);
+        if (old != null) totalBytes -= bytesOf(old);
+        totalBytes += bytesOf(img);
+
+        // LRU: buang yang paling lama tidak dipakai (selain entri yang baru masuk)
+        Iterator<Map.Entry<Key, BufferedImage>> it = entries.entrySet().iterator();
+        while (totalBytes > budgetBytes && it.hasNext()) {
+            Map.Entry<Key, BufferedImage> eldest = it.next();
+            if (eldest.getKey().equals(key)) break;
+            totalBytes -= bytesOf(eldest.getValue());
+            eldest.getValue().flush();
+            it.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        for (BufferedImage img : entries.values()) img.flush();
+        entries.clear();
+        totalBytes = 0;
+    }
+
+    // Getters
+    public synchronized long getTotalBytes() { return totalBytes; }
+    public synchronized int getEntryCount() { return entries.size(); }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+    public long getBudgetBytes() { return budgetBytes; }
+
+    private static long bytesOf(BufferedImage img) {
+        int bits = img.getColorModel().getPixelSize();
+        return (long) img.getWidth() * img.getHeight() * Math.max(1, (bits + 7) / 8);
+    }
+
+    // ===========================
+    // SKALA KUALITAS TINGGI
+    // ===========================
+
+    /**
+     * Mengecilkan bertahap (maksimal setengah per langkah, bilinear) supaya hasilnya
+     * halus seperti SCALE_SMOOTH tetapi sinkron dan jauh lebih cepat dari getScaledInstance.
+     */
+    static BufferedImage scale(Image source, int w, int h, GraphicsConfiguration gc) {
+        int transparency = source instanceof BufferedImage
+                ? ((BufferedImage) source).getTransparency()
+                : Transparency.TRANSLUCENT;
+
+        Image current = source;
+        int cw = source.getWidth(null);
+        int ch = source.getHeight(null);
+        if (cw <= 0 || ch <= 0) return newImage(w, h, transparency, gc);
+
+        while (cw / 2 >= w && ch / 2 >= h) {
+            cw /= 2;
+            ch /= 2;
+            current = draw(current, cw, ch, transparency, null, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        }
+        Object hint = (cw < w || ch < h)
+                ? RenderingHints.VALUE_INTERPOLATION_BICUBIC
+                : RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+        return draw(current, w, h, transparency, gc, hint);
+    }
+
+    private static BufferedImage draw(Image src, int w, int h, int transparency,
+                                      GraphicsConfiguration gc, Object interpolation) {
+        BufferedImage out = newImage(w, h, transparency, gc);
+        Graphics2D g = out.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.drawImage(src, 0, 0, w, h, null);
+        g.dispose();
+        return out;
+    }
+
+    private static BufferedImage newImage(int w, int h, int transparency, GraphicsConfiguration gc) {
+        if (gc != null) return gc.createCompatibleImage(w, h, transparency);
+        return new BufferedImage(w, h, transparency == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB);
+    }
+
+    private static final class Key {
+        private final Object asset;
+        private final int w;
+        private final int h;
+        private final GraphicsConfiguration gc;
+
+        Key(Object asset, int w, int h, GraphicsConfiguration gc) {
+            this.asset = asset;
+            this.w = w;
+            this.h = h;
+            this.gc = gc;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return w == k.w && h == k.h && asset.equals(k.asset) && Objects.equals(gc, k.gc);
+        }
+
+        @Override
+        public int hashCode() {
+            return ((asset.hashCode() * 31 + w) * 31 + h) * 31 + Objects.hashCode(gc);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package ulartangga;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// ===========================
+// HISTOGRAM LATENSI (LOCK-FREE)
+// ===========================
+
+/**
+ * Histogram latensi dalam nanodetik dengan ember log-linear: setiap pangkat dua
+ * dibagi {@value #SUB_BUCKETS} ember, jadi galat persentil maksimal ~12.5%.
+ * {@link #record} hanya satu increment atomik, aman dipanggil dari banyak thread.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(indexOf(nanos));
+        total.incrementAndGet();
+        max.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static int indexOf(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);            // v di [2^exp, 2^(exp+1))
+        int sub = (int) (v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exp - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    // Batas atas ember (nilai terbesar yang masuk ember ini)
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) return index;
+        int exp = index / SUB_BUCKETS + SUB_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        long base = (1L << exp) + ((long) sub << (exp - SUB_BITS));
+        return base + (1L << (exp - SUB_BITS)) - 1;
+    }
+
+    /** Persentil (0..100) dalam nanodetik, 0 jika belum ada data. */
+    public long percentile(double p) {
+        long n = total.get();
+        if (n == 0) return 0;
+        long rank = (long) Math.ceil(p / 100.0 * n);
+        if (rank < 1) rank = 1;
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    public long getCount() { return total.get(); }
+    public long getMax() { return max.get(); }
+
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) counts.set(i, 0);
+        total.set(0);
+        max.set(0);
+    }
+
+    // Contoh: "p50 12.3 us | p90 40.1 us | p99 210.0 us | max 1.2 ms"
+    public String summary() {
+        return "p50 " + format(percentile(50)) + " | p90 " + format(percentile(90))
+                + " | p99 " + format(percentile(99)) + " | max " + format(getMax());
+    }
+
+    static String format(long nanos) {
+        if (nanos < 1_000) return nanos + " ns";
+        if (nanos < 1_000_000) return String.format(Locale.ROOT, "%.1f us", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format(Locale.ROOT, "%.1f ms", nanos / 1e6);
+        return String.format(Locale.ROOT, "%.2f s", nanos / 1e9);
+    }
+}
@@ -0,0 +1,108 @@
+package ulartangga;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// ===========================
+// MODEL TABEL KLASEMEN
+// ===========================
+
+/**
+ * Model JTable untuk klasemen. Urutan disimpan di {@link PlayerRanking},
+ * jadi perubahan skor satu pemain hanya O(log n) dan hanya memicu event
+ * untuk baris yang benar-benar bergeser (bukan setText seluruh klasemen).
+ *
+ * Kolom "Menang" berisi peluang menang eksak dari {@link WinProbability} jika
+ * diisi lewat {@link #setWinChance}; urutan klasemen tetap menurut skor.
+ *
+ * Semua method dipanggil dari EDT, sama seperti model Swing lainnya.
+ */
+class LeaderboardModel extends AbstractTableModel {
+
+    private static final String[] COLUMNS = {"#", "Pemain", "Pos", "Skor", "Menang"};
+
+    private final PlayerRanking ranking = new PlayerRanking();
+    private final Map<Player, Double> winChance = new HashMap<>();
+
+    public LeaderboardModel(List<Player> players) {
+        for (Player p : players) ranking.add(p);
+    }
+
+    public void addPlayer(Player p) {
+        int row = ranking.add(p);
+        fireTableRowsInserted(row, row);
+        // Nomor peringkat di bawahnya ikut bergeser
+        if (row + 1 < ranking.size()) fireTableRowsUpdated(row + 1, ranking.size() - 1);
+    }
+
+    public void removePlayer(Player p) {
+        winChance.remove(p);
+        int row = ranking.remove(p);
+        if (row < 0) return;
+        fireTableRowsDeleted(row, row);
+        if (row < ranking.size()) fireTableRowsUpdated(row, ranking.size() - 1);
+    }
+
+    /**
+     * Panggil setelah skor atau posisi pemain berubah. Jika peringkatnya tetap,
+     * hanya baris itu yang digambar ulang; jika naik/turun, hanya baris di antara
+     * peringkat lama dan baru (yang nomornya ikut bergeser).
+     */
+    public void playerChanged(Player p) {
+        GameEvents.LeaderboardUpdate event = new GameEvents.LeaderboardUpdate();
+        event.begin();
+        int[] moved = ranking.update(p);
+        int from = Math.min(moved[0], moved[1]);
+        int to = Math.max(moved[0], moved[1]);
+        fireTableRowsUpdated(from, to);
+        if (event.shouldCommit()) {
+            event.player = p.getName();
+            event.fromRank = moved[0] + 1;
+            event.toRank = moved[1] + 1;
+            event.commit();
+        }
+    }
+
+    /** Peluang menang 0..1 untuk kolom "Menang"; hanya baris pemain itu yang digambar ulang. */
+    public void setWinChance(Player p, double chance) {
+        Double old = winChance.put(p, chance);
+        if (old != null && old == chance) return;
+        int row = ranking.rankOf(p);
+        if (row >= 0) fireTableCellUpdated(row, 4);
+    }
+
+    public int rankOf(Player p) { return ranking.rankOf(p); }
+
+    public Player getPlayerAt(int row) { return ranking.get(row); }
+
+    @Override
+    public int getRowCount() { return ranking.size(); }
+
+    @Override
+    public int getColumnCount() { return COLUMNS.length; }
+
+    @Override
+    public String getColumnName(int column) { return COLUMNS[column]; }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 1 || column == 4 ? String.class : Integer.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Player p = ranking.get(row);
+        switch (column) {
+            case 0: return row + 1;
+            case 1: return p.getName() + " (" + p.getCharacterType() + ")";
+            case 2: return p.getPosition();
+            case 3: return p.getScore();
+            default:
+                Double chance = winChance.get(p);
+                return chance == null ? "-" : String.format(Locale.ROOT, "%.1f%%", chance * 100);
+        }
+    }
+}
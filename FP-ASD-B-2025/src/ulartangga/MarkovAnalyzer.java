@@ -0,0 +1,1005 @@
+package ulartangga;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+// ===========================
+// ANALISIS RANTAI MARKOV (EKSAK)
+// ===========================
+
+/**
+ * Menghitung panjang permainan secara eksak (tanpa bermain) untuk satu pemain,
+ * lewat rantai Markov menyerap dengan aturan yang sama seperti processMovement.
+ *
+ * State = (posisi, tangga terakhir yang dinaiki, bonus giliran tertunda).
+ * Tangga terakhir perlu disimpan karena aturan "mundur ke ujung tangga terakhir
+ * turun kembali"; bonus perlu disimpan karena lemparan tambahan masih termasuk
+ * giliran yang sama.
+ *
+ * Nilai harapan (giliran, lemparan, skor, dan momen ke-2/ke-3 giliran) diselesaikan
+ * langsung tanpa membentuk semua state. Setiap lapisan "tangga terakhir" adalah
+ * papan yang sama: satu matriks pita langkah dadu per petak, difaktorkan sekali,
+ * ditambah koreksi rank-1 untuk langkah mundur ke ujung tangganya sendiri.
+ * Lompatan (tangga, ular, turun tangga) hanya mendarat di sedikit state "pintu",
+ * jadi seluruh rantai tereduksi ke sistem padat kecil atas nilai pintu. Biaya
+ * ~ petak x (pintu + lapisan), bukan petak x lapisan x iterasi.
+ *
+ * Distribusi jumlah giliran dipropagasi eksak di rantai lengkap (CSR, hanya
+ * dibangun jika terjangkau). Begitu laju selesai per giliran stabil, ekornya
+ * geometrik. Papan yang terlalu panjang untuk dipropagasi memakai gamma bergeser
+ * dengan tiga momen eksak. Asal distribusi selalu ikut dilaporkan
+ * ({@link Distribution}), jadi persentil tidak pernah berasal dari batas potong.
+ */
+public class MarkovAnalyzer {
+
+    // Batas panjang propagasi eksak; sisanya ekor geometrik atau gamma
+    public static final int DEFAULT_MAX_TURNS = 100_000;
+
+    private static final int NONE = 0;
+    private static final int ABSORBED = -1;
+    private static final int OUTCOMES = 2 * GameRules.DICE_FACES;
+    private static final double TOLERANCE = 1e-9;
+    private static final double TAIL_EPSILON = 1e-12;
+
+    // Anggaran propagasi eksak (kunjungan transisi); di atasnya diganti ekor/gamma
+    private static final long PROPAGATION_WORK = 100_000_000L;
+    // Laju selesai dianggap stabil jika berubah < SETTLE_TOLERANCE (relatif) selama SETTLE_TURNS giliran
+    private static final double SETTLE_TOLERANCE = 1e-7;
+    private static final int SETTLE_TURNS = 64;
+    private static final int MAX_DISTRIBUTION_TURNS = 1 << 22;
+
+    // Di atas ini indeks state memakai HashMap, bukan array padat
+    private static final long DENSE_INDEX_LIMIT = 1L << 24;
+
+    /** Asal distribusi giliran di {@link Result}. */
+    public enum Distribution {
+        NONE,            // tidak dihitung (maxTurns = 0)
+        EXACT,           // propagasi penuh sampai sisa massa < TAIL_EPSILON
+        GEOMETRIC_TAIL,  // eksak sampai laju selesai stabil, lalu ekor geometrik
+        MOMENT_FIT       // eksak selama anggaran cukup, sisanya gamma bergeser dari 3 momen eksak
+    }
+
+    private final CellRules rules;
+    private final int finish;
+    private final double green = GameRules.GREEN_CHANCE / GameRules.DICE_FACES;
+    private final double red = (1 - GameRules.GREEN_CHANCE) / GameRules.DICE_FACES;
+
+    // Tangga (lompatan naik) terurut menurut petak awal; index 0 = tidak ada
+    private final int[] ladderStart;
+    private final int[] ladderEnd;
+
+    // Rantai lengkap, hanya untuk propagasi distribusi
+    private int stateCount;
+    private int[] statePos = new int[64];
+    private int[] stateLadder = new int[64];
+    private boolean[] stateExtra = new boolean[64];
+    private int[] denseIndex;
+    private Map<Long, Integer> sparseIndex;
+
+    // Matriks transisi CSR: baris = state asal
+    private int[] rowStart = new int[65];
+    private int[] target = new int[256];
+    private double[] prob = new double[256];
+    private int edgeCount;
+    private int startState;
+
+    public MarkovAnalyzer(GameBoard board) {
+        this(board.getCompiled());
+    }
+
+    public MarkovAnalyzer(CompiledBoard board) {
+        this.rules = board.rules();
+        this.finish = board.getSize();
+
+        TreeSet<Integer> ups = new TreeSet<>();
+        for (int start : board.getLadders().keySet()) if (CellRules.has(rules.action(start), CellRules.LADDER)) ups.add(start);
+        for (int start : board.getSnakes().keySet()) if (CellRules.has(rules.action(start), CellRules.LADDER)) ups.add(start);
+
+        ladderStart = new int[ups.size() + 1];
+        ladderEnd = new int[ups.size() + 1];
+        int i = 1;
+        for (int start : ups) {
+            ladderStart[i] = start;
+            ladderEnd[i] = CellRules.dest(rules.action(start));
+            i++;
+        }
+    }
+
+    public Result analyze() {
+        return analyze(DEFAULT_MAX_TURNS);
+    }
+
+    /**
+     * @param maxTurns batas panjang propagasi eksak distribusi giliran (sisanya
+     *                 ekor geometrik atau gamma); 0 = lewati distribusi
+     */
+    public Result analyze(int maxTurns) {
+        long t0 = System.nanoTime();
+        Result result = new Result();
+        result.layerCount = ladderStart.length;
+        if (finish > 1) solveExpectations(result);
+        long t1 = System.nanoTime();
+        if (maxTurns > 0 && finish > 1) computeDistribution(result, maxTurns);
+        long t2 = System.nanoTime();
+
+        result.stateCount = stateCount;
+        result.transitionCount = edgeCount;
+        result.solveNanos = t1 - t0;
+        result.distributionNanos = t2 - t1;
+        return result;
+    }
+
+    // ===========================
+    // NILAI HARAPAN (PITA + PINTU)
+    // ===========================
+    private void solveExpectations(Result result) {
+        Solver solver = new Solver();
+        int n = solver.n;
+        int layers = ladderStart.length;
+
+        // Ruas kanan per baris (bonus kanonik petak itu); sama untuk semua lapisan kecuali skor
+        double[] ones = new double[n];
+        Arrays.fill(ones, 1);
+        double[][] rollRhs = new double[layers][];
+        double[][] turnRhs = new double[layers][];
+        Arrays.fill(rollRhs, ones);
+        Arrays.fill(turnRhs, solver.turnCost);
+        double[][] scoreRhs = solver.scoreRhs();
+
+        double[][] rows = solver.reduce(rollRhs, turnRhs, scoreRhs);
+        double[] rolls = solver.solve(rollRhs, rows[0], solver.offsets(d -> 0), false)[0];
+        double[][] turns = solver.solve(turnRhs, rows[1], solver.offsets(d -> solver.cost(d) - solver.rowCost(d)), true);
+        double[] score = solver.solve(scoreRhs, rows[2], solver.offsets(d -> 0), false)[0];
+
+        // Momen ke-2 dan ke-3 jumlah giliran T = c + T': E[T^2] = c + 2c E[T'],
+        // E[T^3] = c + 3c E[T'] + 3c E[T'^2], dengan c = 0/1 dan E[T'] = E[T] - c
+        double[] t1 = turns[layers];
+        double[][] rhs2 = new double[layers][n];
+        for (int l = 0; l < layers; l++) {
+            for (int i = 0; i < n; i++) rhs2[l][i] = solver.turnCost[i] * (2 * turns[l][i] - 1);
+        }
+        double[][] turns2 = solver.solve(rhs2, solver.doorRows(rhs2), solver.offsets(d -> {
+            double c = solver.cost(d);
+            return c * (2 * t1[d] - 1) - rhs2[solver.doorLayer[d]][solver.doorRow[d]];
+        }), true);
+        double[] t2 = turns2[layers];
+        double[][] rhs3 = new double[layers][n];
+        for (int l = 0; l < layers; l++) {
+            for (int i = 0; i < n; i++) rhs3[l][i] = solver.turnCost[i] * (1 - 3 * turns[l][i] + 3 * turns2[l][i]);
+        }
+        double[] turns3 = solver.solve(rhs3, solver.doorRows(rhs3), solver.offsets(d -> {
+            double c = solver.cost(d);
+            return c * (1 - 3 * t1[d] + 3 * t2[d]) - rhs3[solver.doorLayer[d]][solver.doorRow[d]];
+        }), false)[0];
+
+        int start = solver.startDoor;
+        result.expectedRolls = rolls[start];
+        result.expectedTurns = t1[start];
+        result.expectedScore = score[start];
+        result.turnMoment2 = t2[start];
+        result.turnMoment3 = turns3[start];
+        result.doorCount = solver.m;
+        result.converged = solver.converged;
+    }
+
+    /**
+     * Penyelesai langsung untuk semua lapisan sekaligus. Baris = petak 1..finish-1
+     * dengan bonus kanoniknya (bonus petak itu sendiri); state lain yang mungkin
+     * (kaki tangga saat turun kembali, ekor ular di petak lompatan, start) adalah
+     * pintu: baris petaknya + selisih ruas kanan. Lapisan L memakai pita yang sama
+     * A dengan langkah mundur ke ujung tangga L dipindah ke pintu turun tangga:
+     * A_L = A + delta_L e_q^T, diselesaikan dengan Sherman-Morrison.
+     */
+    private final class Solver {
+        final int n = finish - 1;
+        private final int layers = ladderStart.length;
+        private final int band = GameRules.DICE_FACES;
+        private final int width = 2 * band + 1;
+        private final double[] lu;   // baris i, kolom j disimpan di lu[i * width + (j - i + band)]
+        private final double[] luT;  // transpos lu, supaya substitusi transpos membaca berurutan
+        private final double[] inverseDiagonal;
+
+        final double[] turnCost;             // lemparan bonus bukan giliran baru
+        private final double[] scoreGain;    // skor harapan satu lemparan, tanpa turun tangga
+
+        // Lompatan bersama semua lapisan (tangga, ular): baris, muka dadu, pintu, peluang
+        private int[] jumpRow = new int[64];
+        private int[] jumpFace = new int[64];
+        private int[] jumpDoor = new int[64];
+        private double[] jumpProb = new double[64];
+        private int jumpCount;
+
+        // Per lapisan: langkah mundur ke ujung tangganya sendiri (turun kembali)
+        private final int[][] revertRow;
+        private final int[][] revertFace;
+        private final int[][] revertDoor;
+        private final double[] revertScore;  // skor yang hilang per langkah turun kembali
+        // Koreksi rank-1 jika ujung tangga petak biasa (null = tidak ada)
+        private final double[][] delta;
+        private final double[][] u;           // A^-1 delta
+        private final double[][] v;           // A^-T e_q
+        private final double[] denom;         // 1 + u[q]
+
+        // Pintu: (lapisan, baris, bonus)
+        private final Map<Long, Integer> doorIndex = new HashMap<>();
+        int[] doorLayer = new int[16];
+        int[] doorRow = new int[16];
+        private boolean[] doorExtra = new boolean[16];
+        int m;
+        final int startDoor;
+
+        // (I - Z) difaktorkan LU padat dengan pivot
+        private final double[] reduced;
+        private final int[] pivot;
+        boolean converged = true;
+
+        Solver() {
+            lu = new double[n * width];
+            luT = new double[n * width];
+            inverseDiagonal = new double[n];
+            turnCost = new double[n];
+            scoreGain = new double[n];
+            startDoor = door(NONE, 1, false);
+
+            for (int pos = 1; pos < finish; pos++) {
+                int i = pos - 1;
+                lu[i * width + band] += 1;
+                turnCost[i] = rowExtra(i) ? 0 : 1;
+                for (int k = 0; k < OUTCOMES; k++) {
+                    int steps = k < GameRules.DICE_FACES ? k + 1 : -(k - GameRules.DICE_FACES + 1);
+                    double p = k < GameRules.DICE_FACES ? green : red;
+                    int t = GameRules.moveTarget(pos, steps, finish);
+                    long action = rules.action(t);
+                    scoreGain[i] += p * rules.score(action);
+                    if (CellRules.has(action, CellRules.FINISH)) continue;
+                    if (CellRules.has(action, CellRules.LADDER)) {
+                        addJump(i, k, door(ladderIndex(t), CellRules.dest(action), CellRules.has(action, CellRules.BONUS)), p);
+                    } else if (CellRules.has(action, CellRules.SNAKE)) {
+                        addJump(i, k, door(NONE, CellRules.dest(action), CellRules.has(action, CellRules.BONUS)), p);
+                    } else {
+                        lu[i * width + (t - 1 - i + band)] -= p;
+                    }
+                }
+            }
+
+            revertRow = new int[layers][];
+            revertFace = new int[layers][];
+            revertDoor = new int[layers][];
+            revertScore = new double[layers];
+            delta = new double[layers][];
+            for (int l = 1; l < layers; l++) findReverts(l);
+
+            factor();
+
+            u = new double[layers][];
+            v = new double[layers][];
+            denom = new double[layers];
+            for (int l = 1; l < layers; l++) {
+                if (delta[l] == null) continue;
+                int q = ladderEnd[l] - 1;
+                u[l] = delta[l].clone();
+                bandSolve(u[l]);
+                v[l] = new double[n];
+                transposeSolve(q, v[l]);
+                denom[l] = 1 + u[l][q];
+            }
+
+            reduced = new double[m * m];
+            pivot = new int[m];
+        }
+
+        private boolean rowExtra(int i) {
+            return CellRules.has(rules.action(i + 1), CellRules.BONUS);
+        }
+
+        private int ladderIndex(int start) {
+            return Arrays.binarySearch(ladderStart, 1, ladderStart.length, start);
+        }
+
+        private int door(int layer, int pos, boolean extra) {
+            long key = ((long) layer * finish + pos) * 2 + (extra ? 1 : 0);
+            Integer id = doorIndex.get(key);
+            if (id != null) return id;
+            if (m == doorLayer.length) {
+                doorLayer = Arrays.copyOf(doorLayer, m * 2);
+                doorRow = Arrays.copyOf(doorRow, m * 2);
+                doorExtra = Arrays.copyOf(doorExtra, m * 2);
+            }
+            doorLayer[m] = layer;
+            doorRow[m] = pos - 1;
+            doorExtra[m] = extra;
+            doorIndex.put(key, m);
+            return m++;
+        }
+
+        private void addJump(int row, int face, int door, double p) {
+            if (jumpCount == jumpRow.length) {
+                int cap = jumpCount * 2;
+                jumpRow = Arrays.copyOf(jumpRow, cap);
+                jumpFace = Arrays.copyOf(jumpFace, cap);
+                jumpDoor = Arrays.copyOf(jumpDoor, cap);
+                jumpProb = Arrays.copyOf(jumpProb, cap);
+            }
+            jumpRow[jumpCount] = row;
+            jumpFace[jumpCount] = face;
+            jumpDoor[jumpCount] = door;
+            jumpProb[jumpCount] = p;
+            jumpCount++;
+        }
+
+        // Mundur tepat ke ujung tangga l: turun ke kakinya, bonus tetap, tanpa skor
+        private void findReverts(int l) {
+            int end = ladderEnd[l];
+            long action = rules.action(end);
+            boolean plain = (CellRules.flags(action) & (CellRules.LADDER | CellRules.SNAKE | CellRules.FINISH)) == 0;
+            int[] rows = new int[OUTCOMES];
+            int[] faces = new int[OUTCOMES];
+            int[] doors = new int[OUTCOMES];
+            int count = 0;
+            for (int pos = end + 1; pos < finish && pos <= end + GameRules.DICE_FACES; pos++) {
+                for (int d = 1; d <= GameRules.DICE_FACES; d++) {
+                    if (GameRules.moveTarget(pos, -d, finish) != end) continue;
+                    int i = pos - 1;
+                    rows[count] = i;
+                    faces[count] = GameRules.DICE_FACES + d - 1;
+                    doors[count] = door(NONE, ladderStart[l], rowExtra(i));
+                    count++;
+                    revertScore[l] = rules.score(action);
+                    // Langkah ini di pita A (ujung tangga petak biasa): lepas lewat koreksi rank-1
+                    if (plain) {
+                        if (delta[l] == null) delta[l] = new double[n];
+                        delta[l][i] += red;
+                    }
+                }
+            }
+            revertRow[l] = Arrays.copyOf(rows, count);
+            revertFace[l] = Arrays.copyOf(faces, count);
+            revertDoor[l] = Arrays.copyOf(doors, count);
+        }
+
+        // Lompatan bersama yang di lapisan l diganti turun tangga (ujung tangga l petak lompatan)
+        private boolean replaced(int l, int row, int face) {
+            if (l == NONE || delta[l] != null) return false;
+            for (int r = 0; r < revertRow[l].length; r++) {
+                if (revertRow[l][r] == row && revertFace[l][r] == face) return true;
+            }
+            return false;
+        }
+
+        double cost(int d) { return doorExtra[d] ? 0 : 1; }
+        double rowCost(int d) { return turnCost[doorRow[d]]; }
+
+        interface DoorOffset {
+            double at(int door);
+        }
+
+        double[] offsets(DoorOffset offset) {
+            double[] o = new double[m];
+            for (int d = 0; d < m; d++) o[d] = offset.at(d);
+            return o;
+        }
+
+        // Skor: lapisan l kehilangan skor ujung tangga di langkah turun kembali
+        double[][] scoreRhs() {
+            double[][] rhs = new double[layers][];
+            rhs[NONE] = scoreGain;
+            for (int l = 1; l < layers; l++) {
+                if (revertRow[l].length == 0) {
+                    rhs[l] = scoreGain;
+                    continue;
+                }
+                rhs[l] = scoreGain.clone();
+                for (int r = 0; r < revertRow[l].length; r++) rhs[l][revertRow[l][r]] -= red * revertScore[l];
+            }
+            return rhs;
+        }
+
+        // LU tanpa pivot; aman karena I - P dominan diagonal
+        private void factor() {
+            for (int k = 0; k < n; k++) {
+                double pivot = lu[k * width + band];
+                int last = Math.min(n - 1, k + band);
+                for (int i = k + 1; i <= last; i++) {
+                    int ik = i * width + (k - i + band);
+                    if (lu[ik] == 0) continue;
+                    double f = lu[ik] / pivot;
+                    lu[ik] = f;
+                    for (int j = k + 1; j <= last; j++) {
+                        lu[i * width + (j - i + band)] -= f * lu[k * width + (j - k + band)];
+                    }
+                }
+                inverseDiagonal[k] = 1 / pivot;
+            }
+            for (int i = 0; i < n; i++) {
+                for (int j = Math.max(0, i - band); j <= Math.min(n - 1, i + band); j++) {
+                    luT[i * width + (j - i + band)] = lu[j * width + (i - j + band)];
+                }
+            }
+        }
+
+        // x = A^-1 x lewat substitusi maju (L) lalu mundur (U)
+        private void bandSolve(double[] x) {
+            for (int i = 1; i < n; i++) {
+                int base = i * width + band - i;
+                double sum = x[i];
+                for (int j = Math.max(0, i - band); j < i; j++) sum -= lu[base + j] * x[j];
+                x[i] = sum;
+            }
+            for (int i = n - 1; i >= 0; i--) {
+                int base = i * width + band - i;
+                int last = Math.min(n - 1, i + band);
+                double sum = x[i];
+                for (int j = i + 1; j <= last; j++) sum -= lu[base + j] * x[j];
+                x[i] = sum * inverseDiagonal[i];
+            }
+        }
+
+        // w = A^-T e_row: U^T z = e (maju dari row), lalu L^T w = z (mundur); baris luT = kolom lu
+        private void transposeSolve(int row, double[] w) {
+            Arrays.fill(w, 0, row, 0);
+            w[row] = inverseDiagonal[row];
+            for (int i = row + 1; i < n; i++) {
+                int base = i * width + band - i;
+                double sum = 0;
+                for (int j = Math.max(row, i - band); j < i; j++) sum -= luT[base + j] * w[j];
+                w[i] = sum * inverseDiagonal[i];
+            }
+            for (int i = n - 2; i >= 0; i--) {
+                int base = i * width + band - i;
+                int last = Math.min(n - 1, i + band);
+                double sum = w[i];
+                for (int j = i + 1; j <= last; j++) sum -= luT[base + j] * w[j];
+                w[i] = sum;
+            }
+        }
+
+        // x = A_l^-1 x (Sherman-Morrison atas A)
+        private void layerSolve(int l, double[] x) {
+            bandSolve(x);
+            if (u[l] == null) return;
+            int q = ladderEnd[l] - 1;
+            double f = x[q] / denom[l];
+            for (int i = 0; i < n; i++) x[i] -= f * u[l][i];
+        }
+
+        /**
+         * Bentuk dan faktorkan I - Z. Z[d][j] = nilai di pintu d dari satu langkah ke
+         * pintu j: baris pintu dari A_l^-1 (substitusi transpos + Sherman-Morrison)
+         * dikali kolom lompatan ke j. Baris yang sama sekalian memberi baris pintu dari
+         * A_l^-1 rhs untuk ruas kanan yang sudah diketahui (lihat {@link #doorRows}).
+         */
+        double[][] reduce(double[][]... known) {
+            double[][] rows = new double[known.length][m];
+            double[] w = new double[n];
+            for (int d = 0; d < m; d++) {
+                int l = doorLayer[d];
+                transposeSolve(doorRow[d], w);
+                if (u[l] != null) {
+                    double dot = 0;
+                    for (int r = 0; r < revertRow[l].length; r++) dot += delta[l][revertRow[l][r]] * w[revertRow[l][r]];
+                    double f = dot / denom[l];
+                    if (f != 0) for (int i = 0; i < n; i++) w[i] -= f * v[l][i];
+                }
+                for (int k = 0; k < known.length; k++) {
+                    double[] rhs = known[k][l];
+                    double dot = 0;
+                    for (int i = 0; i < n; i++) dot += w[i] * rhs[i];
+                    rows[k][d] = dot;
+                }
+                int row = d * m;
+                reduced[row + d] += 1;
+                for (int e = 0; e < jumpCount; e++) {
+                    if (replaced(l, jumpRow[e], jumpFace[e])) continue;
+                    reduced[row + jumpDoor[e]] -= w[jumpRow[e]] * jumpProb[e];
+                }
+                if (l != NONE) {
+                    for (int r = 0; r < revertRow[l].length; r++) {
+                        reduced[row + revertDoor[l][r]] -= w[revertRow[l][r]] * red;
+                    }
+                }
+            }
+            factorReduced();
+            return rows;
+        }
+
+        // LU padat dengan pivot baris parsial (m kecil: ~3 x tangga + ular)
+        private void factorReduced() {
+            for (int k = 0; k < m; k++) {
+                int best = k;
+                for (int i = k + 1; i < m; i++) {
+                    if (Math.abs(reduced[i * m + k]) > Math.abs(reduced[best * m + k])) best = i;
+                }
+                pivot[k] = best;
+                if (best != k) {
+                    for (int j = 0; j < m; j++) {
+                        double tmp = reduced[k * m + j];
+                        reduced[k * m + j] = reduced[best * m + j];
+                        reduced[best * m + j] = tmp;
+                    }
+                }
+                double d = reduced[k * m + k];
+                for (int i = k + 1; i < m; i++) {
+                    double f = reduced[i * m + k] / d;
+                    reduced[i * m + k] = f;
+                    if (f == 0) continue;
+                    for (int j = k + 1; j < m; j++) reduced[i * m + j] -= f * reduced[k * m + j];
+                }
+            }
+        }
+
+        private void solveReduced(double[] g) {
+            for (int k = 0; k < m; k++) {
+                double tmp = g[k];
+                g[k] = g[pivot[k]];
+                g[pivot[k]] = tmp;
+            }
+            for (int i = 0; i < m; i++) {
+                double sum = g[i];
+                for (int j = 0; j < i; j++) sum -= reduced[i * m + j] * g[j];
+                g[i] = sum;
+            }
+            for (int i = m - 1; i >= 0; i--) {
+                double sum = g[i];
+                for (int j = i + 1; j < m; j++) sum -= reduced[i * m + j] * g[j];
+                g[i] = sum / reduced[i * m + i];
+            }
+        }
+
+        // Nilai pintu tanpa lompatan: baris pintu dari A_l^-1 rhs_l
+        double[] doorRows(double[][] rhs) {
+            double[] rows = new double[m];
+            double[] x = new double[n];
+            for (int l = 0; l < layers; l++) {
+                if (!hasDoor(l)) continue;
+                System.arraycopy(rhs[l], 0, x, 0, n);
+                layerSolve(l, x);
+                for (int d = 0; d < m; d++) if (doorLayer[d] == l) rows[d] = x[doorRow[d]];
+            }
+            return rows;
+        }
+
+        /**
+         * Selesaikan satu ruas kanan (per lapisan, per baris; pintu = baris + offset),
+         * {@code rows} = {@link #doorRows} ruas kanan itu. Hasil: index 0..layers-1 =
+         * nilai per baris tiap lapisan (hanya jika {@code full}), index layers (atau 0
+         * jika tidak full) = nilai tiap pintu.
+         */
+        double[][] solve(double[][] rhs, double[] rows, double[] offset, boolean full) {
+            double[] g = new double[m];
+            for (int d = 0; d < m; d++) g[d] = rows[d] + offset[d];
+            solveReduced(g);
+            if (!full) return new double[][] {g};
+
+            // Nilai semua baris: A_l^-1 (rhs_l + lompatan ke pintu)
+            double[][] out = new double[layers + 1][];
+            for (int l = 0; l < layers; l++) {
+                double[] x = rhs[l].clone();
+                for (int e = 0; e < jumpCount; e++) {
+                    if (!replaced(l, jumpRow[e], jumpFace[e])) x[jumpRow[e]] += jumpProb[e] * g[jumpDoor[e]];
+                }
+                if (l != NONE) {
+                    for (int r = 0; r < revertRow[l].length; r++) x[revertRow[l][r]] += red * g[revertDoor[l][r]];
+                }
+                layerSolve(l, x);
+                out[l] = x;
+            }
+            // Pintu harus cocok dengan barisnya sendiri
+            for (int d = 0; d < m; d++) {
+                double row = out[doorLayer[d]][doorRow[d]] + offset[d];
+                if (Math.abs(row - g[d]) > TOLERANCE * Math.max(1, Math.abs(g[d]))) converged = false;
+            }
+            out[layers] = g;
+            return out;
+        }
+
+        private boolean hasDoor(int l) {
+            for (int d = 0; d < m; d++) if (doorLayer[d] == l) return true;
+            return false;
+        }
+    }
+
+    // ===========================
+    // MEMBANGUN RANTAI (UNTUK PROPAGASI)
+    // ===========================
+    private void buildChain() {
+        if (stateCount > 0) return;
+        long keySpace = (long) (finish + 1) * ladderStart.length * 2;
+        if (keySpace <= DENSE_INDEX_LIMIT) {
+            denseIndex = new int[(int) keySpace];
+            Arrays.fill(denseIndex, -1);
+        } else {
+            sparseIndex = new HashMap<>();
+        }
+        startState = intern(1, NONE, false);
+
+        // BFS: state baru ditambahkan di belakang selama loop berjalan
+        for (int s = 0; s < stateCount; s++) {
+            if (s + 1 >= rowStart.length) rowStart = Arrays.copyOf(rowStart, rowStart.length * 2);
+            rowStart[s] = edgeCount;
+            int pos = statePos[s];
+            int ladder = stateLadder[s];
+            boolean extra = stateExtra[s];
+            for (int d = 1; d <= GameRules.DICE_FACES; d++) {
+                addOutcome(pos, ladder, extra, d, green);
+                addOutcome(pos, ladder, extra, -d, red);
+            }
+        }
+        rowStart[stateCount] = edgeCount;
+
+        // Indeks state hanya dibutuhkan saat membangun
+        denseIndex = null;
+        sparseIndex = null;
+    }
+
+    private void addOutcome(int pos, int ladder, boolean extra, int steps, double p) {
+        int t = GameRules.moveTarget(pos, steps, finish);
+
+        // Mundur ke ujung tangga terakhir: turun kembali, bonus giliran tetap
+        if (steps < 0 && ladder != NONE && t == ladderEnd[ladder]) {
+            addEdge(intern(ladderStart[ladder], NONE, extra), p);
+            return;
+        }
+
+        // Lompatan, finish dan bonus dari tabel aturan yang sama dengan GameSession
+        long action = rules.action(t);
+        int nextLadder = ladder;
+        if (CellRules.has(action, CellRules.LADDER)) nextLadder = Arrays.binarySearch(ladderStart, 1, ladderStart.length, t);
+        else if (CellRules.has(action, CellRules.SNAKE)) nextLadder = NONE;
+
+        if (CellRules.has(action, CellRules.FINISH)) {
+            addEdge(ABSORBED, p);
+        } else {
+            addEdge(intern(CellRules.dest(action), nextLadder, CellRules.has(action, CellRules.BONUS)), p);
+        }
+    }
+
+    private void addEdge(int to, double p) {
+        if (edgeCount == target.length) {
+            int cap = target.length * 2;
+            target = Arrays.copyOf(target, cap);
+            prob = Arrays.copyOf(prob, cap);
+        }
+        target[edgeCount] = to;
+        prob[edgeCount] = p;
+        edgeCount++;
+    }
+
+    private int intern(int pos, int ladder, boolean extra) {
+        long key = ((long) pos * ladderStart.length + ladder) * 2 + (extra ? 1 : 0);
+        if (denseIndex != null) {
+            int id = denseIndex[(int) key];
+            if (id >= 0) return id;
+            id = newState(pos, ladder, extra);
+            denseIndex[(int) key] = id;
+            return id;
+        }
+        Integer id = sparseIndex.get(key);
+        if (id != null) return id;
+        int created = newState(pos, ladder, extra);
+        sparseIndex.put(key, created);
+        return created;
+    }
+
+    private int newState(int pos, int ladder, boolean extra) {
+        if (stateCount == statePos.length) {
+            int cap = statePos.length * 2;
+            statePos = Arrays.copyOf(statePos, cap);
+            stateLadder = Arrays.copyOf(stateLadder, cap);
+            stateExtra = Arrays.copyOf(stateExtra, cap);
+        }
+        statePos[stateCount] = pos;
+        stateLadder[stateCount] = ladder;
+        stateExtra[stateCount] = extra;
+        return stateCount++;
+    }
+
+    // ===========================
+    // DISTRIBUSI JUMLAH GILIRAN
+    // ===========================
+    private void computeDistribution(Result result, int maxTurns) {
+        // Perkiraan biaya propagasi sampai rata-rata: state x transisi x giliran
+        double estimate = (double) (finish - 1) * ladderStart.length * OUTCOMES * result.expectedTurns;
+        if (estimate > PROPAGATION_WORK) {
+            fitTail(result, new double[] {0}, 0, 1.0);
+            return;
+        }
+        buildChain();
+
+        int n = stateCount;
+        double[] slotStart = new double[n];   // massa di awal giliran
+        double[] extraRoll = new double[n];   // massa yang masih melempar di giliran yang sama
+        double[] nextSlot = new double[n];
+        double[] pending = new double[n];
+        double[] dist = new double[64];
+
+        slotStart[startState] = 1.0;
+        double alive = 1.0;
+        double hazard = 0;
+        int steady = 0;
+        long work = 0;
+        int turn = 0;
+        while (alive > TAIL_EPSILON && turn < maxTurns && work < PROPAGATION_WORK && steady < SETTLE_TURNS) {
+            turn++;
+            double finished = 0;
+            double[] rolling = slotStart;
+            double rollingMass = alive;
+
+            while (rollingMass > TAIL_EPSILON * TAIL_EPSILON) {
+                Arrays.fill(pending, 0);
+                rollingMass = 0;
+                work += edgeCount;
+                for (int s = 0; s < n; s++) {
+                    double m = rolling[s];
+                    if (m == 0) continue;
+                    for (int e = rowStart[s]; e < rowStart[s + 1]; e++) {
+                        int to = target[e];
+                        double mass = m * prob[e];
+                        if (to == ABSORBED) {
+                            finished += mass;
+                        } else if (stateExtra[to]) {
+                            pending[to] += mass;
+                            rollingMass += mass;
+                        } else {
+                            nextSlot[to] += mass;
+                        }
+                    }
+                }
+                double[] tmp = extraRoll;
+                extraRoll = pending;
+                pending = tmp;
+                rolling = extraRoll;
+            }
+
+            if (turn == dist.length) dist = Arrays.copyOf(dist, dist.length * 2);
+            dist[turn] = finished;
+            // Laju selesai (peluang selesai giliran ini jika belum selesai) stabil = ekor geometrik
+            double h = finished / alive;
+            steady = h > 0 && Math.abs(h - hazard) <= SETTLE_TOLERANCE * h ? steady + 1 : 0;
+            hazard = h;
+            alive -= finished;
+
+            double[] tmp = slotStart;
+            slotStart = nextSlot;
+            nextSlot = tmp;
+            Arrays.fill(nextSlot, 0);
+        }
+
+        result.exactTurns = turn;
+        if (alive <= TAIL_EPSILON) {
+            result.distribution = Distribution.EXACT;
+            result.turnDistribution = Arrays.copyOf(dist, turn + 1);
+            result.unresolvedMass = Math.max(0, alive);
+        } else if (steady >= SETTLE_TURNS) {
+            geometricTail(result, dist, turn, alive, hazard);
+        } else {
+            fitTail(result, dist, turn, alive);
+        }
+    }
+
+    // Setelah laju selesai stabil di h: P(selesai di giliran t + k) = alive (1 - h)^(k-1) h
+    private void geometricTail(Result result, double[] head, int turn, double alive, double h) {
+        int length = (int) Math.min(MAX_DISTRIBUTION_TURNS,
+                turn + 1 + Math.ceil(Math.log(TAIL_EPSILON / alive) / Math.log1p(-h)));
+        double[] dist = Arrays.copyOf(head, Math.max(length, turn + 1));
+        for (int t = turn + 1; t < dist.length; t++) {
+            dist[t] = alive * h;
+            alive -= dist[t];
+        }
+        result.distribution = Distribution.GEOMETRIC_TAIL;
+        result.tailHazard = h;
+        result.turnDistribution = dist;
+        result.unresolvedMass = Math.max(0, alive);
+    }
+
+    /**
+     * Sisa massa setelah giliran {@code turn} mengikuti gamma bergeser yang tiga
+     * momennya sama dengan momen eksak jumlah giliran (dikondisikan T > turn).
+     * Tanpa kemencengan positif: gamma dua momen tanpa geseran.
+     */
+    private void fitTail(Result result, double[] head, int turn, double alive) {
+        double mean = result.expectedTurns;
+        double variance = Math.max(0, result.turnMoment2 - mean * mean);
+        double third = result.turnMoment3 - 3 * mean * result.turnMoment2 + 2 * mean * mean * mean;
+        double shape, scale, shift;
+        if (third > 0 && variance > 0) {
+            shape = 4 * variance * variance * variance / (third * third);
+            scale = third / (2 * variance);
+            shift = mean - shape * scale;
+        } else {
+            shape = variance > 0 ? mean * mean / variance : 1;
+            scale = variance > 0 ? variance / mean : mean;
+            shift = 0;
+        }
+        result.distribution = Distribution.MOMENT_FIT;
+        result.fitShape = shape;
+        result.fitScale = scale;
+        result.fitShift = shift;
+
+        // Bobot = densitas gamma di giliran t; berhenti saat sisa ekor (batas geometrik) < epsilon
+        double logNorm = logGamma(shape) + shape * Math.log(scale);
+        double mode = shift + Math.max(0, shape - 1) * scale;
+        double[] dist = Arrays.copyOf(head, Math.max(64, turn + 1));
+        double sum = 0;
+        double tail = -1;
+        int t = turn;
+        while (tail < 0 && t + 1 < MAX_DISTRIBUTION_TURNS) {
+            t++;
+            double x = t - shift;
+            double w = x <= 0 ? 0 : Math.exp((shape - 1) * Math.log(x) - x / scale - logNorm);
+            if (t == dist.length) dist = Arrays.copyOf(dist, dist.length * 2);
+            dist[t] = w;
+            sum += w;
+            if (t > mode && w > 0 && x > 1) {
+                double ratio = Math.exp((shape - 1) * Math.log1p(1 / x) - 1 / scale);
+                double rest = w * ratio / (1 - ratio);
+                if (ratio < 1 && rest <= TAIL_EPSILON * sum) tail = rest;
+            }
+        }
+        // Ditimbang ulang ke sisa massa; jika batas panjang tercapai, pdf gamma dipakai apa adanya
+        // dan massa di luar array dilaporkan sebagai sisa (persentilnya "n/a")
+        double f = tail >= 0 ? alive / (sum + tail) : 1;
+        for (int i = turn + 1; i <= t; i++) dist[i] *= f;
+        result.turnDistribution = Arrays.copyOf(dist, t + 1);
+        result.unresolvedMass = Math.max(0, alive - f * sum);
+    }
+
+    // Lanczos (g = 7, 9 suku), galat relatif ~1e-15
+    private static final double[] LANCZOS = {
+        0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+        -176.61502916214059, 12.507343278686905, -0.13857109526572012,
+        9.9843695780195716e-6, 1.5056327351493116e-7
+    };
+
+    static double logGamma(double x) {
+        if (x < 0.5) return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        x -= 1;
+        double a = LANCZOS[0];
+        double t = x + 7.5;
+        for (int i = 1; i < LANCZOS.length; i++) a += LANCZOS[i] / (x + i);
+        return 0.5 * Math.log(2 * Math.PI) + (x + 0.5) * Math.log(t) - t + Math.log(a);
+    }
+
+    // ===========================
+    // HASIL
+    // ===========================
+    public static class Result {
+        private double expectedTurns;
+        private double expectedRolls;
+        private double expectedScore;
+        private double turnMoment2;
+        private double turnMoment3;
+        private double[] turnDistribution = new double[0];
+        private double unresolvedMass;
+        private Distribution distribution = Distribution.NONE;
+        private int exactTurns;
+        private double tailHazard;
+        private double fitShape;
+        private double fitScale;
+        private double fitShift;
+        private int layerCount;
+        private int doorCount;
+        private int stateCount;
+        private int transitionCount;
+        private boolean converged = true;
+        private long solveNanos;
+        private long distributionNanos;
+
+        // Getters
+        public double getExpectedTurns() { return expectedTurns; }
+        public double getExpectedRolls() { return expectedRolls; }
+        public double getExpectedScore() { return expectedScore; }
+        public double getTurnStdDev() { return Math.sqrt(Math.max(0, turnMoment2 - expectedTurns * expectedTurns)); }
+        public double getUnresolvedMass() { return unresolvedMass; }
+        public Distribution getDistribution() { return distribution; }
+        public int getExactTurns() { return exactTurns; }
+        public int getLayerCount() { return layerCount; }
+        public int getDoorCount() { return doorCount; }
+        public int getStateCount() { return stateCount; }
+        public int getTransitionCount() { return transitionCount; }
+        public boolean isConverged() { return converged; }
+
+        /** Peluang selesai tepat di giliran ke-t (index 0 selalu 0); lihat {@link #getDistribution()}. */
+        public double[] getTurnDistribution() { return turnDistribution.clone(); }
+
+        public double probabilityFinishedBy(int turn) {
+            double sum = 0;
+            for (int t = 1; t <= turn && t < turnDistribution.length; t++) sum += turnDistribution[t];
+            return sum;
+        }
+
+        /** Giliran terkecil dengan peluang selesai >= p, atau -1 jika tidak tercapai di distribusi. */
+        public int turnPercentile(double p) {
+            double sum = 0;
+            for (int t = 1; t < turnDistribution.length; t++) {
+                sum += turnDistribution[t];
+                if (sum >= p) return t;
+            }
+            return -1;
+        }
+
+        public String toReport() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(Locale.ROOT, "Sistem         : %d lapisan tangga, %d pintu%s%n", layerCount, doorCount,
+                    stateCount > 0 ? String.format(Locale.ROOT, " | rantai %,d state (%,d transisi)", stateCount, transitionCount) : ""));
+            sb.append(String.format(Locale.ROOT, "Waktu          : solve %.2f ms%s | distribusi %.2f ms%n",
+                    solveNanos / 1e6, converged ? "" : " (TIDAK KONSISTEN)", distributionNanos / 1e6));
+            sb.append(String.format(Locale.ROOT, "Harapan giliran: %.4f (simpangan %.2f)%n", expectedTurns, getTurnStdDev()));
+            sb.append(String.format(Locale.ROOT, "Harapan lempar: %.4f%n", expectedRolls));
+            sb.append(String.format(Locale.ROOT, "Harapan skor  : %.2f%n", expectedScore));
+            if (distribution != Distribution.NONE) {
+                sb.append(String.format(Locale.ROOT, "Giliran p50 %s | p90 %s | p99 %s (%s)%n",
+                        percentileText(0.5), percentileText(0.9), percentileText(0.99), sourceText()));
+            }
+            return sb.toString();
+        }
+
+        private String percentileText(double p) {
+            int t = turnPercentile(p);
+            return t < 0 ? "n/a" : Integer.toString(t);
+        }
+
+        private String sourceText() {
+            switch (distribution) {
+                case EXACT:
+                    return String.format(Locale.ROOT, "eksak, sisa massa %.2e", unresolvedMass);
+                case GEOMETRIC_TAIL:
+                    return String.format(Locale.ROOT, "eksak s/d giliran %d, lalu ekor geometrik %.3e/giliran",
+                            exactTurns, tailHazard);
+                default:
+                    String fit = String.format(Locale.ROOT, "gamma 3 momen: bentuk %.3g, skala %.4g, geser %.4g",
+                            fitShape, fitScale, fitShift);
+                    if (exactTurns == 0) return fit;
+                    return String.format(Locale.ROOT, "eksak s/d giliran %d (%.2f%% massa), sisanya %s",
+                            exactTurns, 100 * probabilityFinishedBy(exactTurns), fit);
+            }
+        }
+    }
+
+    // Pemakaian: java MarkovAnalyzer                       -> papan standar
+    //            java MarkovAnalyzer N L [seed] [maxTurns] -> papan acak N petak dengan L tangga dan L ular
+    // maxTurns membatasi propagasi eksak distribusi giliran (0 = tanpa distribusi)
+    public static void main(String[] args) {
+        CompiledBoard board;
+        int maxTurns = DEFAULT_MAX_TURNS;
+        if (args.length >= 2) {
+            int size = Integer.parseInt(args[0]);
+            int jumps = Integer.parseInt(args[1]);
+            long seed = args.length > 2 ? Long.parseLong(args[2]) : 1L;
+            if (args.length > 3) maxTurns = Integer.parseInt(args[3]);
+            board = randomBoard(size, jumps, RandomSource.seeded(seed));
+        } else {
+            board = new GameBoard().getCompiled();
+        }
+
+        Result result = new MarkovAnalyzer(board).analyze(maxTurns);
+        System.out.println("Papan " + board.getSize() + " petak, "
+                + board.getLadders().size() + " tangga, " + board.getSnakes().size() + " ular");
+        System.out.print(result.toReport());
+    }
+
+    private static CompiledBoard randomBoard(int size, int jumps, RandomSource rand) {
+        Map<Integer, Integer> ladders = new TreeMap<>();
+        Map<Integer, Integer> snakes = new TreeMap<>();
+        Map<Integer, Integer> scores = new HashMap<>();
+        TreeSet<Integer> used = new TreeSet<>();
+        used.add(1);
+        used.add(size);
+
+        while (ladders.size() < jumps || snakes.size() < jumps) {
+            int a = 2 + rand.nextInt(size - 2);
+            int b = 2 + rand.nextInt(size - 2);
+            if (a == b || used.contains(a) || used.contains(b)) continue;
+            int lo = Math.min(a, b), hi = Math.max(a, b);
+            if (ladders.size() < jumps) ladders.put(lo, hi);
+            else snakes.put(hi, lo);
+            used.add(a);
+            used.add(b);
+        }
+        for (int i = 1; i <= size; i++) scores.put(i, rand.nextInt(50) + 10);
+        return CompiledBoard.compile(size, ladders, snakes, scores);
+    }
+}
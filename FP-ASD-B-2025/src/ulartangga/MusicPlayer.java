@@ -0,0 +1,255 @@
+package ulartangga;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.net.URL;
+
+// ===========================
+// PEMUTAR MUSIK STREAMING
+// ===========================
+
+/**
+ * Memutar musik latar secara streaming, berulang tanpa jeda. Tidak memakai
+ * {@link javax.sound.sampled.Clip}, yang menyimpan seluruh lagu sebagai PCM di memori.
+ *
+ * Thread "music-decoder" men-decode sumber (WAV/PCM, atau MP3 lewat SPI mp3spi) ke
+ * PCM 16-bit dan mengisi ring buffer kecil (~{@value #RING_MILLIS} ms). Begitu lagu
+ * habis, sumber langsung dibuka ulang sementara ring masih berisi audio, jadi
+ * loop-nya mulus. Thread "music-line" mengosongkan ring ke {@link SourceDataLine}.
+ *
+ * Saat dijeda kedua thread hanya menunggu (tanpa CPU). {@link #close()} menutup
+ * line dan stream lalu menunggu kedua thread selesai.
+ */
+final class MusicPlayer implements AutoCloseable {
+
+    private static final int RING_MILLIS = 500;
+    private static final int LINE_MILLIS = 100;
+    private static final int CHUNK_BYTES = 4096;
+    private static final long JOIN_MILLIS = 1000;
+
+    private final URL source;
+    private final AudioFormat format;
+    private final SourceDataLine line;
+    private final ByteRing ring;
+    private final Thread decoder;
+    private final Thread player;
+
+    // Stream pertama dibuka di open() (untuk tahu formatnya), lalu dimiliki thread decoder
+    private AudioInputStream firstStream;
+    private boolean started;
+    private volatile boolean playing;
+    private volatile boolean closed;
+    private volatile int loops;
+
+    private MusicPlayer(URL source, AudioInputStream stream, SourceDataLine line) {
+        this.source = source;
+        this.firstStream = stream;
+        this.format = stream.getFormat();
+        this.line = line;
+        this.ring = new ByteRing(alignedBytes(format, RING_MILLIS));
+        this.decoder = new Thread(this::decodeLoop, "music-decoder");
+        this.player = new Thread(this::playLoop, "music-line");
+        decoder.setDaemon(true);
+        player.setDaemon(true);
+    }
+
+    /** Buka sumber dan line audio (lambat: panggil di thread latar). Belum diputar. */
+    public static MusicPlayer open(URL source)
+            throws IOException, UnsupportedAudioFileException, LineUnavailableException {
+        AudioInputStream pcm = openPcm(source);
+        try {
+            AudioFormat format = pcm.getFormat();
+            SourceDataLine line = AudioSystem.getSourceDataLine(format);
+            line.open(format, alignedBytes(format, LINE_MILLIS));
+            return new MusicPlayer(source, pcm, line);
+        } catch (LineUnavailableException | RuntimeException e) {
+            pcm.close();
+            throw e;
+        }
+    }
+
+    // Sumber apa pun yang dikenali AudioSystem, dikonversi ke PCM 16-bit little-endian
+    private static AudioInputStream openPcm(URL source) throws IOException, UnsupportedAudioFileException {
+        AudioInputStream in = AudioSystem.getAudioInputStream(source);
+        AudioFormat f = in.getFormat();
+        if (f.getEncoding() == AudioFormat.Encoding.PCM_SIGNED && f.getSampleSizeInBits() == 16 && !f.isBigEndian()) {
+            return in;
+        }
+        AudioFormat pcm = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED, f.getSampleRate(), 16,
+                f.getChannels(), f.getChannels() * 2, f.getSampleRate(), false);
+        return AudioSystem.getAudioInputStream(pcm, in);
+    }
+
+    private static int alignedBytes(AudioFormat f, int millis) {
+        int frame = Math.max(1, f.getFrameSize());
+        long frames = Math.max(1, (long) (f.getFrameRate() * millis / 1000));
+        return (int) (frames * frame);
+    }
+
+    // ===========================
+    // KONTROL
+    // ===========================
+
+    /** Mulai atau lanjutkan pemutaran. */
+    public synchronized void start() {
+        if (closed) return;
+        if (!started) {
+            started = true;
+            decoder.start();
+            player.start();
+        }
+        line.start();
+        playing = true;
+    }
+
+    /** Jeda; buffer dan posisi lagu tetap, thread menunggu tanpa CPU. */
+    public synchronized void pause() {
+        if (closed) return;
+        line.stop();
+        playing = false;
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            playing = false;
+        }
+        ring.close();
+        line.stop();
+        line.flush();
+        line.close();
+        try {
+            decoder.join(JOIN_MILLIS);
+            player.join(JOIN_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Thread decoder tidak pernah jalan: stream pertama masih milik kita
+        synchronized (this) {
+            if (!started) closeQuietly(firstStream);
+        }
+    }
+
+    public boolean isPlaying() { return playing; }
+    public boolean isClosed() { return closed; }
+    public int getLoops() { return loops; }
+    public AudioFormat getFormat() { return format; }
+
+    /** Memori audio yang dipakai: ring buffer + buffer line. */
+    public int getBufferBytes() { return ring.capacity() + line.getBufferSize(); }
+
+    // ===========================
+    // THREAD
+    // ===========================
+
+    private void decodeLoop() {
+        AudioInputStream in;
+        synchronized (this) {
+            in = firstStream;
+            firstStream = null;
+        }
+        byte[] buf = new byte[CHUNK_BYTES - CHUNK_BYTES % Math.max(1, format.getFrameSize())];
+        try {
+            while (!closed) {
+                int n = in.read(buf, 0, buf.length);
+                if (n < 0) {
+                    // Akhir lagu: buka ulang sekarang, ring masih cukup untuk menutup jeda decode
+                    closeQuietly(in);
+                    in = openPcm(source);
+                    loops++;
+                } else if (n > 0) {
+                    ring.write(buf, 0, n);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | UnsupportedAudioFileException | RuntimeException e) {
+            if (!closed) System.out.println("Musik berhenti: " + e.getMessage());
+        } finally {
+            closeQuietly(in);
+            ring.close();
+        }
+    }
+
+    private void playLoop() {
+        byte[] buf = new byte[CHUNK_BYTES - CHUNK_BYTES % Math.max(1, format.getFrameSize())];
+        int frame = Math.max(1, format.getFrameSize());
+        try {
+            int n;
+            while ((n = ring.read(buf, frame)) > 0) {
+                // Menunggu di sini saat dijeda (line berhenti dan buffernya penuh)
+                line.write(buf, 0, n);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(AudioInputStream in) {
+        if (in == null) return;
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // sudah tidak dipakai
+        }
+    }
+
+    // ===========================
+    // RING BUFFER
+    // ===========================
+
+    // Satu penulis (decoder), satu pembaca (line); keduanya menunggu saat penuh/kosong
+    private static final class ByteRing {
+        private final byte[] data;
+        private int head;
+        private int size;
+        private boolean closed;
+
+        ByteRing(int capacity) {
+            this.data = new byte[capacity];
+        }
+
+        int capacity() { return data.length; }
+
+        synchronized void write(byte[] b, int off, int len) throws InterruptedException {
+            while (len > 0) {
+                while (size == data.length && !closed) wait();
+                if (closed) return;
+                int tail = (head + size) % data.length;
+                int n = Math.min(len, Math.min(data.length - size, data.length - tail));
+                System.arraycopy(b, off, data, tail, n);
+                size += n;
+                off += n;
+                len -= n;
+                notifyAll();
+            }
+        }
+
+        // Jumlah byte dibulatkan ke kelipatan frame; -1 setelah ditutup
+        synchronized int read(byte[] b, int align) throws InterruptedException {
+            while (size < align && !closed) wait();
+            if (closed) return -1;
+            int want = Math.min(b.length, size);
+            want -= want % align;
+            int first = Math.min(want, data.length - head);
+            System.arraycopy(data, head, b, 0, first);
+            System.arraycopy(data, 0, b, first, want - first);
+            head = (head + want) % data.length;
+            size -= want;
+            notifyAll();
+            return want;
+        }
+
+        synchronized void close() {
+            closed = true;
+            notifyAll();
+        }
+    }
+}
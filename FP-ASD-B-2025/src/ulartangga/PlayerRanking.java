@@ -0,0 +1,224 @@
+package ulartangga;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// ===========================
+// PERINGKAT PEMAIN (INDEXED SKIP LIST)
+// ===========================
+
+/**
+ * Urutan pemain menurut {@link Player#compareTo} (skor tertinggi dulu) yang bisa
+ * diperbarui per pemain. Skip list dengan "span" per pointer, jadi tambah, hapus,
+ * cari peringkat, dan ambil pemain ke-k semuanya O(log n).
+ *
+ * Skor yang dipakai untuk mengurutkan adalah salinan saat pemain terakhir
+ * dimasukkan, jadi setelah {@code addScore} panggil {@link #update(Player)}.
+ * Skor sama diurutkan menurut urutan pemain didaftarkan (stabil).
+ */
+final class PlayerRanking {
+
+    private static final int MAX_LEVEL = 32;
+
+    private static final class Node {
+        final Player player;
+        final long seq;
+        final int score;
+        final Node[] next;
+        final int[] span;
+
+        Node(Player player, int score, long seq, int level) {
+            this.player = player;
+            this.score = score;
+            this.seq = seq;
+            this.next = new Node[level];
+            this.span = new int[level];
+        }
+    }
+
+    private final Node head = new Node(null, 0, 0, MAX_LEVEL);
+    private final Map<Player, Node> nodes = new IdentityHashMap<>();
+    private final SplittableRandom random = new SplittableRandom(0x5EEDL);
+    private int level = 1;
+    private int size;
+    private long nextSeq;
+
+    // Kursor untuk akses berurutan (JTable menggambar baris demi baris)
+    private int cursorRank = -1;
+    private Node cursorNode;
+
+    public int size() { return size; }
+
+    public boolean contains(Player p) { return nodes.containsKey(p); }
+
+    /** Tambah pemain; mengembalikan peringkat (0 = teratas). */
+    public int add(Player p) {
+        if (nodes.containsKey(p)) throw new IllegalArgumentException("Pemain sudah ada: " + p);
+        Node node = insert(p, p.getScore(), nextSeq++);
+        nodes.put(p, node);
+        return rankOf(node);
+    }
+
+    /** Hapus pemain; mengembalikan peringkat lamanya, atau -1 jika tidak ada. */
+    public int remove(Player p) {
+        Node node = nodes.remove(p);
+        return node == null ? -1 : delete(node);
+    }
+
+    /**
+     * Sinkronkan posisi pemain dengan skornya sekarang.
+     * Mengembalikan {rankLama, rankBaru}; keduanya sama jika urutan tidak berubah.
+     */
+    public int[] update(Player p) {
+        Node node = nodes.get(p);
+        if (node == null) throw new IllegalArgumentException("Pemain tidak ada: " + p);
+        if (node.score == p.getScore()) {
+            int r = rankOf(node);
+            return new int[] {r, r};
+        }
+        int oldRank = delete(node);
+        Node moved = insert(p, p.getScore(), node.seq);
+        nodes.put(p, moved);
+        return new int[] {oldRank, rankOf(moved)};
+    }
+
+    /** Peringkat pemain (0 = teratas), atau -1 jika tidak ada. */
+    public int rankOf(Player p) {
+        Node node = nodes.get(p);
+        return node == null ? -1 : rankOf(node);
+    }
+
+    /** Pemain di peringkat ke-{@code rank} (0 = teratas). */
+    public Player get(int rank) {
+        if (rank < 0 || rank >= size) throw new IndexOutOfBoundsException("rank " + rank + ", size " + size);
+
+        if (cursorNode != null) {
+            if (rank == cursorRank) return cursorNode.player;
+            if (rank == cursorRank + 1) {
+                cursorNode = cursorNode.next[0];
+                cursorRank = rank;
+                return cursorNode.player;
+            }
+        }
+
+        int target = rank + 1;
+        int traversed = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && traversed + x.span[i] <= target) {
+                traversed += x.span[i];
+                x = x.next[i];
+            }
+            if (traversed == target) break;
+        }
+        cursorNode = x;
+        cursorRank = rank;
+        return x.player;
+    }
+
+    public void clear() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            head.next[i] = null;
+            head.span[i] = 0;
+        }
+        nodes.clear();
+        level = 1;
+        size = 0;
+        cursorNode = null;
+    }
+
+    // ===========================
+    // INTERNAL SKIP LIST
+    // ===========================
+
+    // a sebelum (score, seq)? Skor lebih tinggi dulu, lalu yang lebih dulu terdaftar
+    private static boolean before(Node a, int score, long seq) {
+        return a.score > score || (a.score == score && a.seq < seq);
+    }
+
+    private int randomLevel() {
+        int lvl = 1;
+        while (lvl < MAX_LEVEL && (random.nextInt() & 3) == 0) lvl++;
+        return lvl;
+    }
+
+    private Node insert(Player p, int score, long seq) {
+        Node[] update = new Node[MAX_LEVEL];
+        int[] rank = new int[MAX_LEVEL];
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            rank[i] = i == level - 1 ? 0 : rank[i + 1];
+            while (x.next[i] != null && before(x.next[i], score, seq)) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        int lvl = randomLevel();
+        if (lvl > level) {
+            for (int i = level; i < lvl; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            level = lvl;
+        }
+
+        Node node = new Node(p, score, seq, lvl);
+        for (int i = 0; i < lvl; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+        for (int i = lvl; i < level; i++) update[i].span[i]++;
+
+        size++;
+        cursorNode = null;
+        return node;
+    }
+
+    private int delete(Node target) {
+        Node[] update = new Node[MAX_LEVEL];
+        int rank = 0;
+
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], target.score, target.seq)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        for (int i = 0; i < level; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (level > 1 && head.next[level - 1] == null) level--;
+
+        size--;
+        cursorNode = null;
+        return rank;
+    }
+
+    // Jumlah node sebelum target = peringkat 0-based
+    private int rankOf(Node target) {
+        int rank = 0;
+        Node x = head;
+        for (int i = level - 1; i >= 0; i--) {
+            while (x.next[i] != null && before(x.next[i], target.score, target.seq)) {
+                rank += x.span[i];
+                x = x.next[i];
+            }
+        }
+        return rank;
+    }
+}
@@ -0,0 +1,760 @@
+package ulartangga;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+// ===========================
+// PROFIL & STATISTIK PEMAIN
+// ===========================
+
+/**
+ * Penyimpanan profil pemain (karakter terakhir, jumlah game, menang, skor) dan
+ * hasil setiap game, tahan restart. File di satu folder:
+ * <pre>
+ *   games.log          append-only: satu record per game (CRC per record, ekor rusak dipotong)
+ *   profiles-&lt;n&gt;.idx  indeks generasi n, hasil kompaksi log sampai offset tertentu, di-mmap:
+ *                      profil terurut nama (binary search), urutan peringkat menang,
+ *                      dan {@value #TOP_SCORES} skor game tertinggi sepanjang masa
+ *                      (nama + karakter game itu sendiri, bukan profil saat ini)
+ *   profiles.cur       nomor generasi indeks yang berlaku
+ * </pre>
+ * Game setelah offset indeks ada di delta memori (diputar ulang dari ekor log
+ * saat dibuka); setelah {@value #COMPACT_EVERY} game delta digabung ke indeks
+ * generasi baru. File indeks tidak pernah ditimpa: di Windows file yang masih
+ * di-map tidak bisa di-rename atau dihapus, jadi kompaksi menulis file baru lalu
+ * memindah penunjuk (rename atomik), dan generasi lama dihapus begitu bisa.
+ * Kompaksi yang gagal tidak menggagalkan pencatatan game (sudah aman di log);
+ * dicoba lagi setelah {@value #COMPACT_EVERY} game berikutnya. Query menggabungkan indeks dan delta,
+ * jadi tidak pernah memindai seluruh riwayat: cari nama O(log n), top-N O(N + delta).
+ * Profil yang baru dicari disimpan di cache LRU kecil.
+ *
+ * Semua method synchronized; tulis (recordGame, kompaksi) sebaiknya dari thread
+ * latar, baca cukup cepat untuk EDT.
+ */
+final class PlayerStore implements Closeable {
+
+    // -Dgame.profiles=folder mengganti lokasi; -Dgame.profiles= (kosong) mematikan
+    public static final String PATH_PROPERTY = "game.profiles";
+
+    public static final int TOP_SCORES = 10_000;
+    public static final int COMPACT_EVERY = 4_096;
+    private static final int HOT_CACHE = 256;
+    private static final int MAX_STRING = 64;
+
+    private static final int LOG_MAGIC = 0x554C504C;   // "ULPL"
+    private static final int INDEX_MAGIC = 0x554C5049; // "ULPI"
+    private static final short VERSION = 1;
+    // v2: skor menyimpan nama + karakter game itu sendiri (v1 merujuk profil); v1 dibangun ulang dari log
+    private static final short INDEX_VERSION = 2;
+    private static final int LOG_HEADER = 16;
+    private static final int INDEX_HEADER = 48;
+    private static final int ENTRY_SIZE = 40;
+    private static final int SCORE_SIZE = 24;
+
+    private static final Comparator<Profile> BY_RANK = Comparator
+            .comparingInt(Profile::getWins).reversed()
+            .thenComparing(Comparator.comparingLong(Profile::getTotalScore).reversed())
+            .thenComparing(Profile::getKey);
+    private static final Comparator<Result> BY_SCORE = Comparator
+            .comparingInt(Result::getScore).reversed()
+            .thenComparingLong(Result::getMillis);
+
+    private final Path dir;
+    private final Path logFile;
+    private final Path pointerFile;
+    private final FileChannel log;
+    private long logLength;
+
+    // Indeks (null = belum ada); generasi 0 = belum pernah dikompaksi
+    private MappedByteBuffer index;
+    private long indexGen;
+    private int indexProfiles;
+    private int indexScores;
+    private int entriesOff, rankOff, scoresOff, heapOff;
+    private long indexGames;
+
+    // Delta sejak indeks: profil lengkap (sudah digabung dengan indeks) + hasil game
+    private final Map<String, Profile> delta = new HashMap<>();
+    private final List<Result> deltaResults = new ArrayList<>();
+    private int deltaNewProfiles;
+    private int deltaGames;
+    private int compactAt = COMPACT_EVERY;
+    // Delta terurut untuk top-N, dibuang setiap ada game baru
+    private List<Profile> rankedDelta;
+    private List<Result> scoredDelta;
+
+    private final Map<String, Profile> hot = new LinkedHashMap<String, Profile>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Profile> eldest) {
+            return size() > HOT_CACHE;
+        }
+    };
+
+    private PlayerStore(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        this.dir = dir;
+        this.logFile = dir.resolve("games.log");
+        this.pointerFile = dir.resolve("profiles.cur");
+        this.log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /** Buka (atau buat) penyimpanan di {@code dir}. */
+    public static PlayerStore open(Path dir) throws IOException {
+        PlayerStore store = new PlayerStore(dir);
+        try {
+            store.load();
+            return store;
+        } catch (IOException | RuntimeException e) {
+            store.log.close();
+            throw e;
+        }
+    }
+
+    /** Lokasi default (~/.ulartangga/profiles), atau null jika dimatikan. */
+    public static Path defaultDir() {
+        String prop = System.getProperty(PATH_PROPERTY);
+        if (prop != null) return prop.isEmpty() ? null : Paths.get(prop);
+        return Paths.get(System.getProperty("user.home"), ".ulartangga", "profiles");
+    }
+
+    static String keyOf(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // ===========================
+    // DATA
+    // ===========================
+
+    /** Statistik sepanjang masa satu pemain (immutable). */
+    static final class Profile {
+        private final String key;
+        private final String name;
+        private final String character;
+        private final int games;
+        private final int wins;
+        private final int bestScore;
+        private final long totalScore;
+        private final long lastPlayed;
+
+        Profile(String key, String name, String character, int games, int wins, int bestScore,
+                long totalScore, long lastPlayed) {
+            this.key = key;
+            this.name = name;
+            this.character = character;
+            this.games = games;
+            this.wins = wins;
+            this.bestScore = bestScore;
+            this.totalScore = totalScore;
+            this.lastPlayed = lastPlayed;
+        }
+
+        Profile withGame(Result r) {
+            return new Profile(key, r.name, r.character, games + 1, wins + (r.won ? 1 : 0),
+                    games == 0 ? r.score : Math.max(bestScore, r.score), totalScore + r.score,
+                    Math.max(lastPlayed, r.millis));
+        }
+
+        // Getters
+        public String getKey() { return key; }
+        public String getName() { return name; }
+        public String getCharacter() { return character; }
+        public int getGames() { return games; }
+        public int getWins() { return wins; }
+        public int getBestScore() { return bestScore; }
+        public long getTotalScore() { return totalScore; }
+        public long getLastPlayed() { return lastPlayed; }
+
+        @Override
+        public String toString() {
+            return name + " (" + character + "): " + wins + " menang / " + games + " game, skor terbaik " + bestScore;
+        }
+    }
+
+    /** Hasil satu pemain di satu game. */
+    static final class Result {
+        private final String name;
+        private final String character;
+        private final int score;
+        private final boolean won;
+        private final long millis;
+
+        Result(String name, String character, int score, boolean won, long millis) {
+            this.name = clip(name);
+            this.character = clip(character);
+            this.score = score;
+            this.won = won;
+            this.millis = millis;
+        }
+
+        /** Hasil semua pemain sesi yang sudah selesai (dipanggil di thread pemilik sesi). */
+        static List<Result> of(GameSession session, long millis) {
+            List<Result> results = new ArrayList<>();
+            for (Player p : session.getPlayers()) {
+                results.add(new Result(p.getName(), p.getCharacterType(), p.getScore(),
+                        p == session.getWinner(), millis));
+            }
+            return results;
+        }
+
+        // Getters
+        public String getName() { return name; }
+        public String getCharacter() { return character; }
+        public int getScore() { return score; }
+        public boolean isWon() { return won; }
+        public long getMillis() { return millis; }
+    }
+
+    private static String clip(String s) {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        if (b.length <= MAX_STRING) return s;
+        String cut = new String(b, 0, MAX_STRING, StandardCharsets.UTF_8);
+        // Karakter multi-byte yang terpotong di ujung dibuang
+        return cut.endsWith("�") ? cut.substring(0, cut.length() - 1) : cut;
+    }
+
+    // ===========================
+    // TULIS
+    // ===========================
+
+    /**
+     * Catat satu game selesai; kompaksi otomatis setiap {@value #COMPACT_EVERY} game.
+     * Hanya melempar jika record gagal ditulis ke log.
+     */
+    public synchronized void recordGame(long seed, List<Result> results) throws IOException {
+        if (results.isEmpty()) return;
+        ByteBuffer payload = encode(seed, results);
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        ByteBuffer rec = ByteBuffer.allocate(8 + payload.remaining());
+        rec.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload).flip();
+        long at = logLength;
+        while (rec.hasRemaining()) at += log.write(rec, at);
+        logLength = at;
+
+        apply(results);
+        compactIfDue();
+    }
+
+    private static ByteBuffer encode(long seed, List<Result> results) {
+        List<byte[]> strings = new ArrayList<>();
+        int size = 17;
+        for (Result r : results) {
+            byte[] name = r.name.getBytes(StandardCharsets.UTF_8);
+            byte[] ch = r.character.getBytes(StandardCharsets.UTF_8);
+            strings.add(name);
+            strings.add(ch);
+            size += 7 + name.length + ch.length;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putLong(results.get(0).millis).putLong(seed).put((byte) results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Result r = results.get(i);
+            byte[] name = strings.get(2 * i);
+            byte[] ch = strings.get(2 * i + 1);
+            buf.putInt(r.score).put((byte) (r.won ? 1 : 0))
+                    .put((byte) name.length).put(name).put((byte) ch.length).put(ch);
+        }
+        return buf.flip();
+    }
+
+    private static List<Result> decode(ByteBuffer buf) {
+        long millis = buf.getLong();
+        buf.getLong(); // seed: hanya untuk jejak, tidak dipakai statistik
+        int count = buf.get() & 0xFF;
+        List<Result> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int score = buf.getInt();
+            boolean won = buf.get() != 0;
+            String name = getString(buf);
+            String ch = getString(buf);
+            results.add(new Result(name, ch, score, won, millis));
+        }
+        return results;
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] b = new byte[buf.get() & 0xFF];
+        buf.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private void apply(List<Result> results) {
+        for (Result r : results) {
+            String key = keyOf(r.name);
+            if (key.isEmpty()) continue;
+            Profile base = delta.get(key);
+            if (base == null) {
+                base = indexLookup(key);
+                if (base == null) {
+                    base = new Profile(key, r.name, r.character, 0, 0, 0, 0, 0);
+                    deltaNewProfiles++;
+                }
+            }
+            Profile updated = base.withGame(r);
+            delta.put(key, updated);
+            if (hot.containsKey(key)) hot.put(key, updated);
+            deltaResults.add(r);
+        }
+        deltaGames++;
+        rankedDelta = null;
+        scoredDelta = null;
+    }
+
+    // ===========================
+    // BACA
+    // ===========================
+
+    /** Profil pemain dengan nama ini (tanpa beda huruf besar/kecil), atau null. */
+    public synchronized Profile find(String name) {
+        String key = keyOf(name);
+        if (key.isEmpty()) return null;
+        Profile p = hot.get(key);
+        if (p != null) return p;
+        p = delta.get(key);
+        if (p == null) p = indexLookup(key);
+        if (p != null) hot.put(key, p);
+        return p;
+    }
+
+    /** Peringkat sepanjang masa: menang terbanyak, lalu total skor. */
+    public synchronized List<Profile> topByWins(int n) {
+        if (rankedDelta == null) {
+            rankedDelta = new ArrayList<>(delta.values());
+            rankedDelta.sort(BY_RANK);
+        }
+        List<Profile> fresh = rankedDelta;
+        List<Profile> out = new ArrayList<>(Math.min(n, 64));
+        int i = 0, j = 0;
+        while (out.size() < n) {
+            Profile fromIndex = null;
+            // Entri indeks yang sudah diperbarui di delta dilewati (versi delta yang dipakai)
+            while (j < indexProfiles) {
+                Profile candidate = readEntry(index.getInt(rankOff + 4 * j));
+                if (!delta.containsKey(candidate.key)) {
+                    fromIndex = candidate;
+                    break;
+                }
+                j++;
+            }
+            Profile fromDelta = i < fresh.size() ? fresh.get(i) : null;
+            if (fromIndex == null && fromDelta == null) break;
+            if (fromDelta != null && (fromIndex == null || BY_RANK.compare(fromDelta, fromIndex) <= 0)) {
+                out.add(fromDelta);
+                i++;
+            } else {
+                out.add(fromIndex);
+                j++;
+            }
+        }
+        return out;
+    }
+
+    /** Skor satu game tertinggi sepanjang masa (maksimal {@value #TOP_SCORES}). */
+    public synchronized List<Result> topScores(int n) {
+        if (scoredDelta == null) {
+            scoredDelta = new ArrayList<>(deltaResults);
+            scoredDelta.sort(BY_SCORE);
+        }
+        List<Result> fresh = scoredDelta;
+        List<Result> out = new ArrayList<>(Math.min(n, 64));
+        int i = 0, j = 0;
+        while (out.size() < n && (i < fresh.size() || j < indexScores)) {
+            Result fromIndex = j < indexScores ? readScore(j) : null;
+            Result fromDelta = i < fresh.size() ? fresh.get(i) : null;
+            if (fromDelta != null && (fromIndex == null || BY_SCORE.compare(fromDelta, fromIndex) <= 0)) {
+                out.add(fromDelta);
+                i++;
+            } else {
+                out.add(fromIndex);
+                j++;
+            }
+        }
+        return out;
+    }
+
+    public synchronized int getProfileCount() { return indexProfiles + deltaNewProfiles; }
+    public synchronized long getGameCount() { return indexGames + deltaGames; }
+    public synchronized int getPendingGames() { return deltaGames; }
+
+    // Binary search nama di indeks (urutan byte UTF-8 unsigned)
+    private Profile indexLookup(String key) {
+        if (index == null) return null;
+        byte[] k = key.getBytes(StandardCharsets.UTF_8);
+        int lo = 0, hi = indexProfiles - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = compareKey(mid, k);
+            if (c == 0) return readEntry(mid);
+            if (c < 0) lo = mid + 1;
+            else hi = mid - 1;
+        }
+        return null;
+    }
+
+    private int compareKey(int entry, byte[] key) {
+        int at = entriesOff + entry * ENTRY_SIZE;
+        int off = heapOff + index.getInt(at);
+        int len = index.get(at + 4) & 0xFF;
+        int n = Math.min(len, key.length);
+        for (int i = 0; i < n; i++) {
+            int c = Integer.compare(index.get(off + i) & 0xFF, key[i] & 0xFF);
+            if (c != 0) return c;
+        }
+        return Integer.compare(len, key.length);
+    }
+
+    private Profile readEntry(int entry) {
+        int at = entriesOff + entry * ENTRY_SIZE;
+        int off = heapOff + index.getInt(at);
+        int keyLen = index.get(at + 4) & 0xFF;
+        int nameLen = index.get(at + 5) & 0xFF;
+        int charLen = index.get(at + 6) & 0xFF;
+        return new Profile(heapString(off, keyLen), heapString(off + keyLen, nameLen),
+                heapString(off + keyLen + nameLen, charLen),
+                index.getInt(at + 8), index.getInt(at + 12), index.getInt(at + 16),
+                index.getLong(at + 20), index.getLong(at + 28));
+    }
+
+    // Skor: score i32, offset heap i32, panjang nama u8, panjang karakter u8, menang u8, pad, millis i64.
+    // Nama dan karakter milik game itu, bukan profil saat ini (profil bisa ganti karakter/kapital)
+    private Result readScore(int i) {
+        int at = scoresOff + i * SCORE_SIZE;
+        int off = heapOff + index.getInt(at + 4);
+        int nameLen = index.get(at + 8) & 0xFF;
+        int charLen = index.get(at + 9) & 0xFF;
+        return new Result(heapString(off, nameLen), heapString(off + nameLen, charLen),
+                index.getInt(at), index.get(at + 10) != 0, index.getLong(at + 16));
+    }
+
+    private String heapString(int off, int len) {
+        byte[] b = new byte[len];
+        index.get(off, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    // ===========================
+    // BUKA & KOMPAKSI
+    // ===========================
+
+    private void load() throws IOException {
+        long size = log.size();
+        if (size < LOG_HEADER) {
+            ByteBuffer head = ByteBuffer.allocate(LOG_HEADER);
+            head.putInt(LOG_MAGIC).putShort(VERSION).flip();
+            log.truncate(0);
+            log.write(head, 0);
+            size = LOG_HEADER;
+        } else {
+            ByteBuffer head = ByteBuffer.allocate(LOG_HEADER);
+            log.read(head, 0);
+            if (head.getInt(0) != LOG_MAGIC || head.getShort(4) != VERSION) {
+                throw new IOException("Bukan log profil: " + logFile);
+            }
+        }
+
+        indexGen = readPointer();
+        long from = mapIndex(indexGen, size) ? index.getLong(8) : LOG_HEADER;
+        logLength = replay(from, size);
+        // Ekor yang rusak (mis. listrik mati saat menulis) dibuang
+        if (logLength < size) log.truncate(logLength);
+        deleteStaleIndexes();
+        compactIfDue();
+    }
+
+    private Path indexFile(long gen) {
+        return dir.resolve("profiles-" + gen + ".idx");
+    }
+
+    // Generasi indeks yang berlaku; 0 jika penunjuk belum ada atau rusak
+    private long readPointer() throws IOException {
+        if (!Files.exists(pointerFile)) return 0;
+        try {
+            return Math.max(0, Long.parseLong(Files.readString(pointerFile, StandardCharsets.US_ASCII).trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Penunjuk tidak pernah di-map, jadi aman ditimpa dengan rename atomik
+    private void writePointer(long gen) throws IOException {
+        Path tmp = pointerFile.resolveSibling(pointerFile.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buf = ByteBuffer.wrap((gen + "\n").getBytes(StandardCharsets.US_ASCII));
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        Files.move(tmp, pointerFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Hapus generasi lama dan sisa .tmp; yang masih di-map (Windows) dicoba lagi lain kali
+    private void deleteStaleIndexes() {
+        String current = indexFile(indexGen).getFileName().toString();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "profiles-*.idx*")) {
+            for (Path f : files) {
+                if (f.getFileName().toString().equals(current)) continue;
+                try {
+                    Files.deleteIfExists(f);
+                } catch (IOException e) {
+                    // Masih dipakai; dibersihkan saat kompaksi/buka berikutnya
+                }
+            }
+        } catch (IOException e) {
+            // Sama: hanya pembersihan
+        }
+    }
+
+    private void compactIfDue() {
+        if (deltaGames < compactAt) return;
+        try {
+            compact();
+        } catch (IOException e) {
+            // Game sudah aman di log; jangan coba setiap game berikutnya
+            compactAt = deltaGames + COMPACT_EVERY;
+            System.out.println("Kompaksi profil gagal, dicoba lagi nanti: " + e.getMessage());
+        }
+    }
+
+    // true jika indeks valid dan tidak melewati panjang log
+    private boolean mapIndex(long gen, long logSize) throws IOException {
+        index = null;
+        indexProfiles = indexScores = 0;
+        indexGames = 0;
+        Path indexFile = indexFile(gen);
+        if (gen == 0 || !Files.exists(indexFile)) return false;
+        try (FileChannel ch = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            if (ch.size() < INDEX_HEADER) return false;
+            MappedByteBuffer map = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            if (map.getInt(0) != INDEX_MAGIC || map.getShort(4) != INDEX_VERSION || map.getLong(8) > logSize) {
+                System.out.println("Indeks profil diabaikan, dibangun ulang dari log");
+                return false;
+            }
+            index = map;
+        }
+        indexGames = index.getLong(16);
+        indexProfiles = index.getInt(24);
+        indexScores = index.getInt(28);
+        entriesOff = index.getInt(32);
+        rankOff = index.getInt(36);
+        scoresOff = index.getInt(40);
+        heapOff = index.getInt(44);
+        return true;
+    }
+
+    // Putar ulang record [from, size) ke delta; mengembalikan akhir record valid terakhir
+    private long replay(long from, long size) throws IOException {
+        long at = from;
+        ByteBuffer head = ByteBuffer.allocate(8);
+        CRC32 crc = new CRC32();
+        while (at + 8 <= size) {
+            head.clear();
+            log.read(head, at);
+            int len = head.getInt(0);
+            if (len <= 0 || at + 8 + len > size) break;
+            ByteBuffer payload = ByteBuffer.allocate(len);
+            while (payload.hasRemaining() && log.read(payload, at + 8 + payload.position()) >= 0) { /* baca penuh */ }
+            payload.flip();
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != head.getInt(4)) break;
+            apply(decode(payload));
+            at += 8 + len;
+        }
+        return at;
+    }
+
+    /** Gabungkan delta ke indeks generasi baru (tulis .tmp, rename, pindah penunjuk, map ulang). */
+    public synchronized void compact() throws IOException {
+        if (deltaGames == 0 && index != null) return;
+
+        // Semua profil: indeks lama yang tidak berubah + delta
+        List<Profile> all = new ArrayList<>(indexProfiles + deltaNewProfiles);
+        for (int i = 0; i < indexProfiles; i++) {
+            Profile p = readEntry(i);
+            if (!delta.containsKey(p.key)) all.add(p);
+        }
+        all.addAll(delta.values());
+        List<byte[]> keys = new ArrayList<>(all.size());
+        for (Profile p : all) keys.add(p.key.getBytes(StandardCharsets.UTF_8));
+        Integer[] order = new Integer[all.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(keys.get(a), keys.get(b)));
+        List<Profile> sorted = new ArrayList<>(all.size());
+        for (Integer o : order) sorted.add(all.get(o));
+
+        Integer[] rank = new Integer[sorted.size()];
+        for (int i = 0; i < rank.length; i++) rank[i] = i;
+        Arrays.sort(rank, (a, b) -> BY_RANK.compare(sorted.get(a), sorted.get(b)));
+
+        List<Result> scores = topScores(TOP_SCORES);
+
+        // Heap string: kunci, nama, karakter berurutan per profil, lalu nama + karakter
+        // per skor (pasangan yang sama dipakai bersama)
+        List<byte[]> heap = new ArrayList<>(sorted.size() * 3 + scores.size() * 2);
+        int heapSize = 0;
+        for (Profile p : sorted) {
+            byte[] k = p.key.getBytes(StandardCharsets.UTF_8);
+            byte[] n = p.name.getBytes(StandardCharsets.UTF_8);
+            byte[] c = p.character.getBytes(StandardCharsets.UTF_8);
+            heap.add(k);
+            heap.add(n);
+            heap.add(c);
+            heapSize += k.length + n.length + c.length;
+        }
+        int[] scoreStr = new int[scores.size()];
+        Map<String, Integer> scorePairs = new HashMap<>();
+        for (int i = 0; i < scores.size(); i++) {
+            Result r = scores.get(i);
+            Integer at = scorePairs.get(r.name + '\0' + r.character);
+            if (at == null) {
+                byte[] n = r.name.getBytes(StandardCharsets.UTF_8);
+                byte[] c = r.character.getBytes(StandardCharsets.UTF_8);
+                at = heapSize;
+                heap.add(n);
+                heap.add(c);
+                heapSize += n.length + c.length;
+                scorePairs.put(r.name + '\0' + r.character, at);
+            }
+            scoreStr[i] = at;
+        }
+
+        int eOff = INDEX_HEADER;
+        int rOff = eOff + sorted.size() * ENTRY_SIZE;
+        int sOff = rOff + sorted.size() * 4;
+        int hOff = sOff + scores.size() * SCORE_SIZE;
+        ByteBuffer buf = ByteBuffer.allocate(hOff + heapSize);
+        buf.putInt(INDEX_MAGIC).putShort(INDEX_VERSION).putShort((short) 0).putLong(logLength)
+                .putLong(getGameCount()).putInt(sorted.size()).putInt(scores.size())
+                .putInt(eOff).putInt(rOff).putInt(sOff).putInt(hOff);
+
+        int strOff = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            Profile p = sorted.get(i);
+            int kl = heap.get(3 * i).length, nl = heap.get(3 * i + 1).length, cl = heap.get(3 * i + 2).length;
+            buf.putInt(strOff).put((byte) kl).put((byte) nl).put((byte) cl).put((byte) 0)
+                    .putInt(p.games).putInt(p.wins).putInt(p.bestScore)
+                    .putLong(p.totalScore).putLong(p.lastPlayed).putInt(0);
+            strOff += kl + nl + cl;
+        }
+        for (Integer r : rank) buf.putInt(r);
+        for (int i = 0; i < scores.size(); i++) {
+            Result r = scores.get(i);
+            buf.putInt(r.score).putInt(scoreStr[i])
+                    .put((byte) r.name.getBytes(StandardCharsets.UTF_8).length)
+                    .put((byte) r.character.getBytes(StandardCharsets.UTF_8).length)
+                    .put((byte) (r.won ? 1 : 0)).put((byte) 0).putInt(0)
+                    .putLong(r.millis);
+        }
+        for (byte[] b : heap) buf.put(b);
+        buf.flip();
+
+        // Generasi baru selalu nama baru: file yang sedang di-map tidak pernah ditimpa
+        long gen = indexGen + 1;
+        Path indexFile = indexFile(gen);
+        Path tmp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buf.hasRemaining()) ch.write(buf);
+            ch.force(true);
+        }
+        log.force(false);
+        // Sisa generasi ini dari kompaksi yang terputus tidak pernah ditunjuk, jadi tidak di-map
+        Files.move(tmp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writePointer(gen);
+
+        delta.clear();
+        deltaResults.clear();
+        deltaNewProfiles = 0;
+        deltaGames = 0;
+        compactAt = COMPACT_EVERY;
+        rankedDelta = null;
+        scoredDelta = null;
+        indexGen = gen;
+        mapIndex(gen, logLength);
+        deleteStaleIndexes();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        log.force(false);
+        log.close();
+    }
+
+    // ===========================
+    // MAIN
+    // ===========================
+
+    // Pemakaian: java PlayerStore [folder] [game] [pemain]
+    public static void main(String[] args) throws IOException {
+        Path dir = Paths.get(args.length > 0 ? args[0] : "profiles-bench");
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 300_000;
+        int names = args.length > 2 ? Integer.parseInt(args[2]) : 50_000;
+        String[] chars = {"Doraemon", "Nobita", "Shizuka", "Giant", "Suneo", "Avatar X", "Avatar O"};
+        RandomSource rng = RandomSource.seeded(games * 31L + names);
+
+        long t0 = System.nanoTime();
+        try (PlayerStore store = open(dir)) {
+            long opened = System.nanoTime();
+            System.out.printf(Locale.ROOT, "Dibuka dalam %.1f ms: %d profil, %d game (%d belum dikompaksi)%n",
+                    (opened - t0) / 1e6, store.getProfileCount(), store.getGameCount(), store.getPendingGames());
+
+            long millis = System.currentTimeMillis();
+            for (int g = 0; g < games; g++) {
+                int count = rng.nextInt(2, 5);
+                int winner = rng.nextInt(count);
+                List<Result> results = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    results.add(new Result("Pemain " + rng.nextInt(names), chars[rng.nextInt(chars.length)],
+                            rng.nextInt(0, 500), i == winner, millis + g));
+                }
+                store.recordGame(rng.nextLong(), results);
+            }
+            long written = System.nanoTime();
+            System.out.printf(Locale.ROOT, "Tulis %d game: %.0f ms (%.0f game/detik)%n", games,
+                    (written - opened) / 1e6, games / ((written - opened) / 1e9));
+
+            LatencyHistogram lookup = new LatencyHistogram();
+            int found = 0;
+            for (int i = 0; i < 100_000; i++) {
+                // Nama acak: sebagian besar lewat binary search indeks, bukan cache
+                String name = "PEMAIN " + rng.nextInt(names * 2);
+                long s = System.nanoTime();
+                if (store.find(name) != null) found++;
+                lookup.record(System.nanoTime() - s);
+            }
+            System.out.println("Cari nama   : " + lookup.summary() + " (" + found + " ketemu)");
+
+            List<Profile> top = null;
+            List<Result> best = null;
+            LatencyHistogram topN = new LatencyHistogram();
+            for (int i = 0; i < 1_000; i++) {
+                long s = System.nanoTime();
+                top = store.topByWins(10);
+                best = store.topScores(10);
+                topN.record(System.nanoTime() - s);
+            }
+            System.out.println("Top-10      : " + topN.summary());
+            for (Profile p : top) System.out.println("  " + p);
+            if (!best.isEmpty()) System.out.println("Skor terbaik: " + best.get(0).getScore() + " oleh " + best.get(0).getName());
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package ulartangga;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+// ===========================
+// ENCODER PNG BERPITA
+// ===========================
+
+/**
+ * Encoder PNG RGB 8-bit untuk frame ekspor yang sebagian besar sama dengan satu
+ * gambar referensi (lapisan statis papan). Gambar dibagi pita {@value #BAND_ROWS}
+ * baris; setiap pita di-deflate terpisah (FULL_FLUSH, kamus direset) dan ditulis
+ * sebagai chunk IDAT sendiri, jadi pita yang pikselnya sama dengan referensi cukup
+ * menyalin hasil kompresi referensi. Hanya pita di sekitar token yang dikompres ulang.
+ *
+ * Filter baris Sub (hanya bergantung baris itu sendiri) supaya pita tetap mandiri;
+ * checksum adler32 zlib digabung per pita. Satu instance per thread (Deflater dan
+ * buffer baris dipakai ulang). Hanya untuk BufferedImage TYPE_INT_RGB.
+ */
+final class PngEncoder {
+
+    static final int BAND_ROWS = 16;
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    private static final byte[] IHDR = {'I', 'H', 'D', 'R'};
+    private static final byte[] IDAT = {'I', 'D', 'A', 'T'};
+    private static final byte[] IEND = {'I', 'E', 'N', 'D'};
+    // zlib: CM=8 (deflate), jendela 32K, level cepat; lalu blok akhir kosong (fixed Huffman)
+    private static final byte[] ZLIB_HEADER = {0x78, 0x01};
+    private static final byte[] FINAL_BLOCK = {0x03, 0x00};
+    private static final int ADLER_BASE = 65521;
+
+    private final Deflater deflater;
+    private final CRC32 crc = new CRC32();
+    private final Adler32 adler = new Adler32();
+    private byte[] raw = new byte[0];
+    private byte[] packed = new byte[0];
+
+    // Statistik pita (untuk laporan)
+    private long bandsReused;
+    private long bandsEncoded;
+
+    PngEncoder(int level) {
+        this.deflater = new Deflater(level, true);
+    }
+
+    /** Hasil kompresi per pita dari satu gambar, dipakai ulang oleh frame berikutnya. */
+    static final class Bands {
+        final int width;
+        final int height;
+        final int[] pixels;
+        final byte[][] data;
+        final int[] crc;
+        final int[] adler;
+
+        private Bands(int width, int height, int[] pixels, int count) {
+            this.width = width;
+            this.height = height;
+            this.pixels = pixels;
+            this.data = new byte[count][];
+            this.crc = new int[count];
+            this.adler = new int[count];
+        }
+    }
+
+    /** Kompres semua pita {@code reference}; gambar itu tidak boleh diubah lagi sesudahnya. */
+    Bands bands(BufferedImage reference) {
+        int w = reference.getWidth(), h = reference.getHeight();
+        int[] px = pixels(reference);
+        Bands b = new Bands(w, h, px, (h + BAND_ROWS - 1) / BAND_ROWS);
+        for (int i = 0; i < b.data.length; i++) encodeBand(px, w, h, i, b, i);
+        return b;
+    }
+
+    /**
+     * Tulis {@code image} sebagai PNG lengkap. Pita yang sama persis dengan
+     * {@code reference} (boleh null) disalin dari sana tanpa kompresi ulang.
+     */
+    void write(BufferedImage image, Bands reference, OutputStream target) throws IOException {
+        int w = image.getWidth(), h = image.getHeight();
+        int[] px = pixels(image);
+        if (reference != null && (reference.width != w || reference.height != h)) reference = null;
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.write(SIGNATURE);
+        byte[] header = new byte[13];
+        putInt(header, 0, w);
+        putInt(header, 4, h);
+        header[8] = 8;  // bit per kanal
+        header[9] = 2;  // RGB
+        writeChunk(out, IHDR, header, header.length);
+        writeChunk(out, IDAT, ZLIB_HEADER, ZLIB_HEADER.length);
+
+        int count = (h + BAND_ROWS - 1) / BAND_ROWS;
+        Bands fresh = new Bands(w, h, px, 1);
+        int checksum = 1;
+        for (int i = 0; i < count; i++) {
+            int from = i * BAND_ROWS * w;
+            int to = Math.min(h, (i + 1) * BAND_ROWS) * w;
+            Bands src;
+            int band;
+            if (reference != null && Arrays.equals(px, from, to, reference.pixels, from, to)) {
+                src = reference;
+                band = i;
+                bandsReused++;
+            } else {
+                encodeBand(px, w, h, i, fresh, 0);
+                src = fresh;
+                band = 0;
+                bandsEncoded++;
+            }
+            byte[] data = src.data[band];
+            out.writeInt(data.length);
+            out.write(IDAT);
+            out.write(data);
+            out.writeInt(src.crc[band]);
+            checksum = adlerCombine(checksum, src.adler[band], rawLength(w, h, i));
+        }
+
+        byte[] tail = new byte[FINAL_BLOCK.length + 4];
+        System.arraycopy(FINAL_BLOCK, 0, tail, 0, FINAL_BLOCK.length);
+        putInt(tail, FINAL_BLOCK.length, checksum);
+        writeChunk(out, IDAT, tail, tail.length);
+        writeChunk(out, IEND, tail, 0);
+        out.flush();
+    }
+
+    long getBandsReused() { return bandsReused; }
+    long getBandsEncoded() { return bandsEncoded; }
+
+    // ===========================
+    // PITA
+    // ===========================
+
+    // Baris [i*BAND_ROWS, ...) -> byte filter Sub + RGB, deflate dengan FULL_FLUSH
+    private void encodeBand(int[] px, int w, int h, int i, Bands into, int slot) {
+        int rowBytes = 1 + 3 * w;
+        int y0 = i * BAND_ROWS;
+        int y1 = Math.min(h, y0 + BAND_ROWS);
+        int len = (y1 - y0) * rowBytes;
+        if (raw.length < len) raw = new byte[len];
+
+        int at = 0;
+        for (int y = y0; y < y1; y++) {
+            raw[at++] = 1; // Sub: selisih dengan piksel kiri
+            int o = y * w;
+            int prev = 0;
+            for (int x = 0; x < w; x++) {
+                int p = px[o + x];
+                raw[at++] = (byte) ((p >> 16) - (prev >> 16));
+                raw[at++] = (byte) ((p >> 8) - (prev >> 8));
+                raw[at++] = (byte) (p - prev);
+                prev = p;
+            }
+        }
+
+        adler.reset();
+        adler.update(raw, 0, len);
+        deflater.reset();
+        deflater.setInput(raw, 0, len);
+        if (packed.length < len / 2 + 64) packed = new byte[len / 2 + 64];
+        int n = 0;
+        while (true) {
+            n += deflater.deflate(packed, n, packed.length - n, Deflater.FULL_FLUSH);
+            if (n < packed.length) break;
+            packed = Arrays.copyOf(packed, packed.length * 2);
+        }
+
+        byte[] data = Arrays.copyOf(packed, n);
+        crc.reset();
+        crc.update(IDAT);
+        crc.update(data);
+        into.data[slot] = data;
+        into.crc[slot] = (int) crc.getValue();
+        into.adler[slot] = (int) adler.getValue();
+    }
+
+    private static int rawLength(int w, int h, int band) {
+        int rows = Math.min(h, (band + 1) * BAND_ROWS) - band * BAND_ROWS;
+        return rows * (1 + 3 * w);
+    }
+
+    private static int[] pixels(BufferedImage image) {
+        if (image.getType() != BufferedImage.TYPE_INT_RGB) {
+            throw new IllegalArgumentException("Hanya TYPE_INT_RGB, bukan tipe " + image.getType());
+        }
+        return ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+    }
+
+    // adler32(A + B) dari adler32(A), adler32(B) dan panjang B (rumus zlib adler32_combine)
+    static int adlerCombine(int a1, int a2, long len2) {
+        long rem = len2 % ADLER_BASE;
+        long sum1 = a1 & 0xFFFF;
+        long sum2 = (rem * sum1) % ADLER_BASE;
+        sum1 += (a2 & 0xFFFF) + ADLER_BASE - 1;
+        sum2 += ((a1 >>> 16) & 0xFFFF) + ((a2 >>> 16) & 0xFFFF) + ADLER_BASE - rem;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum1 >= ADLER_BASE) sum1 -= ADLER_BASE;
+        if (sum2 >= 2L * ADLER_BASE) sum2 -= 2L * ADLER_BASE;
+        if (sum2 >= ADLER_BASE) sum2 -= ADLER_BASE;
+        return (int) (sum1 | (sum2 << 16));
+    }
+
+    // ===========================
+    // CHUNK
+    // ===========================
+
+    private void writeChunk(DataOutputStream out, byte[] type, byte[] data, int len) throws IOException {
+        crc.reset();
+        crc.update(type);
+        crc.update(data, 0, len);
+        out.writeInt(len);
+        out.write(type);
+        out.write(data, 0, len);
+        out.writeInt((int) crc.getValue());
+    }
+
+    private static void putInt(byte[] b, int at, int v) {
+        b[at] = (byte) (v >>> 24);
+        b[at + 1] = (byte) (v >>> 16);
+        b[at + 2] = (byte) (v >>> 8);
+        b[at + 3] = (byte) v;
+    }
+}
@@ -0,0 +1,152 @@
+package ulartangga;
+
+import java.security.SecureRandom;
+import java.util.random.RandomGenerator;
+
+// ===========================
+// SUMBER ACAK (SEEDABLE, SPLITTABLE)
+// ===========================
+
+/**
+ * Satu aliran angka acak untuk satu game atau satu worker, dengan algoritma
+ * SplitMix64 (sama seperti {@link java.util.SplittableRandom}): tanpa sinkronisasi
+ * (beda dengan Math.random yang berbagi satu generator), bisa diulang dengan seed
+ * yang sama, dan {@link #split()} memberi aliran baru yang independen.
+ *
+ * State-nya hanya dua long ({@link #getState()}), jadi bisa disimpan di snapshot
+ * dan dipulihkan persis di titik yang sama ({@link #restore}).
+ *
+ * Tidak thread-safe; setiap thread memakai hasil split sendiri.
+ *
+ * Lemparan dadu dikodekan sebagai langkah bertanda: +1..+6 hijau (maju),
+ * -1..-6 merah (mundur). Satu lemparan = satu angka acak terbatas, jadi
+ * {@link #nextStep()} dan {@link #fillSteps} selalu menghasilkan urutan yang sama.
+ */
+final class RandomSource implements RandomGenerator {
+
+    // Peluang hijau dibulatkan ke 1/GREEN_SCALE (0.7 tepat = 700/1000)
+    private static final int GREEN_SCALE = 1000;
+    private static final int GREEN_THRESHOLD = (int) Math.round(GameRules.GREEN_CHANCE * GREEN_SCALE);
+    private static final int ROLL_RANGE = GameRules.DICE_FACES * GREEN_SCALE;
+
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    private long state;
+    private final long gamma;
+    private final long seed;
+
+    private RandomSource(long state, long gamma, long seed) {
+        this.state = state;
+        this.gamma = gamma;
+        this.seed = seed;
+    }
+
+    /** Aliran yang bisa diulang persis dengan seed yang sama. */
+    public static RandomSource seeded(long seed) {
+        return new RandomSource(seed, GOLDEN_GAMMA, seed);
+    }
+
+    /** Pulihkan aliran dari {@link #getState()} (mis. dari snapshot). */
+    public static RandomSource restore(long state, long gamma, long seed) {
+        if ((gamma & 1) == 0) throw new IllegalArgumentException("Gamma harus ganjil");
+        return new RandomSource(state, gamma, seed);
+    }
+
+    /** Seed acak baru (dicatat di {@link #getSeed()} supaya tetap bisa diulang). */
+    public static RandomSource unseeded() {
+        return seeded(new SecureRandom().nextLong());
+    }
+
+    /** Aliran baru yang independen; seed-nya ikut ditentukan oleh aliran ini. */
+    public RandomSource split() {
+        return new RandomSource(nextLong(), mixGamma(nextSeed()), seed);
+    }
+
+    // Seed awal aliran asal (split mewarisi seed induknya)
+    public long getSeed() { return seed; }
+
+    /** {state, gamma}: cukup untuk melanjutkan aliran ini persis. */
+    public long[] getState() { return new long[] {state, gamma}; }
+
+    // ===========================
+    // DADU
+    // ===========================
+
+    /** Satu lemparan: +dadu jika hijau, -dadu jika merah. */
+    public int nextStep() {
+        return decode(nextInt(ROLL_RANGE));
+    }
+
+    /**
+     * Isi {@code out[off..off+len)} dengan lemparan berikutnya sekaligus,
+     * untuk simulasi batch (satu panggilan per blok, bukan per giliran).
+     */
+    public void fillSteps(int[] out, int off, int len) {
+        for (int i = off, end = off + len; i < end; i++) out[i] = decode(nextInt(ROLL_RANGE));
+    }
+
+    /** Angka dadu 1..6 tanpa warna (mis. animasi). */
+    public int nextFace() {
+        return nextInt(GameRules.DICE_FACES) + 1;
+    }
+
+    private static int decode(int r) {
+        int dice = r % GameRules.DICE_FACES + 1;
+        return r / GameRules.DICE_FACES < GREEN_THRESHOLD ? dice : -dice;
+    }
+
+    // ===========================
+    // SPLITMIX64
+    // ===========================
+
+    private long nextSeed() {
+        return state += gamma;
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+
+    // Gamma harus ganjil dan cukup "acak" bitnya
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int n = Long.bitCount(z ^ (z >>> 1));
+        return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+
+    @Override
+    public long nextLong() { return mix64(nextSeed()); }
+
+    @Override
+    public int nextInt() { return mix32(nextSeed()); }
+
+    // Tanpa bias: tolak sisa di ujung rentang
+    @Override
+    public int nextInt(int bound) {
+        if (bound <= 0) throw new IllegalArgumentException("bound harus > 0");
+        int r = nextInt();
+        int m = bound - 1;
+        if ((bound & m) == 0) return r & m;
+        for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = nextInt() >>> 1) { /* ulang */ }
+        return r;
+    }
+
+    @Override
+    public int nextInt(int origin, int bound) {
+        if (origin >= bound) throw new IllegalArgumentException("origin harus < bound");
+        return origin + nextInt(bound - origin);
+    }
+
+    @Override
+    public double nextDouble() { return (nextLong() >>> 11) * DOUBLE_UNIT; }
+}
@@ -0,0 +1,101 @@
+package ulartangga;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import java.awt.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+// ===========================
+// PEMUTAR ULANG JURNAL
+// ===========================
+
+/**
+ * Menampilkan ulang permainan dari {@link TurnJournal}. Slider bisa langsung
+ * lompat ke giliran mana pun: state diambil dengan {@link TurnJournal#seek}
+ * (checkpoint + maksimal 63 record), bukan disimulasikan ulang dari awal.
+ */
+public class ReplayViewer extends JFrame {
+
+    private final TurnJournal journal;
+    private final List<Player> players = new ArrayList<>();
+    private final BitSet path = new BitSet();
+    private final GameBoard board;
+    private final BoardPanel boardPanel;
+    private final LeaderboardModel leaderboardModel;
+    private final JLabel turnLabel = new JLabel(" ", SwingConstants.CENTER);
+    private final JSlider slider;
+
+    public ReplayViewer(TurnJournal journal) {
+        this.journal = journal;
+        for (int i = 0; i < journal.getPlayerCount(); i++) players.add(journal.getPlayers().get(i).toPlayer(i));
+        this.board = TurnJournal.boardFromSeed(journal.getSeed());
+
+        setTitle("Replay Ular Tangga - seed " + journal.getSeed());
+        setSize(1280, 850);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        boardPanel = new BoardPanel(board, players, path);
+        leaderboardModel = new LeaderboardModel(players);
+
+        slider = new JSlider(0, journal.size(), 0);
+        slider.addChangeListener(e -> showTurn(slider.getValue()));
+
+        JButton prev = new JButton("◀");
+        prev.addActionListener(e -> slider.setValue(slider.getValue() - 1));
+        JButton next = new JButton("▶");
+        next.addActionListener(e -> slider.setValue(slider.getValue() + 1));
+
+        JPanel controls = new JPanel(new BorderLayout(5, 5));
+        controls.setBorder(new EmptyBorder(5, 10, 5, 10));
+        controls.add(prev, BorderLayout.WEST);
+        controls.add(slider, BorderLayout.CENTER);
+        controls.add(next, BorderLayout.EAST);
+        controls.add(turnLabel, BorderLayout.SOUTH);
+
+        JTable table = new JTable(leaderboardModel);
+        table.setRowSelectionAllowed(false);
+        JScrollPane side = new JScrollPane(table);
+        side.setPreferredSize(new Dimension(320, 800));
+        side.setBorder(BorderFactory.createTitledBorder("🏆 KLASEMEN"));
+
+        add(boardPanel, BorderLayout.CENTER);
+        add(side, BorderLayout.EAST);
+        add(controls, BorderLayout.SOUTH);
+
+        showTurn(0);
+    }
+
+    private void showTurn(int turns) {
+        TurnJournal.State s = journal.seek(turns);
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            p.setPosition(s.getPosition(i));
+            p.setScore(s.getScore(i));
+            leaderboardModel.playerChanged(p);
+        }
+
+        // Sorotan jalur seperti di game: giliran berikutnya dari petak prima
+        path.clear();
+        int nextPos = s.getPosition(s.getNextSeat());
+        if (s.getWinnerSeat() < 0 && board.getCompiled().rules().highlights(nextPos)) GameSession.markShortestPath(board, nextPos, path);
+        boardPanel.repaint();
+
+        String last = turns == 0 ? "awal permainan" : journal.get(turns - 1).toString();
+        turnLabel.setText("Giliran " + turns + " / " + journal.size() + "  —  " + last);
+    }
+
+    // Pemakaian: java ReplayViewer file.ultj
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Pemakaian: java ulartangga.ReplayViewer file.ultj");
+            return;
+        }
+        TurnJournal journal = TurnJournal.open(Paths.get(args[0]), false);
+        SwingUtilities.invokeLater(() -> new ReplayViewer(journal).setVisible(true));
+    }
+}
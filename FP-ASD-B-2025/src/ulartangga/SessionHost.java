@@ -0,0 +1,277 @@
+package ulartangga;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// ===========================
+// HOST BANYAK SESI PERMAINAN
+// ===========================
+
+/**
+ * Menjalankan ribuan {@link GameSession} sekaligus dalam satu proses.
+ *
+ * Setiap sesi punya antrian tugas sendiri (mailbox) yang dijalankan di pool worker
+ * kecil bersama: tugas dalam satu sesi selalu berurutan, antar sesi paralel, dan
+ * tidak ada lock global (hanya satu CAS per antrian). Sesi yang tidak disentuh
+ * lebih lama dari batas idle dibuang oleh sweeper.
+ *
+ * Catatan: proyek ini Java 17, jadi belum ada virtual thread; mailbox per sesi di
+ * atas pool tetap memberi sifat yang sama (ribuan sesi, sedikit thread OS).
+ */
+public class SessionHost implements AutoCloseable {
+
+    // Maksimal tugas per giliran worker sebelum mailbox dijadwalkan ulang (adil antar sesi)
+    private static final int DRAIN_BATCH = 32;
+
+    private final ExecutorService workers;
+    private final ScheduledExecutorService sweeper;
+    private final long idleTimeoutNanos;
+
+    private final Map<Long, Slot> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final RandomSource seeds;
+
+    // Metrik
+    private final AtomicLong opened = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+    private final AtomicLong turnsPlayed = new AtomicLong();
+    private final LatencyHistogram turnLatency = new LatencyHistogram();
+
+    public SessionHost(int workerThreads, long idleTimeout, TimeUnit unit, long seed) {
+        this.workers = Executors.newFixedThreadPool(workerThreads, daemonThreads("session-worker"));
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(daemonThreads("session-sweeper"));
+        this.idleTimeoutNanos = unit.toNanos(idleTimeout);
+        this.seeds = RandomSource.seeded(seed);
+
+        long period = Math.max(1, unit.toMillis(idleTimeout) / 4);
+        sweeper.scheduleAtFixedRate(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public SessionHost() {
+        this(Runtime.getRuntime().availableProcessors(), 10, TimeUnit.MINUTES, System.nanoTime());
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + "-" + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    // ===========================
+    // SESI
+    // ===========================
+
+    /** Buka sesi baru; mengembalikan id sesi. */
+    public long open(GameBoard board, List<Player> players) {
+        return open(board, players, nextStream());
+    }
+
+    private long open(GameBoard board, List<Player> players, RandomSource rng) {
+        long id = nextId.getAndIncrement();
+        sessions.put(id, new Slot(new GameSession(board, players), rng));
+        opened.incrementAndGet();
+        return id;
+    }
+
+    /** Sesi dengan papan baru dan pemain bot bernama "Pemain 1..n". */
+    public long open(int playerCount) {
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            players.add(new Player(i, "Pemain " + (i + 1), Color.GRAY, "Bot", null));
+        }
+        // Papan dan dadu dari aliran yang sama: seed host + urutan buka = game yang sama
+        RandomSource rng = nextStream();
+        return open(new GameBoard(rng.split()), players, rng);
+    }
+
+    // Satu aliran independen per sesi (split dari aliran induk host)
+    private RandomSource nextStream() {
+        synchronized (seeds) {
+            return seeds.split();
+        }
+    }
+
+    public boolean close(long id) {
+        return sessions.remove(id) != null;
+    }
+
+    /**
+     * Jalankan {@code action} pada sesi di antrian sesi itu (tidak pernah bersamaan
+     * dengan tugas lain di sesi yang sama). Future gagal jika sesi tidak ada.
+     */
+    public <T> CompletableFuture<T> submit(long id, Function<GameSession, T> action) {
+        Slot slot = sessions.get(id);
+        if (slot == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Sesi tidak ada: " + id));
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        slot.enqueue(() -> {
+            try {
+                result.complete(action.apply(slot.session));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        return result;
+    }
+
+    /** Kocok dadu dengan generator milik sesi lalu jalankan gilirannya. */
+    public CompletableFuture<TurnResult> rollTurn(long id) {
+        Slot slot = sessions.get(id);
+        if (slot == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("Sesi tidak ada: " + id));
+        }
+        return timedTurn(id, s -> s.rollTurn(slot.rng));
+    }
+
+    /** Giliran dengan nilai dadu dari klien (mis. UI yang mengocok sendiri). */
+    public CompletableFuture<TurnResult> playTurn(long id, int dice, boolean green) {
+        return timedTurn(id, s -> s.playTurn(dice, green));
+    }
+
+    // Latensi diukur dari saat giliran diminta sampai selesai (termasuk antri)
+    private CompletableFuture<TurnResult> timedTurn(long id, Function<GameSession, TurnResult> turn) {
+        long submitted = System.nanoTime();
+        return submit(id, s -> {
+            TurnResult r = turn.apply(s);
+            turnLatency.record(System.nanoTime() - submitted);
+            turnsPlayed.incrementAndGet();
+            return r;
+        });
+    }
+
+    // Buang sesi yang idle dan tidak punya tugas tertunda
+    void evictIdle() {
+        long now = System.nanoTime();
+        for (Map.Entry<Long, Slot> e : sessions.entrySet()) {
+            Slot slot = e.getValue();
+            if (now - slot.lastActive > idleTimeoutNanos && slot.isIdle()
+                    && sessions.remove(e.getKey(), slot)) {
+                evicted.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        workers.shutdown();
+        sessions.clear();
+    }
+
+    // ===========================
+    // METRIK
+    // ===========================
+
+    public int getActiveSessions() { return sessions.size(); }
+    public long getOpenedSessions() { return opened.get(); }
+    public long getEvictedSessions() { return evicted.get(); }
+    public long getTurnsPlayed() { return turnsPlayed.get(); }
+    public LatencyHistogram getTurnLatency() { return turnLatency; }
+
+    public String toReport() {
+        return "Sesi aktif   : " + getActiveSessions() + " (dibuka " + getOpenedSessions()
+                + ", dibuang idle " + getEvictedSessions() + ")\n"
+                + "Giliran      : " + getTurnsPlayed() + "\n"
+                + "Latensi      : " + turnLatency.summary() + "\n";
+    }
+
+    // ===========================
+    // MAILBOX PER SESI
+    // ===========================
+
+    private final class Slot {
+        final GameSession session;
+        final RandomSource rng;
+        final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile long lastActive = System.nanoTime();
+
+        Slot(GameSession session, RandomSource rng) {
+            this.session = session;
+            this.rng = rng;
+        }
+
+        void enqueue(Runnable task) {
+            lastActive = System.nanoTime();
+            mailbox.add(task);
+            if (scheduled.compareAndSet(false, true)) workers.execute(this::drain);
+        }
+
+        // Hanya satu worker yang menjalankan drain untuk sesi ini pada satu waktu
+        void drain() {
+            Runnable task;
+            int n = 0;
+            while (n < DRAIN_BATCH && (task = mailbox.poll()) != null) {
+                task.run();
+                n++;
+            }
+            lastActive = System.nanoTime();
+            scheduled.set(false);
+            if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) workers.execute(this::drain);
+        }
+
+        boolean isIdle() {
+            return !scheduled.get() && mailbox.isEmpty();
+        }
+    }
+
+    // ===========================
+    // UJI BEBAN
+    // ===========================
+
+    // Pemakaian: java SessionHost [jumlahSesi] [jumlahPemain] [worker] [seed]
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        try (SessionHost host = new SessionHost(threads, 1, TimeUnit.MINUTES, seed)) {
+            CountDownLatch done = new CountDownLatch(count);
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                playToEnd(host, host.open(players), done);
+            }
+            done.await();
+            double secs = (System.nanoTime() - start) / 1e9;
+
+            System.out.println("Uji beban: " + count + " sesi, " + players + " pemain, " + threads + " worker, seed " + seed);
+            System.out.print(host.toReport());
+            System.out.printf(Locale.ROOT, "Durasi       : %.2f s (%.0f giliran/detik)%n",
+                    secs, host.getTurnsPlayed() / secs);
+        }
+    }
+
+    // Setiap giliran menjadwalkan giliran berikutnya sampai ada pemenang
+    private static void playToEnd(SessionHost host, long id, CountDownLatch done) {
+        host.rollTurn(id).whenComplete((turn, err) -> {
+            if (err != null || turn.isWon() || turn.getTurn() >= GameSimulator.MAX_TURNS) {
+                host.close(id);
+                done.countDown();
+            } else {
+                playToEnd(host, id, done);
+            }
+        });
+    }
+}
@@ -0,0 +1,153 @@
+package ulartangga;
+
+import java.util.Locale;
+
+// ===========================
+// STATISTIK HASIL SIMULASI
+// ===========================
+
+/**
+ * Statistik gabungan dari banyak permainan headless.
+ * Setiap worker mengisi instance sendiri lalu digabung dengan {@link #merge}.
+ */
+class SimulationStats {
+
+    // Lebar satu ember histogram skor
+    public static final int SCORE_BUCKET = 100;
+
+    private final int playerCount;
+    private final long[] turnHistogram;   // index = jumlah lemparan dadu, terakhir = overflow
+    private final long[] winsBySeat;      // index = urutan duduk di turnQueue awal
+    private final long[] scoreHistogram;  // index = skor akhir / SCORE_BUCKET, terakhir = overflow
+
+    private long games;
+    private long unfinishedGames;
+    private long totalTurns;
+    private long totalWinnerScore;
+    private long totalPlayerScore;
+    private long elapsedNanos;
+
+    public SimulationStats(int playerCount, int maxTurns, int scoreBuckets) {
+        this.playerCount = playerCount;
+        this.turnHistogram = new long[maxTurns + 2];
+        this.winsBySeat = new long[playerCount];
+        this.scoreHistogram = new long[scoreBuckets + 1];
+    }
+
+    void recordGame(int turns, int winnerSeat, int[] finalScores) {
+        games++;
+        totalTurns += turns;
+        turnHistogram[Math.min(turns, turnHistogram.length - 1)]++;
+
+        if (winnerSeat < 0) {
+            unfinishedGames++;
+        } else {
+            winsBySeat[winnerSeat]++;
+            totalWinnerScore += finalScores[winnerSeat];
+        }
+
+        for (int i = 0; i < playerCount; i++) {
+            // Skor negatif (papan buatan sendiri) masuk ember pertama, bukan index negatif
+            int bucket = Math.max(0, Math.min(Math.floorDiv(finalScores[i], SCORE_BUCKET), scoreHistogram.length - 1));
+            scoreHistogram[bucket]++;
+            totalPlayerScore += finalScores[i];
+        }
+    }
+
+    SimulationStats merge(SimulationStats other) {
+        games += other.games;
+        unfinishedGames += other.unfinishedGames;
+        totalTurns += other.totalTurns;
+        totalWinnerScore += other.totalWinnerScore;
+        totalPlayerScore += other.totalPlayerScore;
+        for (int i = 0; i < turnHistogram.length; i++) turnHistogram[i] += other.turnHistogram[i];
+        for (int i = 0; i < winsBySeat.length; i++) winsBySeat[i] += other.winsBySeat[i];
+        for (int i = 0; i < scoreHistogram.length; i++) scoreHistogram[i] += other.scoreHistogram[i];
+        return this;
+    }
+
+    void setElapsedNanos(long nanos) { this.elapsedNanos = nanos; }
+
+    // Getters
+    public long getGames() { return games; }
+    public long getUnfinishedGames() { return unfinishedGames; }
+    public int getPlayerCount() { return playerCount; }
+    public long getElapsedNanos() { return elapsedNanos; }
+    public long[] getTurnHistogram() { return turnHistogram.clone(); }
+    public long[] getWinsBySeat() { return winsBySeat.clone(); }
+    public long[] getScoreHistogram() { return scoreHistogram.clone(); }
+
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    public double getMeanTurns() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+
+    public double getMeanWinnerScore() {
+        long finished = games - unfinishedGames;
+        return finished == 0 ? 0 : (double) totalWinnerScore / finished;
+    }
+
+    public double getMeanPlayerScore() {
+        return games == 0 ? 0 : (double) totalPlayerScore / (games * playerCount);
+    }
+
+    public double getWinRate(int seat) {
+        long finished = games - unfinishedGames;
+        return finished == 0 ? 0 : (double) winsBySeat[seat] / finished;
+    }
+
+    // Persentil jumlah lemparan dari histogram (p antara 0 dan 1)
+    public int getTurnPercentile(double p) {
+        long target = (long) Math.ceil(p * games);
+        long seen = 0;
+        for (int t = 0; t < turnHistogram.length; t++) {
+            seen += turnHistogram[t];
+            if (seen >= target && seen > 0) return t;
+        }
+        return turnHistogram.length - 1;
+    }
+
+    public String toReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "Permainan      : %,d (%,d tidak selesai)%n", games, unfinishedGames));
+        sb.append(String.format(Locale.ROOT, "Kecepatan      : %,.0f game/detik (%.2f detik)%n",
+                getGamesPerSecond(), elapsedNanos / 1e9));
+        sb.append(String.format(Locale.ROOT, "Lemparan/game  : rata-rata %.2f | p50 %d | p90 %d | p99 %d%n",
+                getMeanTurns(), getTurnPercentile(0.5), getTurnPercentile(0.9), getTurnPercentile(0.99)));
+        sb.append(String.format(Locale.ROOT, "Skor rata-rata : pemain %.1f | pemenang %.1f%n",
+                getMeanPlayerScore(), getMeanWinnerScore()));
+
+        sb.append("Win rate per kursi:\n");
+        for (int i = 0; i < playerCount; i++) {
+            sb.append(String.format(Locale.ROOT, "  P%d : %6.2f%%%n", i + 1, getWinRate(i) * 100));
+        }
+
+        sb.append("Histogram lemparan (lebar 10):\n");
+        appendHistogram(sb, turnHistogram, 10, 1);
+
+        sb.append("Histogram skor akhir (lebar ").append(SCORE_BUCKET * 5).append("):\n");
+        appendHistogram(sb, scoreHistogram, 5, SCORE_BUCKET);
+        return sb.toString();
+    }
+
+    private static void appendHistogram(StringBuilder sb, long[] hist, int groupSize, int unit) {
+        long total = 0;
+        for (long v : hist) total += v;
+        if (total == 0) return;
+
+        for (int start = 0; start < hist.length; start += groupSize) {
+            long sum = 0;
+            int end = Math.min(start + groupSize, hist.length);
+            for (int i = start; i < end; i++) sum += hist[i];
+            if (sum == 0) continue;
+
+            double pct = sum * 100.0 / total;
+            sb.append(String.format(Locale.ROOT, "  %6d-%-6d %6.2f%% ", start * unit, end * unit - 1, pct));
+            for (int i = 0; i < (int) Math.round(pct); i++) sb.append('#');
+            sb.append('\n');
+        }
+    }
+}
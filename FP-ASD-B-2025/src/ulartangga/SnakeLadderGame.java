@@ -0,0 +1,1305 @@
+package ulartangga;
+
+import javax.swing.*;
+import javax.swing.border.EmptyBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.swing.Timer;
+import java.io.InputStream;
+
+
+
+// ===========================
+// 1. DATA MODELS
+// ===========================
+
+class Player implements Comparable<Player> {
+    private String name;
+    private int id;
+    private int position;
+    private int score;
+    private int wins;
+    private Color color;
+    private String characterType;
+    private ImageIcon avatarIcon;
+
+    private int lastClimbedLadderStart = -1;
+    private int lastClimbedLadderEnd = -1;
+
+
+    public Player(int id, String name, Color color, String charType, ImageIcon icon) {
+        this.id = id;
+        this.name = name;
+        this.color = color;
+        this.characterType = charType;
+        this.avatarIcon = icon;
+        this.position = 1;
+        this.score = 0;
+        this.wins = 0;
+    }
+
+    public void move(int steps) { this.position += steps; }
+    public void setPosition(int pos) { this.position = pos; }
+    public void addScore(int points) { this.score += points; }
+    public void setScore(int score) { this.score = score; }
+    public void addWin() { this.wins++; }
+    public void setWins(int wins) { this.wins = wins; }
+
+    // Getters
+    public int getId() { return id; }
+    public int getWins() { return wins; }
+    public int getPosition() { return position; }
+    public String getName() { return name; }
+    public Color getColor() { return color; }
+    public int getScore() { return score; }
+    public ImageIcon getAvatarIcon() { return avatarIcon; }
+    public String getCharacterType() { return characterType; }
+    public void setLastClimbedLadder(int start, int end) {
+        this.lastClimbedLadderStart = start;
+        this.lastClimbedLadderEnd = end;
+    }
+
+    public void clearLastClimbedLadder() {
+        this.lastClimbedLadderStart = -1;
+        this.lastClimbedLadderEnd = -1;
+    }
+
+    public int getLastClimbedLadderStart() {return lastClimbedLadderStart;}
+    public int getLastClimbedLadderEnd() {return lastClimbedLadderEnd;}
+
+
+    @Override
+    public int compareTo(Player other) { return Integer.compare(other.score, this.score); }
+    @Override
+    public String toString() { return name; }
+}
+
+class GameBoard {
+    // Tabel primitif immutable (tangga, ular, skor petak, ukuran papan)
+    private final CompiledBoard compiled;
+
+    public GameBoard() {
+        this(RandomSource.unseeded());
+    }
+
+    // Papan standar (boards/klasik.board); skor petak diambil dari rng, jadi bisa dibuat ulang dari seed
+    public GameBoard(RandomSource rng) {
+        this(BoardDefinition.standard().instantiate(rng));
+    }
+
+    // Papan dari tabel yang sudah jadi (file definisi, snapshot)
+    public GameBoard(CompiledBoard compiled) {
+        this.compiled = compiled;
+    }
+
+    public int checkJump(int pos) { return compiled.checkJump(pos); }
+
+    // Saringan prima dari tabel aturan (sekali per papan), bukan pembagian per giliran
+    public boolean isPrime(int num) { return compiled.rules().isPrime(num); }
+
+    public int getScoreForCell(int pos) { return compiled.score(pos); }
+    public CompiledBoard getCompiled() { return compiled; }
+
+    public int getSize() { return compiled.getSize(); }
+
+    // View read-only (tidak bisa diubah dari luar)
+    public Map<Integer, Integer> getSnakes() { return compiled.getSnakes(); }
+    public Map<Integer, Integer> getLadders() { return compiled.getLadders(); }
+}
+
+// ===========================
+// 2. MAIN GAME CLASS
+// ===========================
+
+public class SnakeLadderGame extends JFrame {
+
+    // ===========================
+    // SOUND SYSTEM
+    // ===========================
+    private boolean soundEnabled = true;
+    // Musik streaming (ring buffer kecil), bukan Clip berisi seluruh lagu
+    private MusicPlayer music;
+    private boolean musicLoading;
+    private static final String BACKGROUND_MUSIC = "/BackgroundSound.mp3";
+
+    private void toggleBackgroundMusic(boolean enable) {
+        soundEnabled = enable;
+
+        if (soundEnabled) {
+            playBackgroundMusic();
+        } else {
+            stopBackgroundMusic();
+        }
+    }
+
+
+    // ===========================
+// BACKGROUND MUSIC ONLY
+// ===========================
+    private void playBackgroundMusic() {
+        if (music != null) {
+            music.start();
+            return;
+        }
+        if (musicLoading) return;
+        musicLoading = true;
+        // Header audio dan line dibuka di thread latar; diputar begitu siap (jika musik masih aktif)
+        AssetLoader.onEdt(assets.load(BACKGROUND_MUSIC, () -> MusicPlayer.open(
+                Objects.requireNonNull(getClass().getResource(BACKGROUND_MUSIC), BACKGROUND_MUSIC))), player -> {
+            musicLoading = false;
+            music = player;
+            if (soundEnabled) music.start();
+        }, err -> {
+            musicLoading = false;
+            System.out.println("Background music gagal dimainkan: " + err.getMessage());
+        });
+    }
+
+    private void stopBackgroundMusic() {
+        if (music != null) music.pause();
+    }
+
+    // Line audio dan thread musik dilepas saat jendela ditutup
+    private void closeBackgroundMusic() {
+        if (music != null) music.close();
+        music = null;
+    }
+
+
+
+    // State permainan ada di sesi; frame ini hanya klien (tampilan + input)
+    private GameSession session;
+
+    // -Dgame.seed=N mengulang game yang sama persis (papan + dadu); seed dicatat di riwayat
+    private static final String SEED_PROPERTY = "game.seed";
+    private Long fixedSeed; // dibaca sekali saat start; null = seed acak per game
+    private RandomSource diceRng;
+    private RandomSource animationRng;
+
+    // Rekaman giliran (aktif jika -Dgame.journal.dir diisi)
+    private TurnJournal journal;
+    private Path journalFile;
+
+    // Autosave setiap giliran; disusun di EDT, ditulis + fsync di thread sendiri
+    private final Path snapshotFile = GameSnapshot.defaultPath();
+    private final ExecutorService snapshotWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "snapshot-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    // Hanya snapshot terbaru yang ditulis; yang belum sempat ditulis langsung diganti
+    private final AtomicReference<ByteBuffer> pendingSnapshot = new AtomicReference<>();
+
+    // Peluang menang eksak di klasemen; dihitung di thread sendiri, hanya posisi terbaru
+    private WinProbability winProbability;
+    private final ExecutorService probabilityWorker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "win-probability");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicReference<Runnable> pendingChances = new AtomicReference<>();
+
+    // Papan dimuat (parse, validasi, tabel jarak/aturan) di thread sendiri, dipasang di EDT
+    private final ExecutorService boardLoader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "board-loader");
+        t.setDaemon(true);
+        return t;
+    });
+    private boolean boardLoading;
+
+    // Profil sepanjang masa (-Dgame.profiles=folder, kosong = mati); store hanya disentuh thread-nya
+    private static final int ALL_TIME_ROWS = 10;
+    private PlayerStore profiles;
+    private final ExecutorService profileWorker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "profile-store");
+        t.setDaemon(true);
+        return t;
+    });
+    private DefaultTableModel allTimeModel;
+    private JLabel profileLabel;
+    private PlayerStore.Profile typedProfile; // profil nama yang sedang diketik (EDT)
+
+    // Semua animasi lewat satu timer; -Dgame.speed=turbo|instan, -Dgame.autoplay=true untuk demo
+    private static final String AUTOPLAY_PROPERTY = "game.autoplay";
+    static final long CELL_MILLIS = 100;
+    static final long JUMP_MILLIS = 300;
+    private static final long DICE_MILLIS = 550;
+    private static final long DICE_FACE_MILLIS = 50;
+    // Mode instan + otomatis: giliran sebanyak mungkin per frame, asal frame tidak macet
+    private static final long AUTO_FRAME_BUDGET_NANOS = 8_000_000L;
+    private final FrameScheduler scheduler = new FrameScheduler();
+    private boolean autoPlay = Boolean.getBoolean(AUTOPLAY_PROPERTY);
+    private boolean autoRollQueued;
+
+    // Alur giliran hanya mempublikasikan event; log, metrik, rekaman dan UI berlangganan.
+    // UI digabung per frame: banyak giliran di mode instan tetap satu kali update.
+    private final GameEventBus events = new GameEventBus();
+    private final GameEventBus.FrameBatch uiBatch = new GameEventBus.FrameBatch(scheduler, this::applyUiBatch);
+
+    // Instrumentasi giliran: event JFR kocok dadu + latensi dan jumlah repaint per giliran
+    private final GameMetrics metrics = GameMetrics.get();
+    private GameEvents.DiceRoll diceEvent;
+    private long turnStartNanos;
+    private long turnStartPaints;
+
+    private CardLayout cardLayout;
+    private JPanel mainContainer;
+    private BoardPanel boardPanel;
+    private JPanel gameContainer; // kartu "GAME" yang sedang tampil; dilepas saat kembali ke menu
+    private final GameLog gameLog = GameLog.fromSystemProperties();
+    private JLabel statusLabel;
+    private JButton rollButton;
+    private JLabel diceImageLabel;
+    private JTable leaderboardTable;
+    private LeaderboardModel leaderboardModel;
+
+    // Dimuat paralel saat startup (dadu, background, karakter, musik)
+    private final AssetLoader assets = new AssetLoader();
+
+    // Menu Components
+    private DefaultListModel<String> playerListModel;
+    private ArrayList<Player> tempPlayerList;
+    private JLabel playerCountLabel;
+    private JButton addPlayerBtn;
+    private JComboBox<String> charSelector; // Dropdown pemilihan karakter
+    // Pilihan Karakter (Termasuk X dan O)
+    private static final String[] CHARACTERS = {"Doraemon", "Nobita", "Shizuka", "Giant", "Suneo", "Avatar X", "Avatar O"};
+
+    // Asset Dadu
+    private ImageIcon[] diceIcons;
+
+    // Warna untuk dadu status
+    private final Color COLOR_GREEN_MOVE = new Color(34, 139, 34);
+    private final Color COLOR_RED_MOVE = new Color(220, 20, 60);
+
+    public SnakeLadderGame() {
+        setTitle("Snake & Ladder: Red/Green Dice Edition");
+        setSize(1280, 850);
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        // Semua aset dimuat paralel di latar; menu sudah tampil sambil menunggu
+        loadDiceImages();
+        preloadAssets();
+        playBackgroundMusic(); // 🔊 INI YANG KURANG
+        reportStartup();
+
+        cardLayout = new CardLayout();
+        mainContainer = new JPanel(cardLayout);
+
+        JPanel menuPanel = createMenuPanel();
+        mainContainer.add(menuPanel, "MENU");
+        openProfiles();
+
+        add(mainContainer);
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                closeBackgroundMusic();
+                closeProfiles();
+            }
+        });
+
+        // Satu repaint token per frame, berapa pun animasi yang berjalan
+        scheduler.addFrameListener(() -> {
+            if (boardPanel != null) boardPanel.repaintTokens();
+        });
+        subscribeGameEvents();
+        readFixedSeed();
+
+        // Tawarkan lanjut setelah frame tampil
+        SwingUtilities.invokeLater(this::offerResume);
+    }
+
+
+    private void loadDiceImages() {
+        diceIcons = new ImageIcon[6];
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+
+        for (int i = 0; i < 6; i++) {
+            // Ikon kosong dulu; gambarnya diisi di tempat saat selesai dimuat
+            ImageIcon icon = new ImageIcon();
+            diceIcons[i] = icon;
+            String path = "/" + (i + 1) + ".png";
+            // Cache bersama: dadu hanya diskalakan sekali walau game dibuat ulang
+            AssetLoader.onEdt(assets.load(path, () -> ImageCache.shared().scaledResource(path, 90, 90, gc)), img -> {
+                if (img == null) return;
+                icon.setImage(img);
+                if (diceImageLabel != null) {
+                    diceImageLabel.revalidate();
+                    diceImageLabel.repaint();
+                }
+            });
+        }
+    }
+
+    // Background papan dan gambar karakter: cukup masuk ImageCache, dipakai saat dibutuhkan
+    private void preloadAssets() {
+        assets.load(BoardPanel.BACKGROUND, () -> ImageCache.shared().resource(BoardPanel.BACKGROUND));
+        GraphicsConfiguration gc = getGraphicsConfiguration();
+        for (String type : CHARACTERS) {
+            File f = avatarFile(type);
+            if (f.exists()) assets.load(f.getName(), () -> ImageCache.shared().scaledFile(f, 30, 30, gc));
+        }
+    }
+
+    // Laporan waktu startup setelah jendela tampil dan semua aset selesai
+    private void reportStartup() {
+        CompletableFuture<Void> shown = new CompletableFuture<>();
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                assets.mark("Jendela tampil");
+                shown.complete(null);
+            }
+        });
+        CompletableFuture.allOf(shown, assets.whenAllLoaded()).thenRun(() -> System.out.print(assets.report()));
+    }
+
+
+
+    private ImageIcon loadScaledImage(String path, int w, int h, int val) {
+        BufferedImage cached = ImageCache.shared().scaledFile(new File(path), w, h, getGraphicsConfiguration());
+        if (cached != null) {
+            return new ImageIcon(cached);
+        } else {
+            BufferedImage img = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = img.createGraphics();
+            g.setColor(Color.WHITE); g.fillRect(0,0,w,h);
+            g.setColor(Color.BLACK); g.drawRect(0,0,w-1,h-1);
+            g.setFont(new Font("Arial", Font.BOLD, 24));
+            g.drawString(String.valueOf(val), w/2-10, h/2+10);
+            g.dispose();
+            return new ImageIcon(img);
+        }
+    }
+
+    // ===========================
+    // UI MENU (INTEGRASI PEMILIHAN KARAKTER)
+    // ===========================
+    private JPanel createMenuPanel() {
+        JPanel panel = new JPanel(new GridBagLayout()) {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                Graphics2D g2d = (Graphics2D) g;
+                int w = getWidth(); int h = getHeight();
+                GradientPaint gp = new GradientPaint(0, 0, new Color(135, 206, 235), 0, h, new Color(224, 255, 255));
+                g2d.setPaint(gp); g2d.fillRect(0, 0, w, h);
+            }
+        };
+
+        JPanel contentBox = new JPanel(new BorderLayout());
+        contentBox.setOpaque(false);
+
+        JLabel title = new JLabel("SETUP PEMAIN", SwingConstants.CENTER);
+        title.setFont(new Font("Segoe UI", Font.BOLD, 36));
+        title.setForeground(new Color(0, 102, 204));
+        title.setBorder(new EmptyBorder(0, 0, 30, 0));
+
+        // Area Input
+        JPanel inputArea = new JPanel(new BorderLayout());
+        inputArea.setOpaque(false);
+
+        JPanel topInput = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        topInput.setOpaque(false);
+
+        JTextField nameField = new JTextField(10);
+        nameField.setFont(new Font("Arial", Font.PLAIN, 16));
+        nameField.setBorder(BorderFactory.createTitledBorder("Nama"));
+
+        // Dropdown Pilihan Karakter (Termasuk X dan O)
+        charSelector = new JComboBox<>(CHARACTERS);
+        charSelector.setBorder(BorderFactory.createTitledBorder("Pilih Karakter"));
+        charSelector.setBackground(Color.WHITE);
+
+        // Pemain lama dikenali dari namanya: karakter terakhir dipilih otomatis
+        profileLabel = new JLabel(" ", SwingConstants.CENTER);
+        profileLabel.setFont(new Font("Arial", Font.ITALIC, 13));
+        nameField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { lookupProfile(nameField); }
+            @Override public void removeUpdate(DocumentEvent e) { lookupProfile(nameField); }
+            @Override public void changedUpdate(DocumentEvent e) { lookupProfile(nameField); }
+        });
+
+        addPlayerBtn = new JButton("Tambah");
+        addPlayerBtn.setBackground(new Color(100, 149, 237));
+        addPlayerBtn.setForeground(Color.WHITE);
+
+        playerCountLabel = new JLabel("Players: 0/4");
+        playerCountLabel.setFont(new Font("Arial", Font.BOLD, 14));
+
+        tempPlayerList = new ArrayList<>();
+        playerListModel = new DefaultListModel<>();
+        JList<String> playerListUI = new JList<>(playerListModel);
+        playerListUI.setFont(new Font("Arial", Font.BOLD, 14));
+        JScrollPane listScroll = new JScrollPane(playerListUI);
+        listScroll.setPreferredSize(new Dimension(300, 120));
+
+        // LOGIKA TAMBAH PLAYER
+        addPlayerBtn.addActionListener(e -> {
+            String name = nameField.getText().trim();
+            String selectedChar = (String) charSelector.getSelectedItem();
+
+            if (!name.isEmpty() && selectedChar != null) {
+                if (tempPlayerList.size() >= 4) {
+                    JOptionPane.showMessageDialog(this, "Maksimal 4 pemain!");
+                    return;
+                }
+
+                // Cek duplikasi karakter
+                for (Player p : tempPlayerList) {
+                    if (p.getCharacterType().equals(selectedChar)) {
+                        JOptionPane.showMessageDialog(this, "Karakter " + selectedChar + " sudah dipilih orang lain!");
+                        return;
+                    }
+                }
+
+                // Tentukan warna dan icon berdasarkan pilihan
+                Color c = getCharacterColor(selectedChar);
+                ImageIcon icon = createCharacterAvatar(selectedChar, c);
+
+                Player newP = new Player(tempPlayerList.size(), name, c, selectedChar, icon);
+                if (typedProfile != null && typedProfile.getKey().equals(PlayerStore.keyOf(name))) {
+                    newP.setWins(typedProfile.getWins());
+                }
+                tempPlayerList.add(newP);
+                playerListModel.addElement(name + " (" + selectedChar + ")");
+                nameField.setText("");
+                updatePlayerCountUI();
+            }
+        });
+
+        JButton removeBtn = new JButton("Hapus");
+        removeBtn.setBackground(Color.RED);
+        removeBtn.setForeground(Color.WHITE);
+        removeBtn.addActionListener(e -> {
+            int idx = playerListUI.getSelectedIndex();
+            if (idx != -1) {
+                tempPlayerList.remove(idx);
+                playerListModel.remove(idx);
+                updatePlayerCountUI();
+            }
+        });
+
+        topInput.add(nameField);
+        topInput.add(charSelector);
+        topInput.add(addPlayerBtn);
+        topInput.add(removeBtn);
+
+        inputArea.add(topInput, BorderLayout.NORTH);
+        inputArea.add(profileLabel, BorderLayout.CENTER);
+        JPanel listContainer = new JPanel(new BorderLayout());
+        listContainer.setOpaque(false);
+        listContainer.add(playerCountLabel, BorderLayout.NORTH);
+        listContainer.add(listScroll, BorderLayout.CENTER);
+        inputArea.add(listContainer, BorderLayout.SOUTH);
+
+        JButton startBtn = new JButton("MULAI MAIN ▶");
+        startBtn.setFont(new Font("Segoe UI", Font.BOLD, 22));
+        startBtn.setBackground(new Color(50, 205, 50));
+        startBtn.setForeground(Color.WHITE);
+        startBtn.setPreferredSize(new Dimension(200, 60));
+        startBtn.addActionListener(e -> startGame());
+
+        GridBagConstraints gbc = new GridBagConstraints();
+        gbc.gridx = 0; gbc.gridy = 0; panel.add(title, gbc);
+        gbc.gridy = 1; panel.add(inputArea, gbc);
+        gbc.gridy = 2; panel.add(Box.createVerticalStrut(20), gbc);
+        gbc.gridy = 3; panel.add(startBtn, gbc);
+        gbc.gridy = 4; panel.add(createAllTimePanel(), gbc);
+
+        return panel;
+    }
+
+    private JScrollPane createAllTimePanel() {
+        allTimeModel = new DefaultTableModel(new Object[] {"Nama", "Karakter", "Menang", "Game", "Skor Terbaik"}, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) { return false; }
+        };
+        JTable table = new JTable(allTimeModel);
+        table.setFont(new Font("Arial", Font.PLAIN, 13));
+        table.setRowSelectionAllowed(false);
+        table.getTableHeader().setReorderingAllowed(false);
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setBorder(BorderFactory.createTitledBorder("🏆 SEPANJANG MASA"));
+        scroll.setPreferredSize(new Dimension(480, 210));
+        return scroll;
+    }
+
+    // ===========================
+    // PROFIL PEMAIN
+    // ===========================
+
+    private void openProfiles() {
+        Path dir = PlayerStore.defaultDir();
+        if (dir == null) return;
+        profileWorker.execute(() -> {
+            try {
+                profiles = PlayerStore.open(dir);
+            } catch (IOException e) {
+                System.out.println("Profil pemain tidak bisa dibuka: " + e.getMessage());
+            }
+        });
+        refreshAllTime();
+    }
+
+    // Indeks sudah terurut peringkat, jadi cukup baca N teratas
+    private void refreshAllTime() {
+        profileWorker.execute(() -> {
+            if (profiles == null) return;
+            List<PlayerStore.Profile> top = profiles.topByWins(ALL_TIME_ROWS);
+            SwingUtilities.invokeLater(() -> {
+                allTimeModel.setRowCount(0);
+                for (PlayerStore.Profile p : top) {
+                    allTimeModel.addRow(new Object[] {p.getName(), p.getCharacter(), p.getWins(), p.getGames(), p.getBestScore()});
+                }
+            });
+        });
+    }
+
+    private void lookupProfile(JTextField field) {
+        String typed = field.getText();
+        typedProfile = null;
+        profileLabel.setText(" ");
+        if (typed.trim().isEmpty()) return;
+        profileWorker.execute(() -> {
+            if (profiles == null) return;
+            PlayerStore.Profile found = profiles.find(typed);
+            if (found == null) return;
+            SwingUtilities.invokeLater(() -> showProfile(field, typed, found));
+        });
+    }
+
+    private void showProfile(JTextField field, String typed, PlayerStore.Profile p) {
+        // Hasil untuk teks lama (pengguna sudah mengetik lagi) dibuang
+        if (!field.getText().equals(typed)) return;
+        typedProfile = p;
+        profileLabel.setText("Selamat datang kembali, " + p.getName() + "! " + p.getWins() + " menang dari "
+                + p.getGames() + " game, skor terbaik " + p.getBestScore());
+        boolean taken = false;
+        for (Player other : tempPlayerList) taken |= other.getCharacterType().equals(p.getCharacter());
+        if (!taken) charSelector.setSelectedItem(p.getCharacter());
+    }
+
+    private void recordResults() {
+        if (session == null || PlayerStore.defaultDir() == null) return;
+        // Disalin di EDT; pemain masih diubah giliran berikutnya, store tidak
+        List<PlayerStore.Result> results = PlayerStore.Result.of(session, System.currentTimeMillis());
+        long seed = diceRng.getSeed();
+        profileWorker.execute(() -> {
+            if (profiles == null) return;
+            try {
+                profiles.recordGame(seed, results);
+            } catch (IOException e) {
+                System.out.println("Hasil game gagal disimpan: " + e.getMessage());
+            }
+        });
+    }
+
+    // Dipanggil saat jendela ditutup: tunggu sebentar supaya hasil terakhir ikut di-fsync
+    private void closeProfiles() {
+        Future<?> closed = profileWorker.submit(() -> {
+            if (profiles == null) return;
+            try {
+                profiles.close();
+            } catch (IOException e) {
+                System.out.println("Profil pemain gagal ditutup: " + e.getMessage());
+            }
+            profiles = null;
+        });
+        try {
+            closed.get(2, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            System.out.println("Profil pemain tidak sempat ditutup: " + e);
+        }
+    }
+
+    private Color getCharacterColor(String type) {
+        switch (type) {
+            case "Doraemon": return Color.BLUE;
+            case "Nobita": return new Color(255, 215, 0);
+            case "Shizuka": return Color.PINK;
+            case "Giant": return new Color(255, 140, 0);
+            case "Suneo": return new Color(0, 255, 255);
+            case "Avatar X": return Color.RED;
+            case "Avatar O": return new Color(50, 205, 50);
+            default: return Color.GRAY;
+        }
+    }
+
+    // File gambar karakter, misal "avatarx.png" (di folder kerja atau src/)
+    private static File avatarFile(String type) {
+        String filename = type.toLowerCase().replace(" ", "") + ".png";
+        File f = new File(filename);
+        return f.exists() ? f : new File("src/" + filename);
+    }
+
+    // Helper membuat icon (termasuk menggambar X atau O jika dipilih)
+    private ImageIcon createCharacterAvatar(String type, Color c) {
+        // Coba load file gambar dulu
+        File f = avatarFile(type);
+        if (f.exists()) {
+            BufferedImage cached = ImageCache.shared().scaledFile(f, 30, 30, getGraphicsConfiguration());
+            if (cached != null) return new ImageIcon(cached);
+        }
+
+        // Jika gambar tidak ada, buat secara manual
+        int size = 30;
+        BufferedImage img = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = img.createGraphics();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        if (type.equals("Avatar X")) {
+            g2.setColor(Color.RED);
+            g2.setStroke(new BasicStroke(4));
+            g2.drawLine(5, 5, 25, 25);
+            g2.drawLine(25, 5, 5, 25);
+        } else if (type.equals("Avatar O")) {
+            g2.setColor(Color.GREEN);
+            g2.setStroke(new BasicStroke(4));
+            g2.drawOval(5, 5, 20, 20);
+        } else {
+            // Default wajah bulat berwarna
+            g2.setColor(c);
+            g2.fillOval(2, 2, size-4, size-4);
+            g2.setColor(Color.WHITE);
+            g2.drawOval(2, 2, size-4, size-4);
+            // Inisial
+            g2.setColor(Color.WHITE);
+            g2.setFont(new Font("Arial", Font.BOLD, 12));
+            g2.drawString(type.substring(0,1), 10, 20);
+        }
+        g2.dispose();
+        return new ImageIcon(img);
+    }
+
+    private void updatePlayerCountUI() {
+        int count = tempPlayerList.size();
+        playerCountLabel.setText("Players: " + count + "/4");
+        addPlayerBtn.setEnabled(count < 4);
+    }
+
+    private void startGame() {
+        if (tempPlayerList.size() < 2) {
+            JOptionPane.showMessageDialog(this, "Minimal 2 pemain diperlukan!");
+            return;
+        }
+        if (boardLoading) return;
+        boardLoading = true;
+        String file = System.getProperty(BoardDefinition.PROPERTY);
+        RandomSource gameRng = fixedSeed != null
+                ? RandomSource.seeded(fixedSeed)
+                : RandomSource.unseeded();
+        // Aliran terpisah: papan, dadu, dan animasi tidak saling menggeser urutan
+        RandomSource boardRng = gameRng.split();
+        RandomSource dice = gameRng.split();
+        RandomSource animation = gameRng.split();
+        List<Player> players = new ArrayList<>(tempPlayerList);
+
+        // Papan besar butuh ratusan ms untuk dikompilasi dan diinstansiasi: jangan di EDT
+        boardLoader.execute(() -> {
+            BoardDefinition definition;
+            GameSession loaded;
+            try {
+                definition = loadBoardDefinition(file);
+                loaded = new GameSession(new GameBoard(definition.instantiate(boardRng)), players);
+            } catch (IOException | IllegalArgumentException e) {
+                SwingUtilities.invokeLater(() -> {
+                    boardLoading = false;
+                    JOptionPane.showMessageDialog(this, "Papan " + file + " tidak bisa dipakai:\n" + e.getMessage(),
+                            "Papan tidak valid", JOptionPane.ERROR_MESSAGE);
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                boardLoading = false;
+                beginGame(definition, loaded, gameRng.getSeed(), dice, animation);
+            });
+        });
+    }
+
+    private void beginGame(BoardDefinition definition, GameSession loaded, long seed,
+                           RandomSource dice, RandomSource animation) {
+        session = loaded;
+        diceRng = dice;
+        animationRng = animation;
+
+        enterGame();
+        log("🎮 Permainan Dimulai!");
+        log("ℹ️ INFO DADU: Hijau = Maju, Merah = Mundur");
+        log("Seed permainan: " + seed);
+        if (definition == BoardDefinition.standard()) {
+            openJournal(seed);
+        } else {
+            // Jurnal memutar ulang papan dari seed, jadi hanya untuk papan standar
+            log("🗺️ Papan: " + definition);
+            if (System.getProperty(TurnJournal.DIR_PROPERTY) != null) log("Rekaman hanya tersedia untuk papan standar");
+        }
+        saveSnapshot();
+    }
+
+    // -Dgame.seed salah ketik: beri tahu sekali setelah frame tampil, lalu main dengan seed acak
+    private void readFixedSeed() {
+        String value = System.getProperty(SEED_PROPERTY);
+        if (value == null || value.isEmpty()) return;
+        try {
+            fixedSeed = Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            System.out.println("Seed diabaikan: " + value);
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(this,
+                    "Seed " + value + " tidak valid (harus bilangan bulat).\nPermainan memakai seed acak.",
+                    "Seed tidak valid", JOptionPane.ERROR_MESSAGE));
+        }
+    }
+
+    // -Dgame.board=file: papan dari file definisi (cache per isi file), selain itu papan standar.
+    // Dipanggil di thread board-loader.
+    private static BoardDefinition loadBoardDefinition(String file) throws IOException {
+        if (file == null || file.isEmpty()) return BoardDefinition.standard();
+        return BoardDefinition.load(Paths.get(file));
+    }
+
+    // Panel papan + samping untuk sesi yang sudah siap (baru atau dari snapshot)
+    private void enterGame() {
+        gameContainer = new JPanel(new BorderLayout());
+        boardPanel = new BoardPanel(session.getBoard(), session.getPlayers(), session.getShortestPath());
+        gameContainer.add(boardPanel, BorderLayout.CENTER);
+
+        JPanel sidePanel = createGameSidePanel();
+        gameContainer.add(sidePanel, BorderLayout.EAST);
+
+        mainContainer.add(gameContainer, "GAME");
+        cardLayout.show(mainContainer, "GAME");
+
+        loadWinProbability(session.getBoard().getCompiled());
+        updateTurnLabel();
+        queueAutoRoll();
+    }
+
+    // ===========================
+    // SIMPAN / LANJUTKAN
+    // ===========================
+
+    private void offerResume() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) return;
+        GameSnapshot snap;
+        try {
+            snap = GameSnapshot.read(snapshotFile, this::createCharacterAvatar);
+        } catch (IOException e) {
+            System.out.println("Snapshot diabaikan: " + e.getMessage());
+            return;
+        }
+        if (snap.getSession().isFinished()) return;
+
+        int choice = JOptionPane.showConfirmDialog(this,
+                "Lanjutkan permainan terakhir? (giliran ke-" + (snap.getSession().getTurnCount() + 1) + ")",
+                "Lanjutkan", JOptionPane.YES_NO_OPTION);
+        if (choice != JOptionPane.YES_OPTION) {
+            deleteSnapshot();
+            return;
+        }
+
+        session = snap.getSession();
+        diceRng = snap.getDiceRng();
+        animationRng = snap.getAnimationRng();
+        enterGame();
+        log("💾 Permainan dilanjutkan dari giliran " + session.getTurnCount());
+        log("Seed permainan: " + diceRng.getSeed());
+        if (snap.getJournalPath() != null) reopenJournal(Paths.get(snap.getJournalPath()));
+    }
+
+    private void saveSnapshot() {
+        if (snapshotFile == null || session == null) return;
+        // Susun sekarang (state giliran ini), tulis nanti; urutan tulis dijaga executor tunggal
+        ByteBuffer data = GameSnapshot.encode(session, diceRng, animationRng,
+                journalFile == null ? null : journalFile.toString());
+        if (pendingSnapshot.getAndSet(data) == null) snapshotWriter.execute(this::writePendingSnapshot);
+    }
+
+    private void writePendingSnapshot() {
+        ByteBuffer data = pendingSnapshot.getAndSet(null);
+        if (data == null) return;
+        try {
+            GameSnapshot.write(snapshotFile, data);
+        } catch (IOException e) {
+            System.out.println("Autosave gagal: " + e.getMessage());
+        }
+    }
+
+    private void deleteSnapshot() {
+        if (snapshotFile == null) return;
+        pendingSnapshot.set(null);
+        snapshotWriter.execute(() -> {
+            try {
+                Files.deleteIfExists(snapshotFile);
+            } catch (IOException e) {
+                System.out.println("Snapshot gagal dihapus: " + e.getMessage());
+            }
+        });
+    }
+
+    private void openJournal(long seed) {
+        String dir = System.getProperty(TurnJournal.DIR_PROPERTY);
+        if (dir == null) return;
+        try {
+            Path folder = Paths.get(dir);
+            Files.createDirectories(folder);
+            Path file = folder.resolve("game-" + seed + "-" + System.currentTimeMillis() + ".ultj");
+            journal = TurnJournal.create(file, session.getPlayers(), session.getBoard().getSize(), seed);
+            journalFile = file;
+            log("📼 Rekaman: " + file);
+        } catch (IOException e) {
+            journal = null;
+            log("Rekaman gagal dibuat: " + e.getMessage());
+        }
+    }
+
+    // Rekaman hanya dilanjutkan jika isinya tepat sampai giliran snapshot
+    private void reopenJournal(Path file) {
+        try {
+            TurnJournal j = TurnJournal.open(file, true);
+            if (j.size() != session.getTurnCount()) {
+                j.close();
+                log("Rekaman tidak cocok dengan snapshot, tidak dilanjutkan");
+                return;
+            }
+            journal = j;
+            journalFile = file;
+            log("📼 Rekaman dilanjutkan: " + file);
+        } catch (IOException e) {
+            log("Rekaman gagal dibuka: " + e.getMessage());
+        }
+    }
+
+    private void recordTurn(TurnResult turn) {
+        if (journal == null) return;
+        try {
+            journal.append(turn);
+        } catch (IOException e) {
+            log("Rekaman berhenti: " + e.getMessage());
+            closeJournal();
+        }
+    }
+
+    // ===========================
+    // PELUANG MENANG
+    // ===========================
+
+    // Posisi disalin sekarang (EDT); show=false hanya mengisi cache supaya hasil siap saat dipakai
+    private void requestWinChances(boolean show) {
+        WinProbability calc = winProbability;
+        if (calc == null || session == null) return;
+        GameSession current = session;
+        WinProbability.Position position = WinProbability.Position.of(current);
+        Runnable job = () -> {
+            double[] chances = calc.winChances(position);
+            if (!show) return;
+            SwingUtilities.invokeLater(() -> {
+                // Sudah ada giliran/permainan baru: hasil ini basi
+                if (session != current || current.getTurnCount() != position.getTurn()) return;
+                List<Player> players = current.getPlayers();
+                for (int seat = 0; seat < players.size(); seat++) {
+                    leaderboardModel.setWinChance(players.get(seat), chances[seat]);
+                }
+            });
+        };
+        if (pendingChances.getAndSet(job) == null) probabilityWorker.execute(this::computePendingChances);
+    }
+
+    // Tabel hasil bisa puluhan ms untuk papan besar: dibangun di thread peluang, dipasang di EDT
+    private void loadWinProbability(CompiledBoard compiled) {
+        winProbability = null;
+        if (!WinProbability.supports(compiled)) return;
+        GameSession owner = session;
+        probabilityWorker.execute(() -> {
+            WinProbability calc = new WinProbability(compiled);
+            SwingUtilities.invokeLater(() -> {
+                // Permainan sudah ditutup/diganti sebelum tabel selesai
+                if (session != owner) return;
+                winProbability = calc;
+                requestWinChances(true);
+            });
+        });
+    }
+
+    private void computePendingChances() {
+        Runnable job = pendingChances.getAndSet(null);
+        if (job != null) job.run();
+    }
+
+    private void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Rekaman gagal ditutup: " + e.getMessage());
+        }
+        journal = null;
+        journalFile = null;
+    }
+
+    // ===========================
+    // GAME LOGIC (DADU MERAH & HIJAU)
+    // ===========================
+
+    private void startDiceRollAnimation() {
+        if (session == null || session.isFinished()) return;
+        rollButton.setEnabled(false);
+        log("🎲 Mengocok dadu...");
+        turnStartNanos = System.nanoTime();
+        turnStartPaints = metrics.getPaintCount();
+        diceEvent = new GameEvents.DiceRoll();
+        diceEvent.begin();
+
+        // Muka dadu acak berganti tiap DICE_FACE_MILLIS selama animasi (mode instan: langsung hasil)
+        final int[] shownFrame = {-1};
+        scheduler.animate(DICE_MILLIS, t -> {
+            int frame = (int) (t * DICE_MILLIS / DICE_FACE_MILLIS);
+            if (t < 1.0 && frame != shownFrame[0]) {
+                shownFrame[0] = frame;
+                diceImageLabel.setIcon(diceIcons[animationRng.nextFace() - 1]);
+            }
+        }, this::finalizeDiceRoll);
+    }
+
+    private void finalizeDiceRoll() {
+        Player currentPlayer = session.currentPlayer();
+        // LOGIKA DADU MERAH / HIJAU
+        // 70% Kemungkinan Hijau (Maju), 30% Merah (Mundur)
+        int step = diceRng.nextStep();
+        int diceValue = Math.abs(step);
+        boolean isGreen = step > 0;
+        diceImageLabel.setIcon(diceIcons[diceValue - 1]);
+        if (diceEvent.shouldCommit()) {
+            diceEvent.player = currentPlayer.getName();
+            diceEvent.dice = diceValue;
+            diceEvent.green = isGreen;
+            diceEvent.commit();
+        }
+
+        processMovement(diceValue, isGreen);
+    }
+
+    private void processMovement(int diceValue, boolean isGreen) {
+        GameEvents.ProcessMovement event = new GameEvents.ProcessMovement();
+        event.begin();
+        // Sesi langsung menjalankan seluruh giliran; di sini tinggal animasi dan log
+        TurnResult turn = session.playTurn(diceValue, isGreen);
+        Player currentPlayer = turn.getPlayer();
+        events.publish(GameEventBus.Type.ROLLED, turn);
+
+        boardPanel.setDisplayPosition(currentPlayer, turn.getStart());
+        animateMove(turn, () -> {
+            boardPanel.clearDisplayPosition(currentPlayer);
+            events.publishLanding(turn);
+
+            if (turn.isWon()) {
+                // Papan dan klasemen akhir tampil sebelum dialog modal
+                uiBatch.flush();
+                JOptionPane.showMessageDialog(
+                        this,
+                        "SELAMAT! " + currentPlayer.getName() + " MENANG!"
+                );
+                resetGameToMenu();
+            } else {
+                finishTurn();
+            }
+        });
+        if (event.shouldCommit()) {
+            event.turn = turn.getTurn();
+            event.player = currentPlayer.getName();
+            event.start = turn.getStart();
+            event.end = turn.getEnd();
+            event.commit();
+        }
+    }
+
+    // ===========================
+    // UI SIDE PANEL
+    // ===========================
+
+    private JPanel createGameSidePanel() {
+        JPanel sidePanel = new JPanel(new BorderLayout());
+        sidePanel.setPreferredSize(new Dimension(320, 800));
+        sidePanel.setBorder(new EmptyBorder(10, 10, 10, 10));
+        sidePanel.setBackground(new Color(230, 245, 255));
+
+        JPanel controlBox = new JPanel();
+        controlBox.setLayout(new BoxLayout(controlBox, BoxLayout.Y_AXIS));
+        controlBox.setOpaque(false);
+        controlBox.setBorder(BorderFactory.createTitledBorder("Kontrol"));
+
+        statusLabel = new JLabel("Giliran...", SwingConstants.CENTER);
+        statusLabel.setFont(new Font("Segoe UI", Font.BOLD, 18));
+        statusLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        diceImageLabel = new JLabel(diceIcons[0]);
+        diceImageLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+        diceImageLabel.setBorder(new EmptyBorder(10,0,10,0));
+
+        rollButton = new JButton("KOCOK DADU");
+        rollButton.setFont(new Font("Segoe UI Black", Font.BOLD, 18));
+        rollButton.setBackground(new Color(70, 130, 180));
+        rollButton.setForeground(Color.WHITE);
+        rollButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+        rollButton.addActionListener(e -> startDiceRollAnimation());
+
+        controlBox.add(statusLabel);
+        controlBox.add(Box.createVerticalStrut(10));
+        controlBox.add(diceImageLabel);
+        controlBox.add(Box.createVerticalStrut(10));
+        controlBox.add(rollButton);
+
+        JCheckBox musicToggle = new JCheckBox("🎵 Background Music", true);
+        musicToggle.setOpaque(false);
+        musicToggle.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        musicToggle.setAlignmentX(Component.CENTER_ALIGNMENT);
+
+        musicToggle.addActionListener(e -> {
+            toggleBackgroundMusic(musicToggle.isSelected());
+        });
+
+        controlBox.add(Box.createVerticalStrut(10));
+        controlBox.add(musicToggle);
+
+        JComboBox<FrameScheduler.Speed> speedBox = new JComboBox<>(FrameScheduler.Speed.values());
+        speedBox.setSelectedItem(scheduler.getSpeed());
+        speedBox.setBorder(BorderFactory.createTitledBorder("Kecepatan Animasi"));
+        speedBox.setMaximumSize(new Dimension(220, 55));
+        speedBox.setAlignmentX(Component.CENTER_ALIGNMENT);
+        speedBox.addActionListener(e -> scheduler.setSpeed((FrameScheduler.Speed) speedBox.getSelectedItem()));
+
+        JCheckBox autoToggle = new JCheckBox("🤖 Main Otomatis", autoPlay);
+        autoToggle.setOpaque(false);
+        autoToggle.setFont(new Font("Segoe UI", Font.BOLD, 14));
+        autoToggle.setAlignmentX(Component.CENTER_ALIGNMENT);
+        autoToggle.addActionListener(e -> {
+            autoPlay = autoToggle.isSelected();
+            queueAutoRoll();
+        });
+
+        controlBox.add(Box.createVerticalStrut(5));
+        controlBox.add(speedBox);
+        controlBox.add(autoToggle);
+
+
+        leaderboardModel = new LeaderboardModel(session.getPlayers());
+        leaderboardTable = new JTable(leaderboardModel);
+        leaderboardTable.setFont(new Font("Monospaced", Font.BOLD, 12));
+        leaderboardTable.setFillsViewportHeight(true);
+        leaderboardTable.setRowSelectionAllowed(false);
+        leaderboardTable.getTableHeader().setReorderingAllowed(false);
+        leaderboardTable.getColumnModel().getColumn(0).setMaxWidth(35);
+        leaderboardTable.getColumnModel().getColumn(2).setMaxWidth(45);
+        leaderboardTable.getColumnModel().getColumn(3).setMaxWidth(55);
+        leaderboardTable.getColumnModel().getColumn(4).setMaxWidth(60);
+        JScrollPane leaderScroll = new JScrollPane(leaderboardTable);
+        leaderScroll.setBorder(BorderFactory.createTitledBorder("🏆 KLASEMEN"));
+
+        // JList hanya menggambar baris yang terlihat; tinggi baris tetap = layout O(1)
+        JList<String> logList = new JList<>();
+        logList.setFixedCellHeight(18);
+        logList.setPrototypeCellValue("• " + "M".repeat(30));
+        logList.setFocusable(false);
+        gameLog.attach(logList);
+        JScrollPane logScroll = new JScrollPane(logList);
+        logScroll.setBorder(BorderFactory.createTitledBorder("Riwayat"));
+        logScroll.setPreferredSize(new Dimension(280, 200));
+
+        sidePanel.add(controlBox, BorderLayout.NORTH);
+        sidePanel.add(leaderScroll, BorderLayout.CENTER);
+        sidePanel.add(logScroll, BorderLayout.SOUTH);
+
+        return sidePanel;
+    }
+
+    // Tampilan giliran diurus pelanggan event; di sini hanya alur kontrol
+    private void finishTurn() {
+        rollButton.setEnabled(true);
+        queueAutoRoll();
+    }
+
+    // ===========================
+    // EVENT GILIRAN
+    // ===========================
+
+    private void subscribeGameEvents() {
+        events.subscribe((type, turn) -> persistTurn(turn), GameEventBus.Type.ROLLED);
+        events.subscribe(this::logTurnEvent, GameEventBus.Type.ROLLED, GameEventBus.Type.JUMPED,
+                GameEventBus.Type.REVERTED, GameEventBus.Type.TURN_ENDED);
+        events.subscribe((type, turn) -> recordTurnMetrics(), GameEventBus.Type.TURN_ENDED, GameEventBus.Type.WON);
+        events.subscribe((type, turn) -> recordResults(), GameEventBus.Type.WON);
+        events.subscribeAll(uiBatch);
+    }
+
+    // Rekaman + autosave begitu giliran diputuskan; peluang menang dihitung di belakang selama animasi
+    private void persistTurn(TurnResult turn) {
+        recordTurn(turn);
+        if (turn.isWon()) deleteSnapshot(); else saveSnapshot();
+        requestWinChances(false);
+    }
+
+    private void logTurnEvent(GameEventBus.Type type, TurnResult turn) {
+        switch (type) {
+            case ROLLED:
+                String colorText = turn.isGreen() ? "HIJAU (MAJU)" : "MERAH (MUNDUR)";
+                log(turn.getPlayer().getName() + ": Dadu " + turn.getDice() + " -> " + colorText);
+                break;
+            case REVERTED:
+                // ATURAN BARU: MUNDUR KE TANGGA TERAKHIR
+                log("⬇️ MUNDUR KE TANGGA TERAKHIR! TURUN KEMBALI!");
+                break;
+            case JUMPED:
+                if (turn.isLadder()) log("NAIK TANGGA! 🪜 Dari " + turn.getMoved() + " ke " + turn.getEnd());
+                else log("DITANGKAP NAGA! 🐉 Turun ke " + turn.getEnd());
+                break;
+            case TURN_ENDED:
+                if (turn.isExtraTurn()) log("⭐ Bonus Giliran (Kelipatan 10)!");
+                break;
+            default:
+                break;
+        }
+    }
+
+    // Satu update UI per frame, berapa pun event/giliran sejak frame sebelumnya
+    private void applyUiBatch(GameEventBus.FrameBatch batch) {
+        if (session == null || boardPanel == null) return;
+        // Sorotan jalur ada di lapisan statis; cache dibangun ulang hanya jika jalurnya berubah
+        if (batch.has(GameEventBus.Type.ROLLED)) boardPanel.repaint();
+        else boardPanel.repaintTokens();
+        if (batch.has(GameEventBus.Type.TURN_ENDED) || batch.has(GameEventBus.Type.WON)) {
+            // Hanya pemain yang baru jalan yang berubah: update peringkatnya saja
+            for (Player p : batch.getPlayers()) leaderboardModel.playerChanged(p);
+        }
+        if (batch.has(GameEventBus.Type.TURN_ENDED)) {
+            updateTurnLabel();
+            requestWinChances(true);
+        }
+    }
+
+    // Repaint yang diminta giliran ini baru digambar nanti, jadi ikut terhitung di giliran berikutnya
+    private void recordTurnMetrics() {
+        metrics.recordTurn(System.nanoTime() - turnStartNanos, (int) (metrics.getPaintCount() - turnStartPaints));
+    }
+
+    private void resetGameToMenu() {
+        cardLayout.show(mainContainer, "MENU");
+        // Lepas kartu lama: removeNotify BoardPanel membuang cache lapisan papan (RAM + VRAM)
+        if (gameContainer != null) {
+            mainContainer.remove(gameContainer);
+            gameContainer = null;
+        }
+        scheduler.cancelAll();
+        uiBatch.reset();
+        autoRollQueued = false;
+        closeJournal();
+        deleteSnapshot();
+        pendingChances.set(null);
+        winProbability = null;
+        session = null;
+        tempPlayerList.clear();
+        playerListModel.clear();
+        gameLog.clear();
+        updatePlayerCountUI();
+        refreshAllTime();
+    }
+
+    private void updateTurnLabel() {
+        if (session == null) return;
+        Player p = session.currentPlayer();
+        statusLabel.setText("Giliran: " + p.getName());
+        statusLabel.setForeground(p.getColor());
+        // Jika ada icon X atau O, tampilkan di label juga bisa (opsional)
+    }
+
+    private void log(String msg) {
+        gameLog.log(msg);
+    }
+
+    // Hanya posisi tampilan token yang bergerak; posisi di sesi sudah final.
+    // Jalan menurut waktu (mulus, tidak per petak), lalu meluncur di tangga/ular.
+    private void animateMove(TurnResult turn, Runnable onComplete) {
+        Player p = turn.getPlayer();
+        int from = turn.getStart();
+        int to = turn.getMoved();
+        scheduler.animate(Math.abs(to - from) * CELL_MILLIS,
+                t -> boardPanel.setDisplayPoint(p, boardPanel.cellPoint(from + (to - from) * t)),
+                () -> {
+                    events.publish(GameEventBus.Type.MOVED, turn);
+                    if (turn.getEnd() == to) {
+                        onComplete.run();
+                        return;
+                    }
+                    Point2D a = boardPanel.cellPoint(to);
+                    Point2D b = boardPanel.cellPoint(turn.getEnd());
+                    scheduler.animate(JUMP_MILLIS, t -> {
+                        double e = t * t * (3 - 2 * t); // ease in-out
+                        boardPanel.setDisplayPoint(p, new Point2D.Double(
+                                a.getX() + (b.getX() - a.getX()) * e, a.getY() + (b.getY() - a.getY()) * e));
+                    }, onComplete);
+                });
+    }
+
+    // ===========================
+    // MAIN OTOMATIS
+    // ===========================
+
+    private void queueAutoRoll() {
+        if (!autoPlay || autoRollQueued) return;
+        autoRollQueued = true;
+        scheduler.runNextFrame(this::autoRoll);
+    }
+
+    private void autoRoll() {
+        autoRollQueued = false;
+        long deadline = System.nanoTime() + AUTO_FRAME_BUDGET_NANOS;
+        while (autoPlay && canRoll()) {
+            startDiceRollAnimation();
+            if (scheduler.getSpeed() != FrameScheduler.Speed.INSTANT || System.nanoTime() > deadline) break;
+        }
+    }
+
+    private boolean canRoll() {
+        return session != null && !session.isFinished() && rollButton != null && rollButton.isEnabled();
+    }
+
+    public static void main(String[] args) {
+        try {
+            for (UIManager.LookAndFeelInfo info : UIManager.getInstalledLookAndFeels()) {
+                if ("Nimbus".equals(info.getName())) {
+                    UIManager.setLookAndFeel(info.getClassName());
+                    break;
+                }
+            }
+        } catch (Exception e) {}
+        // Metrik JMX + detektor EDT macet dipasang sebelum UI dibuat
+        EdtMonitor.install(GameMetrics.get());
+        SwingUtilities.invokeLater(() -> new SnakeLadderGame().setVisible(true));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,460 @@
+package ulartangga;
+
+import java.awt.Color;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// ===========================
+// JURNAL GILIRAN (BINER, MEMORY-MAPPED)
+// ===========================
+
+/**
+ * Catatan biner append-only dari setiap giliran satu permainan.
+ *
+ * Format file (big-endian):
+ * <pre>
+ *   header  : magic "ULTJ", versi, ukuran record, jumlah pemain, ukuran papan,
+ *             seed game, waktu mulai, offset data, jumlah record
+ *   pemain  : per pemain nama + karakter (UTF, panjang short) + warna RGB
+ *   record  : RECORD_SIZE byte per giliran, lihat {@link #append(TurnResult)}
+ * </pre>
+ * Karena record lebar tetap, offset giliran ke-n cukup dihitung, dan jumlah record
+ * di header ditulis setelah record-nya, jadi file yang terpotong tetap terbaca.
+ *
+ * Indeks jarang: setiap {@value #CHECKPOINT_INTERVAL} giliran disimpan state lengkap
+ * (posisi, skor, tangga terakhir, giliran berikutnya). {@link #seek(int)} mengambil
+ * checkpoint terdekat lalu menerapkan paling banyak 63 record, tanpa menjalankan
+ * ulang aturan dari awal. Indeks dibangun saat file dibuka/ditulis, tidak disimpan.
+ */
+final class TurnJournal implements Closeable {
+
+    public static final int MAGIC = 0x554C544A; // "ULTJ"
+    public static final short VERSION = 1;
+    public static final int RECORD_SIZE = 40;
+    public static final int CHECKPOINT_INTERVAL = 64;
+
+    // -Dgame.journal.dir=folder untuk merekam setiap game dari UI
+    public static final String DIR_PROPERTY = "game.journal.dir";
+
+    // Offset field header
+    private static final int H_MAGIC = 0, H_VERSION = 4, H_RECORD_SIZE = 6, H_PLAYERS = 8,
+            H_BOARD_SIZE = 12, H_SEED = 16, H_STARTED = 24, H_DATA_OFFSET = 32, H_COUNT = 36;
+    private static final int HEADER_SIZE = 40;
+
+    // Bit flag record
+    static final int F_GREEN = 1, F_LADDER = 2, F_SNAKE = 4, F_REVERTED = 8, F_EXTRA = 16, F_WON = 32;
+
+    // Batas byte UTF-8 nama/karakter pemain di header
+    private static final int MAX_STRING = 1024;
+
+    // Ukuran mapping ditambah per blok supaya tidak remap tiap giliran
+    private static final int GROW_RECORDS = 4_096;
+
+    private final FileChannel channel;
+    private final boolean writable;
+    private final int playerCount;
+    private final int boardSize;
+    private final long seed;
+    private final long startedMillis;
+    private final int dataOffset;
+    private final List<PlayerInfo> players;
+
+    private MappedByteBuffer map;
+    private int count;
+
+    // Checkpoint ke-k = state setelah giliran k * CHECKPOINT_INTERVAL
+    private final List<State> checkpoints = new ArrayList<>();
+    private final State tail;
+
+    /** Identitas pemain yang disimpan di header (cukup untuk menampilkan ulang). */
+    static final class PlayerInfo {
+        final String name;
+        final String characterType;
+        final int rgb;
+
+        PlayerInfo(String name, String characterType, int rgb) {
+            this.name = name;
+            this.characterType = characterType;
+            this.rgb = rgb;
+        }
+
+        Player toPlayer(int seat) {
+            return new Player(seat, name, new Color(rgb, true), characterType, null);
+        }
+    }
+
+    private TurnJournal(FileChannel channel, boolean writable, int boardSize, long seed, long startedMillis,
+                        int dataOffset, List<PlayerInfo> players, int count) throws IOException {
+        this.channel = channel;
+        this.writable = writable;
+        this.playerCount = players.size();
+        this.boardSize = boardSize;
+        this.seed = seed;
+        this.startedMillis = startedMillis;
+        this.dataOffset = dataOffset;
+        this.players = players;
+        this.count = count;
+        this.tail = new State(playerCount);
+        checkpoints.add(tail.copy());
+        remap(writable ? capacityFor(count) : dataOffset + (long) count * RECORD_SIZE);
+    }
+
+    /** Buat jurnal baru untuk satu permainan (file lama ditimpa). */
+    public static TurnJournal create(Path file, List<Player> players, int boardSize, long seed) throws IOException {
+        List<PlayerInfo> infos = new ArrayList<>();
+        ByteBuffer names = ByteBuffer.allocate(players.size() * (2 * (2 + MAX_STRING) + 4));
+        for (Player p : players) {
+            PlayerInfo info = new PlayerInfo(p.getName(), String.valueOf(p.getCharacterType()),
+                    p.getColor() == null ? 0xFF808080 : p.getColor().getRGB());
+            infos.add(info);
+            putString(names, info.name);
+            putString(names, info.characterType);
+            names.putInt(info.rgb);
+        }
+        int dataOffset = align(HEADER_SIZE + names.position(), RECORD_SIZE);
+        long started = System.currentTimeMillis();
+
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer head = ByteBuffer.allocate(dataOffset);
+        head.putInt(H_MAGIC, MAGIC)
+                .putShort(H_VERSION, VERSION)
+                .putShort(H_RECORD_SIZE, (short) RECORD_SIZE)
+                .putInt(H_PLAYERS, players.size())
+                .putInt(H_BOARD_SIZE, boardSize)
+                .putLong(H_SEED, seed)
+                .putLong(H_STARTED, started)
+                .putInt(H_DATA_OFFSET, dataOffset)
+                .putInt(H_COUNT, 0);
+        head.position(HEADER_SIZE);
+        head.put(names.flip());
+        head.clear();
+        while (head.hasRemaining()) ch.write(head, head.position());
+
+        return new TurnJournal(ch, true, boardSize, seed, started, dataOffset, infos, 0);
+    }
+
+    /** Buka jurnal yang sudah ada; {@code forAppend} untuk melanjutkan rekaman. */
+    public static TurnJournal open(Path file, boolean forAppend) throws IOException {
+        FileChannel ch = forAppend
+                ? FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer head = ByteBuffer.allocate(HEADER_SIZE);
+            while (head.hasRemaining() && ch.read(head, head.position()) >= 0) { /* baca penuh */ }
+            if (head.hasRemaining() || head.getInt(H_MAGIC) != MAGIC) throw new IOException("Bukan file jurnal: " + file);
+            if (head.getShort(H_VERSION) != VERSION) throw new IOException("Versi jurnal tidak didukung: " + head.getShort(H_VERSION));
+            if (head.getShort(H_RECORD_SIZE) != RECORD_SIZE) throw new IOException("Ukuran record tidak cocok");
+
+            int playerCount = head.getInt(H_PLAYERS);
+            int dataOffset = head.getInt(H_DATA_OFFSET);
+            ByteBuffer names = ByteBuffer.allocate(dataOffset - HEADER_SIZE);
+            while (names.hasRemaining() && ch.read(names, HEADER_SIZE + names.position()) >= 0) { /* baca penuh */ }
+            names.flip();
+            List<PlayerInfo> infos = new ArrayList<>();
+            for (int i = 0; i < playerCount; i++) {
+                infos.add(new PlayerInfo(getString(names), getString(names), names.getInt()));
+            }
+
+            // Record yang belum tercatat di header (mis. crash) diabaikan
+            long onDisk = (ch.size() - dataOffset) / RECORD_SIZE;
+            int count = (int) Math.min(head.getInt(H_COUNT), onDisk);
+
+            TurnJournal j = new TurnJournal(ch, forAppend, head.getInt(H_BOARD_SIZE), head.getLong(H_SEED),
+                    head.getLong(H_STARTED), dataOffset, infos, count);
+            for (int i = 0; i < count; i++) j.applyToTail(i);
+            return j;
+        } catch (IOException | RuntimeException e) {
+            ch.close();
+            throw e;
+        }
+    }
+
+    // ===========================
+    // TULIS
+    // ===========================
+
+    /**
+     * Tambah satu giliran. Layout record:
+     * turn(int) seat(short) dice(byte) flags(byte) start moved end scoreDelta scoreAfter
+     * ladderStart ladderEnd (int, tangga terakhir setelah giliran) + 4 byte cadangan.
+     */
+    public void append(TurnResult t) throws IOException {
+        if (!writable) throw new IllegalStateException("Jurnal dibuka read-only");
+        if (dataOffset + (long) (count + 1) * RECORD_SIZE > map.capacity()) remap(capacityFor(count + 1));
+
+        int flags = (t.isGreen() ? F_GREEN : 0) | (t.isLadder() ? F_LADDER : 0) | (t.isSnake() ? F_SNAKE : 0)
+                | (t.isReverted() ? F_REVERTED : 0) | (t.isExtraTurn() ? F_EXTRA : 0) | (t.isWon() ? F_WON : 0);
+        Player p = t.getPlayer();
+
+        int at = dataOffset + count * RECORD_SIZE;
+        map.putInt(at, t.getTurn())
+                .putShort(at + 4, (short) t.getSeat())
+                .put(at + 6, (byte) t.getDice())
+                .put(at + 7, (byte) flags)
+                .putInt(at + 8, t.getStart())
+                .putInt(at + 12, t.getMoved())
+                .putInt(at + 16, t.getEnd())
+                .putInt(at + 20, t.getScoreDelta())
+                .putInt(at + 24, p.getScore())
+                .putInt(at + 28, p.getLastClimbedLadderStart())
+                .putInt(at + 32, p.getLastClimbedLadderEnd())
+                .putInt(at + 36, 0);
+
+        // Jumlah record ditulis terakhir: record setengah jadi tidak pernah terhitung
+        map.putInt(H_COUNT, count + 1);
+        applyToTail(count);
+        count++;
+    }
+
+    /** Paksa isi mapping ke disk (mis. setelah game selesai). */
+    public void flush() {
+        if (writable) map.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writable) {
+            map.force();
+            map = null;
+            // Buang sisa ruang cadangan di akhir file
+            channel.truncate(dataOffset + (long) count * RECORD_SIZE);
+        }
+        channel.close();
+    }
+
+    private void remap(long bytes) throws IOException {
+        map = channel.map(writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, bytes);
+    }
+
+    private long capacityFor(int records) {
+        long blocks = (records + GROW_RECORDS) / GROW_RECORDS;
+        return dataOffset + blocks * GROW_RECORDS * (long) RECORD_SIZE;
+    }
+
+    // ===========================
+    // BACA / SEEK
+    // ===========================
+
+    public int size() { return count; }
+    public int getPlayerCount() { return playerCount; }
+    public int getBoardSize() { return boardSize; }
+    public long getSeed() { return seed; }
+    public long getStartedMillis() { return startedMillis; }
+    public List<PlayerInfo> getPlayers() { return players; }
+
+    /** Record ke-{@code index} (0-based, giliran ke index+1). */
+    public Record get(int index) {
+        if (index < 0 || index >= count) throw new IndexOutOfBoundsException("giliran " + index + ", total " + count);
+        return new Record(map, dataOffset + index * RECORD_SIZE);
+    }
+
+    /**
+     * State setelah {@code turns} giliran (0 = awal permainan). Checkpoint terdekat
+     * + paling banyak CHECKPOINT_INTERVAL - 1 record, jadi waktunya konstan.
+     */
+    public State seek(int turns) {
+        if (turns < 0 || turns > count) throw new IndexOutOfBoundsException("giliran " + turns + ", total " + count);
+        int cp = turns / CHECKPOINT_INTERVAL;
+        State s = checkpoints.get(cp).copy();
+        for (int i = cp * CHECKPOINT_INTERVAL; i < turns; i++) s.apply(map, dataOffset + i * RECORD_SIZE);
+        return s;
+    }
+
+    private void applyToTail(int index) {
+        tail.apply(map, dataOffset + index * RECORD_SIZE);
+        if ((index + 1) % CHECKPOINT_INTERVAL == 0) checkpoints.add(tail.copy());
+    }
+
+    /** Satu record dibaca langsung dari mapping (tanpa salinan byte). */
+    static final class Record {
+        private final ByteBuffer buf;
+        private final int at;
+
+        Record(ByteBuffer buf, int at) {
+            this.buf = buf;
+            this.at = at;
+        }
+
+        public int getTurn() { return buf.getInt(at); }
+        public int getSeat() { return buf.getShort(at + 4); }
+        public int getDice() { return buf.get(at + 6); }
+        public int getFlags() { return buf.get(at + 7); }
+        public boolean isGreen() { return (getFlags() & F_GREEN) != 0; }
+        public boolean isLadder() { return (getFlags() & F_LADDER) != 0; }
+        public boolean isSnake() { return (getFlags() & F_SNAKE) != 0; }
+        public boolean isReverted() { return (getFlags() & F_REVERTED) != 0; }
+        public boolean isExtraTurn() { return (getFlags() & F_EXTRA) != 0; }
+        public boolean isWon() { return (getFlags() & F_WON) != 0; }
+        public int getStart() { return buf.getInt(at + 8); }
+        public int getMoved() { return buf.getInt(at + 12); }
+        public int getEnd() { return buf.getInt(at + 16); }
+        public int getScoreDelta() { return buf.getInt(at + 20); }
+        public int getScoreAfter() { return buf.getInt(at + 24); }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "#%d kursi %d: %s%d %d->%d%s skor +%d (%d)%s%s",
+                    getTurn(), getSeat(), isGreen() ? "+" : "-", getDice(), getStart(), getMoved(),
+                    getEnd() != getMoved() ? "->" + getEnd() : "", getScoreDelta(), getScoreAfter(),
+                    isReverted() ? " turun-tangga" : "", isWon() ? " MENANG" : isExtraTurn() ? " bonus" : "");
+        }
+    }
+
+    /** State semua pemain pada satu titik rekaman. */
+    static final class State {
+        int turn;
+        int nextSeat;
+        int winnerSeat = -1;
+        boolean extraTurnPending;
+        final int[] position;
+        final int[] score;
+        final int[] ladderStart;
+        final int[] ladderEnd;
+
+        State(int players) {
+            position = new int[players];
+            score = new int[players];
+            ladderStart = new int[players];
+            ladderEnd = new int[players];
+            Arrays.fill(position, 1);
+            Arrays.fill(ladderStart, -1);
+            Arrays.fill(ladderEnd, -1);
+        }
+
+        private State(State o) {
+            turn = o.turn;
+            nextSeat = o.nextSeat;
+            winnerSeat = o.winnerSeat;
+            extraTurnPending = o.extraTurnPending;
+            position = o.position.clone();
+            score = o.score.clone();
+            ladderStart = o.ladderStart.clone();
+            ladderEnd = o.ladderEnd.clone();
+        }
+
+        State copy() { return new State(this); }
+
+        void apply(ByteBuffer buf, int at) {
+            int seat = buf.getShort(at + 4);
+            int flags = buf.get(at + 7);
+            turn = buf.getInt(at);
+            position[seat] = buf.getInt(at + 16);
+            score[seat] = buf.getInt(at + 24);
+            ladderStart[seat] = buf.getInt(at + 28);
+            ladderEnd[seat] = buf.getInt(at + 32);
+            extraTurnPending = (flags & F_EXTRA) != 0;
+            if ((flags & F_WON) != 0) {
+                winnerSeat = seat;
+                nextSeat = seat;
+            } else {
+                nextSeat = extraTurnPending ? seat : (seat + 1) % position.length;
+            }
+        }
+
+        // Getters
+        public int getTurn() { return turn; }
+        public int getNextSeat() { return nextSeat; }
+        public int getWinnerSeat() { return winnerSeat; }
+        public int getPosition(int seat) { return position[seat]; }
+        public int getScore(int seat) { return score[seat]; }
+        public int getLadderStart(int seat) { return ladderStart[seat]; }
+        public int getLadderEnd(int seat) { return ladderEnd[seat]; }
+    }
+
+    // ===========================
+    // UTIL
+    // ===========================
+
+    private static int align(int value, int unit) {
+        return (value + unit - 1) / unit * unit;
+    }
+
+    // Dipotong di batas karakter: byte lanjutan UTF-8 (10xxxxxx) tidak pernah jadi byte terakhir
+    private static void putString(ByteBuffer buf, String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        int len = bytes.length;
+        if (len > MAX_STRING) {
+            len = MAX_STRING;
+            while (len > 0 && (bytes[len] & 0xC0) == 0x80) len--;
+        }
+        buf.putShort((short) len).put(bytes, 0, len);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort()];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // ===========================
+    // REPLAY HEADLESS
+    // ===========================
+
+    /**
+     * Cek ulang jurnal dengan aturan: papan dibuat lagi dari seed, lalu setiap
+     * dadu yang tercatat dijalankan di GameSession baru dan hasilnya dibandingkan.
+     * Mengembalikan indeks record pertama yang berbeda, atau -1 jika semuanya cocok.
+     */
+    public int verify() {
+        List<Player> replayPlayers = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) replayPlayers.add(players.get(i).toPlayer(i));
+        GameSession session = new GameSession(boardFromSeed(seed), replayPlayers);
+
+        for (int i = 0; i < count; i++) {
+            Record r = get(i);
+            if (session.isFinished()) return i;
+            TurnResult t = session.playTurn(r.getDice(), r.isGreen());
+            if (t.getSeat() != r.getSeat() || t.getEnd() != r.getEnd()
+                    || t.getScoreDelta() != r.getScoreDelta() || t.isWon() != r.isWon()) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /** Papan yang sama dengan SnakeLadderGame.startGame untuk seed ini (split pertama). */
+    static GameBoard boardFromSeed(long seed) {
+        return new GameBoard(RandomSource.seeded(seed).split());
+    }
+
+    // Pemakaian: java TurnJournal file.ultj [giliran]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("Pemakaian: java ulartangga.TurnJournal file.ultj [giliran]");
+            return;
+        }
+        try (TurnJournal j = open(Paths.get(args[0]), false)) {
+            System.out.println("Jurnal " + args[0] + ": " + j.size() + " giliran, " + j.getPlayerCount()
+                    + " pemain, papan " + j.getBoardSize() + ", seed " + j.getSeed());
+
+            long t0 = System.nanoTime();
+            State end = j.seek(j.size());
+            long t1 = System.nanoTime();
+            int mismatch = j.verify();
+            long t2 = System.nanoTime();
+            System.out.printf(Locale.ROOT, "Seek ke akhir %.1f us | replay + verifikasi %.2f ms -> %s%n",
+                    (t1 - t0) / 1e3, (t2 - t1) / 1e6,
+                    mismatch < 0 ? "cocok" : "BERBEDA mulai giliran " + (mismatch + 1));
+
+            State s = args.length > 1 ? j.seek(Integer.parseInt(args[1])) : end;
+            System.out.println("State setelah giliran " + s.getTurn() + ":");
+            for (int i = 0; i < j.getPlayerCount(); i++) {
+                System.out.println("  " + j.getPlayers().get(i).name + ": petak " + s.getPosition(i)
+                        + ", skor " + s.getScore(i) + (s.getWinnerSeat() == i ? " (MENANG)" : "")
+                        + (s.getNextSeat() == i && s.getWinnerSeat() < 0 ? " <- giliran berikutnya" : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package ulartangga;
+
+// ===========================
+// HASIL SATU GILIRAN
+// ===========================
+
+/**
+ * Ringkasan immutable dari satu giliran yang sudah dijalankan {@link GameSession}.
+ * UI memakainya untuk animasi dan log, host untuk metrik.
+ *
+ * Urutan posisi: {@code start} -> {@code moved} (setelah dadu) -> {@code end}
+ * (setelah tangga/ular atau turun ke tangga terakhir).
+ */
+final class TurnResult {
+
+    private final int turn;
+    private final int seat;
+    private final Player player;
+    private final int dice;
+    private final boolean green;
+    private final int start;
+    private final int moved;
+    private final int end;
+    private final boolean reverted;
+    private final int scoreDelta;
+    private final boolean extraTurn;
+    private final boolean won;
+
+    TurnResult(int turn, int seat, Player player, int dice, boolean green,
+               int start, int moved, int end, boolean reverted,
+               int scoreDelta, boolean extraTurn, boolean won) {
+        this.turn = turn;
+        this.seat = seat;
+        this.player = player;
+        this.dice = dice;
+        this.green = green;
+        this.start = start;
+        this.moved = moved;
+        this.end = end;
+        this.reverted = reverted;
+        this.scoreDelta = scoreDelta;
+        this.extraTurn = extraTurn;
+        this.won = won;
+    }
+
+    // Getters
+    public int getTurn() { return turn; }
+    public int getSeat() { return seat; }
+    public Player getPlayer() { return player; }
+    public int getDice() { return dice; }
+    public boolean isGreen() { return green; }
+    public int getSteps() { return green ? dice : -dice; }
+    public int getStart() { return start; }
+    public int getMoved() { return moved; }
+    public int getEnd() { return end; }
+    public boolean isReverted() { return reverted; }
+    public int getScoreDelta() { return scoreDelta; }
+    public boolean isExtraTurn() { return extraTurn; }
+    public boolean isWon() { return won; }
+
+    // Naik tangga atau turun ular (bukan turun ke tangga terakhir)
+    public boolean isJump() { return !reverted && end != moved; }
+    public boolean isLadder() { return isJump() && end > moved; }
+    public boolean isSnake() { return isJump() && end < moved; }
+
+    @Override
+    public String toString() {
+        return "#" + turn + " " + player + ": " + (green ? "+" : "-") + dice
+                + " " + start + "->" + moved + (end != moved ? "->" + end : "")
+                + (reverted ? " (turun ke tangga terakhir)" : "")
+                + " skor +" + scoreDelta + (extraTurn ? " bonus" : "") + (won ? " MENANG" : "");
+    }
+}
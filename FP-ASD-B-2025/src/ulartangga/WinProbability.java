@@ -0,0 +1,313 @@
+package ulartangga;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ===========================
+// PELUANG MENANG EKSAK (LIVE)
+// ===========================
+
+/**
+ * Peluang setiap pemain mencapai finish lebih dulu dari posisi bersama saat ini:
+ * posisi + tangga terakhir semua pemain, urutan antrian giliran, dan bonus giliran.
+ *
+ * Pemain tidak saling memengaruhi (tidak ada tabrakan/makan bidak), jadi rantai
+ * bersama terurai persis menjadi rantai per pemain. Untuk setiap state pemain
+ * (posisi, tangga terakhir, sedang bonus) dihitung distribusi "selesai di giliran
+ * ke-t" sampai sisa peluang < {@value #TAIL_EPSILON}, lalu digabung: pemain ke-k di
+ * antrian selesai di giliran ke-t pada waktu (t-1)*n + k, dan menang jika semua
+ * pemain sebelumnya di antrian belum selesai di giliran ke-t dan sesudahnya di ke-(t-1).
+ *
+ * Distribusi per state disimpan di cache transposisi terbatas (LRU); setelah satu
+ * giliran hanya state pemain yang baru jalan yang mungkin baru, sisanya cache hit.
+ * Tidak thread-safe: dipakai dari satu thread latar.
+ */
+final class WinProbability {
+
+    private static final double TAIL_EPSILON = 1e-12;
+    private static final int MAX_TURNS = 5_000;
+    private static final int CACHE_ENTRIES = 1_024;
+    private static final int MAX_STATES = 1 << 18;
+    private static final int OUTCOMES = 2 * GameRules.DICE_FACES;
+    private static final int NONE = 0;
+    private static final int FINISHED = -1;
+
+    private final int finish;
+    private final int ladderSlots;
+    private final int[] ladderStart;   // index 0 = tidak ada
+    private final int[] ladderEnd;
+    private final int stateCount;
+
+    // outcome[s * OUTCOMES + k]: state tujuan atau FINISHED; k < 6 hijau, sisanya merah
+    private final int[] outcome;
+    private final double greenChance;
+    private final double redChance;
+
+    private final Map<Integer, double[]> cache = new LinkedHashMap<Integer, double[]>(CACHE_ENTRIES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, double[]> eldest) {
+            return size() > CACHE_ENTRIES;
+        }
+    };
+    private long hits;
+    private long misses;
+
+    // Buffer propagasi, dipakai ulang
+    private final double[] slot;
+    private final double[] nextSlot;
+    private final double[] bonusA;
+    private final double[] bonusB;
+    private final int[] bonusListA;
+    private final int[] bonusListB;
+
+    public WinProbability(CompiledBoard board) {
+        this.finish = board.getSize();
+        CellRules rules = board.rules();
+        int[] ups = new int[board.getSize() + 1];
+        int count = 0;
+        for (int i = 2; i < finish; i++) if (CellRules.has(rules.action(i), CellRules.LADDER)) ups[count++] = i;
+        this.ladderStart = new int[count + 1];
+        this.ladderEnd = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            ladderStart[i + 1] = ups[i];
+            ladderEnd[i + 1] = CellRules.dest(rules.action(ups[i]));
+        }
+        this.ladderSlots = count + 1;
+
+        long states = (long) (finish + 1) * ladderSlots * 2;
+        if (states > MAX_STATES) {
+            throw new IllegalArgumentException("Papan terlalu besar untuk peluang eksak (" + states + " state)");
+        }
+        this.stateCount = (int) states;
+        this.greenChance = GameRules.GREEN_CHANCE / GameRules.DICE_FACES;
+        this.redChance = (1 - GameRules.GREEN_CHANCE) / GameRules.DICE_FACES;
+        this.outcome = new int[stateCount * OUTCOMES];
+        buildOutcomes(rules);
+
+        this.slot = new double[stateCount];
+        this.nextSlot = new double[stateCount];
+        this.bonusA = new double[stateCount];
+        this.bonusB = new double[stateCount];
+        this.bonusListA = new int[stateCount];
+        this.bonusListB = new int[stateCount];
+    }
+
+    /** Papan yang didukung (jumlah state cukup kecil untuk dihitung eksak). */
+    public static boolean supports(CompiledBoard board) {
+        CellRules rules = board.rules();
+        int ladders = 0;
+        for (int i = 2; i < board.getSize(); i++) if (CellRules.has(rules.action(i), CellRules.LADDER)) ladders++;
+        return (long) (board.getSize() + 1) * (ladders + 1) * 2 <= MAX_STATES;
+    }
+
+    private int id(int pos, int ladder, boolean extra) {
+        return (pos * ladderSlots + ladder) * 2 + (extra ? 1 : 0);
+    }
+
+    private int ladderIndex(int start) {
+        int i = Arrays.binarySearch(ladderStart, 1, ladderSlots, start);
+        return i < 0 ? NONE : i;
+    }
+
+    // Aturan sama dengan GameSession.playTurn (dan MarkovAnalyzer.addOutcome)
+    private void buildOutcomes(CellRules rules) {
+        for (int pos = 1; pos < finish; pos++) {
+            for (int ladder = 0; ladder < ladderSlots; ladder++) {
+                for (int e = 0; e < 2; e++) {
+                    boolean extra = e == 1;
+                    int base = id(pos, ladder, extra) * OUTCOMES;
+                    for (int k = 0; k < OUTCOMES; k++) {
+                        int steps = k < GameRules.DICE_FACES ? k + 1 : -(k - GameRules.DICE_FACES + 1);
+                        outcome[base + k] = next(rules, pos, ladder, extra, steps);
+                    }
+                }
+            }
+        }
+    }
+
+    private int next(CellRules rules, int pos, int ladder, boolean extra, int steps) {
+        int t = GameRules.moveTarget(pos, steps, finish);
+        // Mundur ke ujung tangga terakhir: turun kembali, status bonus tetap
+        if (steps < 0 && ladder != NONE && t == ladderEnd[ladder]) return id(ladderStart[ladder], NONE, extra);
+        long action = rules.action(t);
+        if (CellRules.has(action, CellRules.FINISH)) return FINISHED;
+        int nextLadder = ladder;
+        if (CellRules.has(action, CellRules.LADDER)) nextLadder = ladderIndex(t);
+        else if (CellRules.has(action, CellRules.SNAKE)) nextLadder = NONE;
+        return id(CellRules.dest(action), nextLadder, CellRules.has(action, CellRules.BONUS));
+    }
+
+    // ===========================
+    // DISTRIBUSI PER PEMAIN
+    // ===========================
+
+    /** Peluang selesai tepat di giliran ke-t (index 0 = 0) dari state ini; memo di cache. */
+    double[] finishDistribution(int pos, int lastLadderStart, boolean extra) {
+        if (pos >= finish) return new double[] {0, 1};
+        int ladder = lastLadderStart > 0 ? ladderIndex(lastLadderStart) : NONE;
+        int start = id(pos, ladder, extra);
+        double[] dist = cache.get(start);
+        if (dist != null) {
+            hits++;
+            return dist;
+        }
+        misses++;
+        dist = propagate(start);
+        cache.put(start, dist);
+        return dist;
+    }
+
+    private double[] propagate(int start) {
+        double[] dist = new double[64];
+        double[] cur = slot;
+        double[] next = nextSlot;
+        cur[start] = 1.0;
+        double alive = 1.0;
+        int turn = 0;
+        while (alive > TAIL_EPSILON && turn < MAX_TURNS) {
+            turn++;
+            double finished = 0;
+
+            // Lemparan pertama giliran ini dari semua state; hasil di petak bonus melempar lagi
+            int bonusCount = 0;
+            double[] bonus = bonusA;
+            int[] bonusList = bonusListA;
+            for (int s = 0; s < stateCount; s++) {
+                double m = cur[s];
+                if (m == 0) continue;
+                cur[s] = 0;
+                int base = s * OUTCOMES;
+                for (int k = 0; k < OUTCOMES; k++) {
+                    int to = outcome[base + k];
+                    double mass = m * (k < GameRules.DICE_FACES ? greenChance : redChance);
+                    if (to == FINISHED) {
+                        finished += mass;
+                    } else if ((to & 1) != 0) {
+                        if (bonus[to] == 0) bonusList[bonusCount++] = to;
+                        bonus[to] += mass;
+                    } else {
+                        next[to] += mass;
+                    }
+                }
+            }
+
+            // Lemparan bonus (masih giliran yang sama): hanya state di petak bonus
+            double rollingMass = 1;
+            double[] otherBonus = bonusB;
+            int[] otherList = bonusListB;
+            while (bonusCount > 0 && rollingMass > TAIL_EPSILON * TAIL_EPSILON) {
+                int nextCount = 0;
+                rollingMass = 0;
+                for (int i = 0; i < bonusCount; i++) {
+                    int s = bonusList[i];
+                    double m = bonus[s];
+                    bonus[s] = 0;
+                    if (m == 0) continue;
+                    int base = s * OUTCOMES;
+                    for (int k = 0; k < OUTCOMES; k++) {
+                        int to = outcome[base + k];
+                        double mass = m * (k < GameRules.DICE_FACES ? greenChance : redChance);
+                        if (to == FINISHED) {
+                            finished += mass;
+                        } else if ((to & 1) != 0) {
+                            if (otherBonus[to] == 0) otherList[nextCount++] = to;
+                            otherBonus[to] += mass;
+                            rollingMass += mass;
+                        } else {
+                            next[to] += mass;
+                        }
+                    }
+                }
+                double[] tb = bonus; bonus = otherBonus; otherBonus = tb;
+                int[] tl = bonusList; bonusList = otherList; otherList = tl;
+                bonusCount = nextCount;
+            }
+            // Sisa massa bonus yang sangat kecil dibuang (di bawah presisi double)
+            for (int i = 0; i < bonusCount; i++) bonus[bonusList[i]] = 0;
+
+            if (turn == dist.length) dist = Arrays.copyOf(dist, dist.length * 2);
+            dist[turn] = finished;
+            alive -= finished;
+            double[] t = cur; cur = next; next = t;
+        }
+        Arrays.fill(cur, 0);
+        return Arrays.copyOf(dist, turn + 1);
+    }
+
+    // ===========================
+    // GABUNGAN SEMUA PEMAIN
+    // ===========================
+
+    /** Peluang menang per kursi (index = kursi di {@code position}). */
+    public double[] winChances(Position position) {
+        int n = position.seats.length;
+        double[] bySeat = new double[n];
+        if (position.winnerSeat >= 0) {
+            bySeat[position.winnerSeat] = 1;
+            return bySeat;
+        }
+        double[][] dist = new double[n][];
+        int longest = 0;
+        for (int k = 0; k < n; k++) {
+            dist[k] = finishDistribution(position.pos[k], position.ladderStart[k], k == 0 && position.extra);
+            longest = Math.max(longest, dist[k].length);
+        }
+
+        // survive[k] = peluang pemain ke-k belum selesai setelah giliran ke-t (dan t-1)
+        double[] survive = new double[n];
+        double[] surviveBefore = new double[n];
+        Arrays.fill(survive, 1);
+        for (int t = 1; t < longest; t++) {
+            System.arraycopy(survive, 0, surviveBefore, 0, n);
+            for (int k = 0; k < n; k++) if (t < dist[k].length) survive[k] -= dist[k][t];
+            for (int k = 0; k < n; k++) {
+                if (t >= dist[k].length || dist[k][t] == 0) continue;
+                double p = dist[k][t];
+                for (int j = 0; j < k; j++) p *= Math.max(0, survive[j]);
+                for (int j = k + 1; j < n; j++) p *= Math.max(0, surviveBefore[j]);
+                bySeat[position.seats[k]] += p;
+            }
+        }
+        return bySeat;
+    }
+
+    public long getCacheHits() { return hits; }
+    public long getCacheMisses() { return misses; }
+    public int getCacheSize() { return cache.size(); }
+
+    /**
+     * Posisi bersama yang disalin di EDT (hanya angka), supaya perhitungan di thread
+     * latar tidak menyentuh objek Player yang sedang dipakai UI.
+     */
+    static final class Position {
+        final int[] seats;          // urutan antrian -> kursi
+        final int[] pos;
+        final int[] ladderStart;
+        final boolean extra;        // pemain terdepan sedang bonus giliran
+        final int winnerSeat;
+        final int turn;
+
+        private Position(GameSession session) {
+            List<Player> queue = session.getTurnOrder();
+            int n = queue.size();
+            this.seats = new int[n];
+            this.pos = new int[n];
+            this.ladderStart = new int[n];
+            for (int k = 0; k < n; k++) {
+                Player p = queue.get(k);
+                seats[k] = session.seatOf(p);
+                pos[k] = p.getPosition();
+                ladderStart[k] = p.getLastClimbedLadderEnd() >= 0 ? p.getLastClimbedLadderStart() : -1;
+            }
+            this.extra = session.isExtraTurnPending();
+            this.winnerSeat = session.getWinner() == null ? -1 : session.seatOf(session.getWinner());
+            this.turn = session.getTurnCount();
+        }
+
+        public static Position of(GameSession session) { return new Position(session); }
+
+        public int getTurn() { return turn; }
+    }
+}
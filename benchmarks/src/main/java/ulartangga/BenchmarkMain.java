@@ -0,0 +1,131 @@
+package ulartangga;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.ProfilerConfig;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+// ===========================
+// RUNNER BENCHMARK + CEK REGRESI
+// ===========================
+
+/**
+ * Entry point benchmarks.jar. Semua argumen JMH biasa tetap berlaku;
+ * profiler GC selalu dipasang supaya laju alokasi ikut tercatat.
+ *
+ * Properti tambahan:
+ *   -Dbench.save=file       simpan skor (waktu dan alokasi per operasi) sebagai baseline
+ *   -Dbench.baseline=file   bandingkan dengan baseline, exit 1 jika ada regresi
+ *   -Dbench.threshold=0.10  toleransi regresi (default 10%)
+ */
+public class BenchmarkMain {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+
+    // Alokasi kecil (mis. 0 -> 8 byte) dianggap noise, bukan regresi
+    private static final double ALLOC_SLACK_BYTES = 16;
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(cli);
+
+        boolean hasGc = false;
+        for (ProfilerConfig p : cli.getProfilers()) {
+            if (p.getKlass().equals(GCProfiler.class.getName()) || p.getKlass().equals("gc")) hasGc = true;
+        }
+        if (!hasGc) builder.addProfiler(GCProfiler.class);
+
+        Collection<RunResult> results = new Runner(builder.build()).run();
+        Map<String, Double> scores = collectScores(results);
+
+        String save = System.getProperty("bench.save");
+        if (save != null) {
+            writeScores(Paths.get(save), scores);
+            System.out.println("Baseline disimpan ke " + save);
+        }
+
+        String baseline = System.getProperty("bench.baseline");
+        if (baseline != null) {
+            double threshold = Double.parseDouble(System.getProperty("bench.threshold", "0.10"));
+            List<String> regressions = compare(readScores(Paths.get(baseline)), scores, threshold);
+            if (!regressions.isEmpty()) {
+                System.out.println("REGRESI terdeteksi (toleransi " + (int) (threshold * 100) + "%):");
+                for (String r : regressions) System.out.println("  " + r);
+                System.exit(1);
+            }
+            System.out.println("Tidak ada regresi dibanding " + baseline);
+        }
+    }
+
+    private static Map<String, Double> collectScores(Collection<RunResult> results) {
+        Map<String, Double> scores = new TreeMap<>();
+        for (RunResult run : results) {
+            String key = keyOf(run.getParams());
+            scores.put(key, run.getPrimaryResult().getScore());
+            for (Map.Entry<String, Result> e : run.getSecondaryResults().entrySet()) {
+                String label = e.getKey().startsWith("·") ? e.getKey().substring(1) : e.getKey();
+                if (label.equals(ALLOC_NORM)) scores.put(key + "#" + ALLOC_NORM, e.getValue().getScore());
+            }
+        }
+        return scores;
+    }
+
+    private static String keyOf(BenchmarkParams params) {
+        StringBuilder sb = new StringBuilder(params.getBenchmark());
+        for (String p : params.getParamsKeys()) sb.append(':').append(p).append('=').append(params.getParam(p));
+        return sb.toString();
+    }
+
+    // Semua benchmark memakai AverageTime, jadi skor lebih besar = lebih lambat
+    private static List<String> compare(Map<String, Double> base, Map<String, Double> now, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<String, Double> e : now.entrySet()) {
+            Double old = base.get(e.getKey());
+            if (old == null) continue;
+            double limit = old * (1 + threshold);
+            if (e.getKey().endsWith(ALLOC_NORM)) limit += ALLOC_SLACK_BYTES;
+            if (e.getValue() > limit) {
+                regressions.add(String.format(Locale.ROOT, "%s: %.3f -> %.3f (%+.1f%%)",
+                        e.getKey(), old, e.getValue(), old == 0 ? 100.0 : (e.getValue() / old - 1) * 100));
+            }
+        }
+        return regressions;
+    }
+
+    private static void writeScores(Path file, Map<String, Double> scores) throws IOException {
+        Properties props = new Properties();
+        for (Map.Entry<String, Double> e : scores.entrySet()) props.setProperty(e.getKey(), Double.toString(e.getValue()));
+        try (Writer w = Files.newBufferedWriter(file)) {
+            props.store(w, "Baseline benchmark Ular Tangga");
+        }
+    }
+
+    private static Map<String, Double> readScores(Path file) throws IOException {
+        Properties props = new Properties();
+        try (Reader r = Files.newBufferedReader(file)) {
+            props.load(r);
+        }
+        Map<String, Double> scores = new TreeMap<>();
+        for (String key : props.stringPropertyNames()) scores.put(key, Double.parseDouble(props.getProperty(key)));
+        return scores;
+    }
+}
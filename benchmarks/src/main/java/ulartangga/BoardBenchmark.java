@@ -0,0 +1,106 @@
+package ulartangga;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+// ===========================
+// BENCHMARK: LOGIKA PAPAN
+// ===========================
+
+/**
+ * Jalur panas aturan papan: checkJump, isPrime, tabel aksi per petak (CellRules),
+ * dan jalur terpendek (markShortestPath).
+ * Setiap operasi menyapu semua petak 1..100 supaya mirip satu giliran simulasi.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BoardBenchmark {
+
+    private GameBoard board;
+    private BitSet path;
+
+    @Setup
+    public void setup() {
+        board = new GameBoard();
+        path = new BitSet(GameRules.FINISH + 1);
+    }
+
+    @Benchmark
+    public int checkJumpAllCells() {
+        int sum = 0;
+        for (int pos = 1; pos <= GameRules.FINISH; pos++) sum += board.checkJump(pos);
+        return sum;
+    }
+
+    @Benchmark
+    public int scoreAllCells() {
+        int sum = 0;
+        for (int pos = 1; pos <= GameRules.FINISH; pos++) sum += board.getScoreForCell(pos);
+        return sum;
+    }
+
+    @Benchmark
+    public int isPrimeAllCells() {
+        int count = 0;
+        for (int pos = 1; pos <= GameRules.FINISH; pos++) if (board.isPrime(pos)) count++;
+        return count;
+    }
+
+    // Efek mendarat per petak seperti dulu: lompatan, skor, bonus dan finish dicek terpisah
+    @Benchmark
+    public int resolveAllCellsInline() {
+        int sum = 0;
+        for (int pos = 1; pos <= GameRules.FINISH; pos++) {
+            int dest = board.checkJump(pos);
+            sum += dest + board.getScoreForCell(dest);
+            if (dest == GameRules.FINISH) sum++;
+            else if (GameRules.isBonusCell(dest)) sum += 2;
+        }
+        return sum;
+    }
+
+    // Efek yang sama dari satu lookup tabel aturan per petak
+    @Benchmark
+    public int resolveAllCellsTable() {
+        CellRules rules = board.getCompiled().rules();
+        int sum = 0;
+        for (int pos = 1; pos <= GameRules.FINISH; pos++) {
+            long action = rules.action(pos);
+            sum += CellRules.dest(action) + rules.score(action);
+            if (CellRules.has(action, CellRules.FINISH)) sum++;
+            else if (CellRules.has(action, CellRules.BONUS)) sum += 2;
+        }
+        return sum;
+    }
+
+    // Biaya sekali per papan untuk mengompilasi tabel aturan (termasuk saringan prima)
+    @Benchmark
+    public CellRules compileRules() {
+        return CellRules.compile(board.getCompiled());
+    }
+
+    // Sama seperti processMovement: jalur hanya dihitung dari petak prima
+    @Benchmark
+    public int shortestPathFromPrimes() {
+        int cells = 0;
+        for (int pos = 1; pos <= GameRules.FINISH; pos++) {
+            if (board.isPrime(pos)) {
+                GameSession.markShortestPath(board, pos, path);
+                cells += path.cardinality();
+            }
+        }
+        return cells;
+    }
+
+    // Biaya sekali per papan untuk membangun tabel jarak
+    @Benchmark
+    public DistanceTable buildDistanceTable() {
+        return DistanceTable.build(board.getCompiled());
+    }
+}
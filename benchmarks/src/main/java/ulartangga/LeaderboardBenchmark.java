@@ -0,0 +1,73 @@
+package ulartangga;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// ===========================
+// BENCHMARK: KLASEMEN
+// ===========================
+
+/**
+ * Biaya update klasemen per giliran. {@code rebuildText} adalah cara lama
+ * (PriorityQueue dari semua pemain lalu teks klasemen disusun ulang),
+ * {@code incrementalUpdate} memakai LeaderboardModel (O(log n) + event baris).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaderboardBenchmark {
+
+    @Param({"4", "100", "1000"})
+    public int players;
+
+    private List<Player> allPlayers;
+    private LeaderboardModel model;
+    private Random rand;
+
+    @Setup
+    public void setup() {
+        rand = new Random(42);
+        allPlayers = new ArrayList<>();
+        for (int i = 0; i < players; i++) {
+            Player p = new Player(i, "Pemain " + i, Color.BLUE, "Doraemon", null);
+            p.addScore(rand.nextInt(2000));
+            allPlayers.add(p);
+        }
+        model = new LeaderboardModel(allPlayers);
+    }
+
+    // Cara lama: skor satu pemain berubah, lalu seluruh teks klasemen disusun ulang
+    @Benchmark
+    public String rebuildText() {
+        allPlayers.get(rand.nextInt(players)).addScore(rand.nextInt(50) + 10);
+        PriorityQueue<Player> pq = new PriorityQueue<>(allPlayers);
+        StringBuilder sb = new StringBuilder();
+        int rank = 1;
+        while (!pq.isEmpty()) {
+            Player p = pq.poll();
+            sb.append(rank).append(". ").append(p.getName())
+                    .append(" (").append(p.getCharacterType()).append(")\n")
+                    .append("   Pos: ").append(p.getPosition()).append(" | Skor: ").append(p.getScore()).append("\n");
+            rank++;
+        }
+        return sb.toString();
+    }
+
+    // Cara baru: hanya peringkat pemain itu yang diperbarui
+    @Benchmark
+    public int incrementalUpdate() {
+        Player p = allPlayers.get(rand.nextInt(players));
+        p.addScore(rand.nextInt(50) + 10);
+        model.playerChanged(p);
+        return model.rankOf(p);
+    }
+}
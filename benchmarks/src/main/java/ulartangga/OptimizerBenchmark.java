@@ -0,0 +1,40 @@
+package ulartangga;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// ===========================
+// BENCHMARK: EVALUASI KANDIDAT OPTIMASI PAPAN
+// ===========================
+
+/**
+ * Satu evaluasi kandidat {@link BoardOptimizer} (1000 game, 4 pemain) pada papan
+ * klasik. gc.alloc.rate.norm harus ~0: evaluasi dipanggil puluhan ribu kali per menit.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OptimizerBenchmark {
+
+    private BoardOptimizer.Evaluator evaluator;
+    private int[] from;
+    private int[] to;
+
+    @Setup
+    public void setup() {
+        BoardOptimizer optimizer = new BoardOptimizer(GameRules.FINISH, 10, 8, 0, 4,
+                new BoardOptimizer.TurnTarget(120, 40));
+        evaluator = optimizer.newEvaluator(42);
+        from = new int[] {4, 9, 20, 28, 40, 51, 63, 71};
+        to = new int[] {14, 31, 38, 84, 59, 67, 81, 91};
+    }
+
+    @Benchmark
+    public double evaluateCandidate() {
+        return evaluator.evaluate(from, to, BoardOptimizer.DEFAULT_GAMES);
+    }
+}
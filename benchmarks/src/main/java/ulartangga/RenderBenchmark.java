@@ -0,0 +1,100 @@
+package ulartangga;
+
+import org.openjdk.jmh.annotations.*;
+
+import javax.swing.ImageIcon;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// ===========================
+// BENCHMARK: RENDER PAPAN (HEADLESS)
+// ===========================
+
+/**
+ * Satu repaint penuh BoardPanel.paintComponent ke BufferedImage offscreen,
+ * dengan ukuran panel yang sama seperti di jendela game (1280x850 dikurangi side panel).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+
+    private static final int WIDTH = 960;
+    private static final int HEIGHT = 820;
+
+    // Kira-kira kotak satu token (28px x skala 1.35 + border)
+    private static final int DIRTY_X = 100;
+    private static final int DIRTY_Y = 700;
+    private static final int DIRTY_SIZE = 48;
+
+    private BoardPanel panel;
+    private BufferedImage canvas;
+    private Graphics2D g2;
+    private List<Player> players;
+
+    @Setup
+    public void setup() {
+        GameBoard board = new GameBoard();
+        players = new ArrayList<>();
+        Color[] colors = {Color.BLUE, Color.PINK, Color.RED, Color.GREEN};
+        for (int i = 0; i < colors.length; i++) {
+            BufferedImage avatar = new BufferedImage(30, 30, BufferedImage.TYPE_INT_ARGB);
+            Player p = new Player(i, "P" + (i + 1), colors[i], "Avatar", new ImageIcon(avatar));
+            p.setPosition(1 + i * 17);
+            players.add(p);
+        }
+
+        BitSet path = new BitSet(GameRules.FINISH + 1);
+        GameSession.markShortestPath(board, 23, path);
+
+        panel = new BoardPanel(board, players, path);
+        panel.setSize(WIDTH, HEIGHT);
+        canvas = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        g2 = canvas.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        g2.dispose();
+    }
+
+    @Benchmark
+    public BufferedImage paintFullBoard() {
+        panel.paintComponent(g2);
+        return canvas;
+    }
+
+    // Frame animasi: satu token bergeser satu petak lalu papan digambar ulang
+    @Benchmark
+    public BufferedImage paintAnimationFrame() {
+        Player p = players.get(0);
+        p.setPosition(p.getPosition() % (GameRules.FINISH - 1) + 1);
+        panel.paintComponent(g2);
+        return canvas;
+    }
+
+    // Repaint sebagian seperti repaintTokens: hanya kotak kecil di sekitar token
+    @Benchmark
+    public BufferedImage paintDirtyRegion() {
+        g2.setClip(DIRTY_X, DIRTY_Y, DIRTY_SIZE, DIRTY_SIZE);
+        panel.paintComponent(g2);
+        g2.setClip(null);
+        return canvas;
+    }
+
+    // Biaya membangun ulang lapisan statis (ganti ukuran atau jalur sorotan)
+    @Benchmark
+    public BufferedImage rebuildBoardLayer() {
+        panel.invalidateBoardLayer();
+        panel.paintComponent(g2);
+        return canvas;
+    }
+}